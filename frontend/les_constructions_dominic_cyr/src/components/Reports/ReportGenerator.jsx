@@ -1,5 +1,9 @@
-import React, { useState } from 'react';
-import { reportService } from '../../features/reports/reportService';
+import React, { useEffect, useState } from 'react';
+import {
+  reportService,
+  isReportFinished,
+  REPORT_POLL_INTERVAL_MS,
+} from '../../features/reports/reportService';
 import { usePageTranslations } from '../../hooks/usePageTranslations';
 import '../../styles/Reports/ReportGenerator.css';
 
@@ -14,6 +18,53 @@ const ReportGenerator = ({ onReportGenerated }) => {
   const [loading, setLoading] = useState(false);
   const [error, setError] = useState(null);
   const [success, setSuccess] = useState(null);
+  const [pendingReportId, setPendingReportId] = useState(null);
+
+  const handleFinished = report => {
+    setPendingReportId(null);
+    setLoading(false);
+    if (report.status === 'FAILED') {
+      setError(
+        report.errorMessage ||
+          t('form.errors.generateFailed', 'Failed to generate report. Check Digital Ocean connection.')
+      );
+      return;
+    }
+    setSuccess(t('form.success', 'Master Audit generated successfully!'));
+    if (onReportGenerated) {
+      onReportGenerated();
+    }
+  };
+
+  // Poll the queued report until its background job has finished
+  useEffect(() => {
+    if (!pendingReportId) return undefined;
+    let cancelled = false;
+    let timer;
+    const poll = async () => {
+      try {
+        const report = await reportService.getReport(pendingReportId);
+        if (cancelled) return;
+        if (isReportFinished(report)) {
+          handleFinished(report);
+        } else {
+          timer = setTimeout(poll, REPORT_POLL_INTERVAL_MS);
+        }
+      } catch (err) {
+        if (cancelled) return;
+        setPendingReportId(null);
+        setLoading(false);
+        setError(
+          t('form.errors.statusFailed', 'Could not check the report status. See My Reports.')
+        );
+      }
+    };
+    timer = setTimeout(poll, REPORT_POLL_INTERVAL_MS);
+    return () => {
+      cancelled = true;
+      clearTimeout(timer);
+    };
+  }, [pendingReportId]);
 
   const handleChange = e => {
     const { name, value } = e.target;
@@ -45,20 +96,20 @@ const ReportGenerator = ({ onReportGenerated }) => {
         endDate: formatToBackend(formData.endDate),
       };
 
-      await reportService.generateReport(payload);
-
-      setSuccess(t('form.success', 'Master Audit generated successfully!'));
+      const report = await reportService.generateReport(payload);
       setFormData(prev => ({ ...prev, startDate: '', endDate: '' }));
 
-      if (onReportGenerated) {
-        onReportGenerated();
+      // An identical stored report comes back COMPLETED; a new one is queued
+      if (isReportFinished(report)) {
+        handleFinished(report);
+      } else {
+        setPendingReportId(report.id);
       }
     } catch (err) {
       const serverMessage =
         err.response?.data?.message ||
         t('form.errors.generateFailed', 'Failed to generate report. Check Digital Ocean connection.');
       setError(serverMessage);
-    } finally {
       setLoading(false);
     }
   };
@@ -71,6 +122,11 @@ const ReportGenerator = ({ onReportGenerated }) => {
 
       {error && <div className="alert alert-error">{error}</div>}
       {success && <div className="alert alert-success">{success}</div>}
+      {pendingReportId && (
+        <div className="alert alert-info">
+          {t('form.pending', 'Your report is being generated in the background. You can leave this page and find it in My Reports.')}
+        </div>
+      )}
 
       <form onSubmit={handleSubmit} className="report-form">
         <span></span>
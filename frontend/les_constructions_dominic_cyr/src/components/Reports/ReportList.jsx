@@ -1,5 +1,9 @@
 import React, { useState, useEffect } from 'react';
-import { reportService } from '../../features/reports/reportService';
+import {
+  reportService,
+  isReportFinished,
+  REPORT_POLL_INTERVAL_MS,
+} from '../../features/reports/reportService';
 import DeleteConfirmationModal from '../../components/Reports/DeleteConfirmationModal';
 import { usePageTranslations } from '../../hooks/usePageTranslations';
 import '../../styles/Reports/ReportList.css';
@@ -20,9 +24,20 @@ const ReportList = ({ refreshTrigger }) => {
     fetchReports();
   }, [page, refreshTrigger]);
 
-  const fetchReports = async () => {
+  // Refresh while reports on this page are still being generated
+  const hasUnfinished = reports.some(report => !isReportFinished(report));
+  useEffect(() => {
+    if (!hasUnfinished) return undefined;
+    const timer = setTimeout(
+      () => fetchReports({ background: true }),
+      REPORT_POLL_INTERVAL_MS
+    );
+    return () => clearTimeout(timer);
+  }, [reports]);
+
+  const fetchReports = async ({ background = false } = {}) => {
     try {
-      setLoading(true);
+      if (!background) setLoading(true);
       const response = await reportService.getReports(page, 10);
       setReports(response.content);
       setTotalPages(response.totalPages);
@@ -95,6 +110,7 @@ const ReportList = ({ refreshTrigger }) => {
           <thead>
             <tr>
               <th>Format</th>
+              <th>Status</th>
               <th>Size</th>
               <th>Generated Date</th>
               <th style={{ textAlign: 'right' }}>Actions</th>
@@ -110,13 +126,30 @@ const ReportList = ({ refreshTrigger }) => {
                     {report.fileFormat}
                   </span>
                 </td>
-                <td>{(report.fileSize / 1024).toFixed(1)} KB</td>
+                <td>
+                  <span
+                    className={`status-badge ${(report.status || '').toLowerCase()}`}
+                    title={
+                      report.status === 'FAILED'
+                        ? report.errorMessage
+                        : undefined
+                    }
+                  >
+                    {t(`status.${report.status}`, report.status)}
+                  </span>
+                </td>
+                <td>
+                  {report.status === 'COMPLETED' && report.fileSize != null
+                    ? `${(report.fileSize / 1024).toFixed(1)} KB`
+                    : '—'}
+                </td>
                 <td>
                   {new Date(report.generationTimestamp).toLocaleDateString()}
                 </td>
                 <td className="actions-cell" style={{ textAlign: 'right' }}>
                   <button
                     className="download-btn"
+                    disabled={report.status !== 'COMPLETED'}
                     onClick={() => handleDownload(report.id, report.fileFormat)}
                     style={{ marginRight: '10px' }}
                   >
@@ -28,11 +28,13 @@ export async function fetchLotDocuments(lotId, options = {}, token = null) {
 }
 
 /**
- * Upload one or more documents to a lot
+ * Upload one or more documents to a lot. Files are stored independently: a 207
+ * means only some were, and a 502 that none were; both still resolve with one
+ * result per file rather than throwing.
  * @param {string} lotId - The lot identifier
  * @param {FileList|File[]} files - Files to upload
  * @param {string} token - Auth token
- * @returns {Promise<Array>} - Array of created lot documents
+ * @returns {Promise<Array>} - One result per file: { fileName, sizeBytes, status: 'UPLOADED'|'FAILED', document?, error? }
  */
 export async function uploadLotDocuments(lotId, files, token) {
   const formData = new FormData();
@@ -55,12 +57,20 @@ export async function uploadLotDocuments(lotId, files, token) {
     ...(token ? { Authorization: `Bearer ${token}` } : {}),
   };
 
-  const response = await axios.post(
-    `${BASE_API_URL}/lots/${lotId}/documents`,
-    formData,
-    { headers }
-  );
-  return response.data;
+  try {
+    const response = await axios.post(
+      `${BASE_API_URL}/lots/${lotId}/documents`,
+      formData,
+      { headers }
+    );
+    return response.data;
+  } catch (err) {
+    // A 502 still carries the per-file results
+    if (Array.isArray(err?.response?.data)) {
+      return err.response.data;
+    }
+    throw err;
+  }
 }
 
 /**
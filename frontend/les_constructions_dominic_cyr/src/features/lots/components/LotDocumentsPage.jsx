@@ -636,7 +636,7 @@ const LotDocumentsPage = () => {
       setUploading(true);
       const token = await getApiToken();
 
-      await uploadLotDocuments(lotId, files, token);
+      const results = await uploadLotDocuments(lotId, files, token);
 
       // Reload documents
       await loadDocuments(token);
@@ -645,6 +645,23 @@ const LotDocumentsPage = () => {
       if (fileInputRef.current) {
         fileInputRef.current.value = '';
       }
+
+      // Files are stored independently; report the ones that failed
+      const failed = (results || []).filter(
+        result => result.status === 'FAILED'
+      );
+      if (failed.length > 0) {
+        const failedNames = failed
+          .map(result =>
+            result.error
+              ? `${result.fileName} (${result.error})`
+              : result.fileName
+          )
+          .join(', ');
+        setUploadError(
+          `${results.length - failed.length} of ${results.length} files uploaded. Failed: ${failedNames}`
+        );
+      }
     } catch (err) {
       setUploadError(
         `Failed to upload files. ${err?.message ? `(${err.message})` : ''}`.trim()
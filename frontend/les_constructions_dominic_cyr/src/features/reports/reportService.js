@@ -1,5 +1,12 @@
 import apiClient from '../../utils/axios.js';
 
+// Reports are generated in the background: POST /reports/generate answers 202
+// with a PENDING report, which is polled until it is COMPLETED or FAILED.
+export const REPORT_POLL_INTERVAL_MS = 2000;
+
+export const isReportFinished = report =>
+  report?.status === 'COMPLETED' || report?.status === 'FAILED';
+
 export const reportService = {
   generateReport: async reportData => {
     const response = await apiClient.post('/reports/generate', reportData);
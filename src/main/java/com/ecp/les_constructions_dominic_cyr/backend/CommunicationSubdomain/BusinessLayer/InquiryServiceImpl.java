@@ -23,21 +23,18 @@ public class InquiryServiceImpl implements InquiryService {
     
     private final InquiryRepository repository;
     private final InquiryMapper mapper;
-    private final NotificationService notificationService;
     private final UsersRepository usersRepository;
-    private final MailerServiceClient mailerServiceClient;
+    private final OutboxService outboxService;
 
     public InquiryServiceImpl(
             InquiryRepository repository,
             InquiryMapper mapper,
-            NotificationService notificationService,
             UsersRepository usersRepository,
-            MailerServiceClient mailerServiceClient) {
+            OutboxService outboxService) {
         this.repository = repository;
         this.mapper = mapper;
-        this.notificationService = notificationService;
         this.usersRepository = usersRepository;
-        this.mailerServiceClient = mailerServiceClient;
+        this.outboxService = outboxService;
     }
 
     @Override
@@ -71,7 +68,7 @@ public class InquiryServiceImpl implements InquiryService {
                     }
                     String notificationMessage = notificationMessageBuilder.toString();
                     
-                    notificationService.createNotification(
+                    outboxService.enqueueNotification(
                         owner.getUserIdentifier().getUserId(),
                         notificationTitle,
                         notificationMessage,
@@ -79,26 +76,19 @@ public class InquiryServiceImpl implements InquiryService {
                         "/inquiries" // Link to inquiries page
                     );
                     
-                    log.info("Notification created for owner: {}", owner.getPrimaryEmail());
+                    log.info("Notification queued for owner: {}", owner.getPrimaryEmail());
                     
                     // Send email to owner
                     String emailSubject = "New Inquiry from " + request.getName();
                     String emailBody = buildInquiryEmailBody(request);
                     
-                    log.info("Attempting to send email to owner: {} via mailer service", owner.getPrimaryEmail());
+                    log.info("Queueing email to owner: {}", owner.getPrimaryEmail());
                     
-                    mailerServiceClient.sendEmail(
+                    outboxService.enqueueEmail(
                         owner.getPrimaryEmail(),
                         emailSubject,
                         emailBody,
                         "Les Constructions Dominic Cyr"
-                    ).subscribe(
-                        null,
-                        error -> {
-                            log.error("Failed to send email to owner {}: {}", 
-                                owner.getPrimaryEmail(), error.getMessage(), error);
-                        },
-                        () -> log.info("Email send request completed for owner: {}", owner.getPrimaryEmail())
                     );
                     
                 } catch (Exception e) {
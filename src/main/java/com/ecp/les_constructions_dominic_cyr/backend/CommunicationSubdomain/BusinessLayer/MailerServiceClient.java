@@ -74,7 +74,8 @@ public class MailerServiceClient {
      * @param subject email subject
      * @param body HTML email body
      * @param senderName optional sender name
-     * @return Mono<Void> completes when email is sent successfully
+     * @return Mono<Void> completes when email is sent successfully, and fails if the mailer service
+     *         could not be reached or rejected it; {@link OutboxDispatcher} retries it later
      */
     public Mono<Void> sendEmail(String to, String subject, String body, String senderName) {
         Map<String, String> emailPayload = Map.of(
@@ -112,7 +113,7 @@ public class MailerServiceClient {
                     log.info("SUCCESS - Mailer service response: {}", response);
                 })
                 .doOnError(error -> {
-                    // Log detailed error information BEFORE onErrorComplete
+                    // Log detailed error information before the caller handles it
                     String errorMessage = error.getMessage();
                     if (errorMessage != null && errorMessage.contains("Failed to resolve")) {
                         log.error("ERROR - Cannot resolve mailer service hostname '{}'. " +
@@ -126,7 +127,6 @@ public class MailerServiceClient {
                     }
                 })
                 .then() // Convert to Mono<Void>
-                .doOnSuccess(v -> log.info("Email send request completed successfully for {}", to))
-                .onErrorComplete(); // Complete successfully even if email fails
+                .doOnSuccess(v -> log.info("Email send request completed successfully for {}", to));
     }
 }
@@ -65,4 +65,9 @@ public class NotificationService {
         notification = notificationRepository.save(notification);
         return NotificationMapper.toResponseModel(notification);
     }
+
+    @Transactional
+    public void createNotifications(List<Notification> notifications) {
+        notificationRepository.saveAll(notifications);
+    }
 }
@@ -0,0 +1,278 @@
+package com.ecp.les_constructions_dominic_cyr.backend.CommunicationSubdomain.BusinessLayer;
+
+import com.ecp.les_constructions_dominic_cyr.backend.CommunicationSubdomain.DataAccessLayer.Notification;
+import com.ecp.les_constructions_dominic_cyr.backend.CommunicationSubdomain.DataAccessLayer.NotificationRepository;
+import com.ecp.les_constructions_dominic_cyr.backend.CommunicationSubdomain.DataAccessLayer.OutboxMessage;
+import com.ecp.les_constructions_dominic_cyr.backend.CommunicationSubdomain.DataAccessLayer.OutboxMessageRepository;
+import com.ecp.les_constructions_dominic_cyr.backend.CommunicationSubdomain.DataAccessLayer.OutboxMessageStatus;
+import com.ecp.les_constructions_dominic_cyr.backend.CommunicationSubdomain.DataAccessLayer.OutboxMessageType;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.transaction.event.TransactionalEventListener;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Delivers the messages {@link OutboxService} queues, in batches, on a worker thread of its own.
+ *
+ * <p>The worker is woken when a transaction that queued messages commits, and by a periodic sweep
+ * that picks up retries, messages queued on another instance, and messages whose dispatcher went
+ * away. Each batch is leased with a claim token, so two dispatchers never deliver the same message
+ * at once. The notifications of a batch are inserted in one transaction that also marks them sent,
+ * so each is created once, or one at a time if the batch fails so one bad message cannot hold back
+ * the rest; emails are sent a few at a time and may be sent again if the
+ * application stops between sending and recording them. Failed messages are retried with
+ * exponential backoff until {@code communication.outbox.max-attempts} is reached.
+ */
+@Component
+public class OutboxDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxDispatcher.class);
+
+    private final OutboxMessageRepository outboxMessageRepository;
+    private final NotificationRepository notificationRepository;
+    private final MailerServiceClient mailerServiceClient;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolTaskExecutor executor;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicBoolean wakeRequested = new AtomicBoolean();
+    private final int batchSize;
+    private final int emailConcurrency;
+    private final int maxAttempts;
+    private final Duration lease;
+    private final Duration retryDelay;
+    private final Duration maxRetryDelay;
+    private final Duration retention;
+
+    public OutboxDispatcher(
+            OutboxMessageRepository outboxMessageRepository,
+            NotificationRepository notificationRepository,
+            MailerServiceClient mailerServiceClient,
+            PlatformTransactionManager transactionManager,
+            @Value("${communication.outbox.batch-size:100}") int batchSize,
+            @Value("${communication.outbox.email-concurrency:4}") int emailConcurrency,
+            @Value("${communication.outbox.max-attempts:8}") int maxAttempts,
+            @Value("${communication.outbox.lease:5m}") Duration lease,
+            @Value("${communication.outbox.retry-delay:30s}") Duration retryDelay,
+            @Value("${communication.outbox.max-retry-delay:1h}") Duration maxRetryDelay,
+            @Value("${communication.outbox.retention:7d}") Duration retention) {
+        this.outboxMessageRepository = outboxMessageRepository;
+        this.notificationRepository = notificationRepository;
+        this.mailerServiceClient = mailerServiceClient;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.emailConcurrency = emailConcurrency;
+        this.maxAttempts = maxAttempts;
+        this.lease = lease;
+        this.retryDelay = retryDelay;
+        this.maxRetryDelay = maxRetryDelay;
+        this.retention = retention;
+
+        // A private pool rather than a bean, so it does not replace Spring Boot's @Async executor
+        this.executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setThreadNamePrefix("outbox-");
+        executor.initialize();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        // Messages leased by an interrupted batch are delivered again once the lease runs out
+        executor.shutdown();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMessageEnqueued(OutboxMessageEnqueued event) {
+        wakeUp();
+    }
+
+    @Scheduled(initialDelayString = "${communication.outbox.sweep-interval:15s}",
+               fixedDelayString = "${communication.outbox.sweep-interval:15s}")
+    public void sweep() {
+        wakeUp();
+        Integer deleted = transactionTemplate.execute(status -> outboxMessageRepository.deleteSentBefore(
+                OutboxMessageStatus.SENT, LocalDateTime.now().minus(retention)));
+        if (deleted != null && deleted > 0) {
+            log.info("Deleted {} delivered outbox messages older than {}", deleted, retention);
+        }
+    }
+
+    /**
+     * Makes the worker drain the outbox. Wake-ups while it is draining make it look again once
+     * it is done, so a message committed during a batch is not left for the sweep.
+     */
+    void wakeUp() {
+        wakeRequested.set(true);
+        if (running.compareAndSet(false, true)) {
+            executor.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        try {
+            while (wakeRequested.getAndSet(false)) {
+                int dispatched;
+                do {
+                    dispatched = dispatchBatch();
+                } while (dispatched == batchSize);
+            }
+        } catch (Exception e) {
+            log.error("Outbox dispatch failed: {}", e.getMessage(), e);
+        } finally {
+            running.set(false);
+        }
+        if (wakeRequested.get() && running.compareAndSet(false, true)) {
+            executor.execute(this::drain);
+        }
+    }
+
+    /**
+     * Claims and delivers one batch of due messages.
+     *
+     * @return how many messages were due, at most {@code batchSize}
+     */
+    int dispatchBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<UUID> due = outboxMessageRepository.findDueIds(OutboxMessageStatus.PENDING, now, Limit.of(batchSize));
+        if (due.isEmpty()) {
+            return 0;
+        }
+
+        UUID token = UUID.randomUUID();
+        transactionTemplate.executeWithoutResult(status ->
+                outboxMessageRepository.claim(due, OutboxMessageStatus.PENDING, token, now, now.plus(lease)));
+        List<OutboxMessage> claimed = outboxMessageRepository.findByClaimToken(token);
+
+        deliverNotifications(token, claimed.stream()
+                .filter(message -> message.getType() == OutboxMessageType.NOTIFICATION)
+                .toList());
+        deliverEmails(token, claimed.stream()
+                .filter(message -> message.getType() == OutboxMessageType.EMAIL)
+                .toList());
+        return due.size();
+    }
+
+    private void deliverNotifications(UUID token, List<OutboxMessage> messages) {
+        if (messages.isEmpty()) {
+            return;
+        }
+        try {
+            if (createNotifications(token, messages)) {
+                log.info("Created {} notifications from the outbox", messages.size());
+            }
+            return;
+        } catch (Exception e) {
+            if (messages.size() == 1) {
+                log.error("Failed to create a notification from the outbox: {}", e.getMessage());
+                release(token, messages.get(0), e);
+                return;
+            }
+            log.warn("Failed to create {} notifications from the outbox together, creating them one at a time: {}",
+                    messages.size(), e.getMessage());
+        }
+
+        int created = 0;
+        for (OutboxMessage message : messages) {
+            try {
+                if (createNotifications(token, List.of(message))) {
+                    created++;
+                }
+            } catch (Exception e) {
+                log.error("Failed to create a notification from outbox message {}: {}",
+                        message.getMessageId(), e.getMessage());
+                release(token, message, e);
+            }
+        }
+        log.info("Created {} of {} notifications from the outbox", created, messages.size());
+    }
+
+    /**
+     * Inserts notifications in the transaction that marks their messages sent.
+     *
+     * @return false, with nothing created, if another dispatcher has some of the messages now
+     */
+    private boolean createNotifications(UUID token, List<OutboxMessage> messages) {
+        return Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+            List<UUID> ids = messages.stream().map(OutboxMessage::getMessageId).toList();
+            if (outboxMessageRepository.markSent(ids, token, OutboxMessageStatus.SENT, LocalDateTime.now()) != ids.size()) {
+                // Some lease ran out and another dispatcher has the messages now
+                status.setRollbackOnly();
+                log.info("Lease on {} outbox notifications ran out, leaving them to another dispatcher", ids.size());
+                return false;
+            }
+            notificationRepository.saveAll(messages.stream()
+                    .map(message -> new Notification(message.getUserId(), message.getTitle(),
+                            message.getMessage(), message.getCategory(), message.getLink()))
+                    .toList());
+            return true;
+        }));
+    }
+
+    private void deliverEmails(UUID token, List<OutboxMessage> messages) {
+        if (messages.isEmpty()) {
+            return;
+        }
+        List<Delivery> deliveries = Flux.fromIterable(messages)
+                .flatMap(message -> Mono.defer(() -> mailerServiceClient.sendEmail(message.getEmailTo(),
+                                        message.getSubject(), message.getBody(), message.getSenderName()))
+                                .then(Mono.just(new Delivery(message, null)))
+                                .onErrorResume(error -> Mono.just(new Delivery(message, error))),
+                        emailConcurrency)
+                .collectList()
+                .block();
+
+        List<UUID> sent = deliveries.stream()
+                .filter(delivery -> delivery.error() == null)
+                .map(delivery -> delivery.message().getMessageId())
+                .toList();
+        if (!sent.isEmpty()) {
+            transactionTemplate.executeWithoutResult(status ->
+                    outboxMessageRepository.markSent(sent, token, OutboxMessageStatus.SENT, LocalDateTime.now()));
+        }
+        deliveries.stream()
+                .filter(delivery -> delivery.error() != null)
+                .forEach(delivery -> release(token, delivery.message(), delivery.error()));
+        log.info("Sent {} of {} emails from the outbox", sent.size(), messages.size());
+    }
+
+    private void release(UUID token, OutboxMessage message, Throwable error) {
+        // Loaded after the claim, so attempts already counts the one that just failed
+        boolean givingUp = message.getAttempts() >= maxAttempts;
+        Duration delay = retryDelay.multipliedBy(1L << Math.min(message.getAttempts() - 1, 20));
+        if (delay.compareTo(maxRetryDelay) > 0) {
+            delay = maxRetryDelay;
+        }
+        String errorMessage = error.getMessage() != null && error.getMessage().length() > 1000
+                ? error.getMessage().substring(0, 1000)
+                : error.getMessage();
+        LocalDateTime nextAttemptAt = LocalDateTime.now().plus(delay);
+
+        transactionTemplate.executeWithoutResult(status -> outboxMessageRepository.release(message.getMessageId(), token,
+                givingUp ? OutboxMessageStatus.FAILED : OutboxMessageStatus.PENDING, nextAttemptAt, errorMessage));
+        if (givingUp) {
+            log.error("Giving up on outbox {} message {} after {} attempts: {}",
+                    message.getType(), message.getMessageId(), maxAttempts, errorMessage);
+        } else {
+            log.warn("Outbox {} message {} failed, retrying at {}: {}",
+                    message.getType(), message.getMessageId(), nextAttemptAt, errorMessage);
+        }
+    }
+
+    private record Delivery(OutboxMessage message, Throwable error) {
+    }
+}
@@ -0,0 +1,10 @@
+package com.ecp.les_constructions_dominic_cyr.backend.CommunicationSubdomain.BusinessLayer;
+
+import java.util.UUID;
+
+/**
+ * Published by {@link OutboxService} for each message it writes, so {@link OutboxDispatcher} can
+ * deliver it as soon as the transaction commits instead of at its next sweep.
+ */
+public record OutboxMessageEnqueued(UUID messageId) {
+}
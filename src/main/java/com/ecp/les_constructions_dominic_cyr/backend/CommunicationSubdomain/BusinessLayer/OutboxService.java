@@ -0,0 +1,65 @@
+package com.ecp.les_constructions_dominic_cyr.backend.CommunicationSubdomain.BusinessLayer;
+
+import com.ecp.les_constructions_dominic_cyr.backend.CommunicationSubdomain.DataAccessLayer.NotificationCategory;
+import com.ecp.les_constructions_dominic_cyr.backend.CommunicationSubdomain.DataAccessLayer.OutboxMessage;
+import com.ecp.les_constructions_dominic_cyr.backend.CommunicationSubdomain.DataAccessLayer.OutboxMessageRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.UUID;
+
+/**
+ * Queues portal notifications and emails in the {@code communication_outbox} table.
+ *
+ * <p>Messages are written in the caller's transaction, so they exist exactly when the change they
+ * announce was committed, and the caller never waits on the mailer service. {@link OutboxDispatcher}
+ * delivers them once the transaction commits, retrying failures.
+ */
+@Service
+public class OutboxService {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxService.class);
+
+    private final OutboxMessageRepository outboxMessageRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public OutboxService(OutboxMessageRepository outboxMessageRepository, ApplicationEventPublisher eventPublisher) {
+        this.outboxMessageRepository = outboxMessageRepository;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Queues a portal notification; one without a recipient, title, message or category is skipped,
+     * since it could never be created.
+     */
+    @Transactional
+    public void enqueueNotification(UUID userId, String title, String message,
+                                    NotificationCategory category, String link) {
+        if (userId == null || title == null || message == null || category == null) {
+            log.warn("Not queueing notification \"{}\" for user {}: recipient, title, message and category are required",
+                    title, userId);
+            return;
+        }
+        enqueue(OutboxMessage.notification(userId, title, message, category, link));
+    }
+
+    /**
+     * Queues an email; a recipient without an address is skipped.
+     */
+    @Transactional
+    public void enqueueEmail(String to, String subject, String body, String senderName) {
+        if (to == null || to.isBlank()) {
+            log.warn("Not queueing email \"{}\": no recipient address", subject);
+            return;
+        }
+        enqueue(OutboxMessage.email(to, subject, body, senderName));
+    }
+
+    private void enqueue(OutboxMessage message) {
+        OutboxMessage saved = outboxMessageRepository.save(message);
+        eventPublisher.publishEvent(new OutboxMessageEnqueued(saved.getMessageId()));
+    }
+}
@@ -0,0 +1,167 @@
+package com.ecp.les_constructions_dominic_cyr.backend.CommunicationSubdomain.DataAccessLayer;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A notification or email to deliver, written in the same transaction as the change it is about
+ * and delivered afterwards by the outbox dispatcher. Only the columns of its type are set.
+ */
+@Entity
+@Table(name = "communication_outbox", indexes = {
+        @Index(name = "idx_communication_outbox_due", columnList = "status, next_attempt_at"),
+        @Index(name = "idx_communication_outbox_claim", columnList = "claim_token")
+})
+public class OutboxMessage {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    @Column(name = "message_id")
+    private UUID messageId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "type", nullable = false, length = 20)
+    private OutboxMessageType type;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private OutboxMessageStatus status = OutboxMessageStatus.PENDING;
+
+    // Notification
+    @Column(name = "user_id")
+    private UUID userId;
+
+    @Column(name = "title", length = 255)
+    private String title;
+
+    @Column(name = "message", columnDefinition = "TEXT")
+    private String message;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "category")
+    private NotificationCategory category;
+
+    @Column(name = "link", length = 500)
+    private String link;
+
+    // Email
+    @Column(name = "email_to", length = 320)
+    private String emailTo;
+
+    @Column(name = "subject", length = 500)
+    private String subject;
+
+    @Column(name = "body", columnDefinition = "TEXT")
+    private String body;
+
+    @Column(name = "sender_name", length = 255)
+    private String senderName;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    // When the message is next due; while a dispatcher holds it, when its lease runs out
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    // Set by the dispatcher that claimed the message
+    @Column(name = "claim_token")
+    private UUID claimToken;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "sent_at")
+    private LocalDateTime sentAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        if (nextAttemptAt == null) {
+            nextAttemptAt = createdAt;
+        }
+    }
+
+    public OutboxMessage() {
+    }
+
+    public static OutboxMessage notification(UUID userId, String title, String message,
+                                             NotificationCategory category, String link) {
+        OutboxMessage outboxMessage = new OutboxMessage();
+        outboxMessage.type = OutboxMessageType.NOTIFICATION;
+        outboxMessage.userId = userId;
+        outboxMessage.title = title;
+        outboxMessage.message = message;
+        outboxMessage.category = category;
+        outboxMessage.link = link;
+        return outboxMessage;
+    }
+
+    public static OutboxMessage email(String to, String subject, String body, String senderName) {
+        OutboxMessage outboxMessage = new OutboxMessage();
+        outboxMessage.type = OutboxMessageType.EMAIL;
+        outboxMessage.emailTo = to;
+        outboxMessage.subject = subject;
+        outboxMessage.body = body;
+        outboxMessage.senderName = senderName;
+        return outboxMessage;
+    }
+
+    public UUID getMessageId() { return messageId; }
+    public void setMessageId(UUID messageId) { this.messageId = messageId; }
+
+    public OutboxMessageType getType() { return type; }
+    public void setType(OutboxMessageType type) { this.type = type; }
+
+    public OutboxMessageStatus getStatus() { return status; }
+    public void setStatus(OutboxMessageStatus status) { this.status = status; }
+
+    public UUID getUserId() { return userId; }
+    public void setUserId(UUID userId) { this.userId = userId; }
+
+    public String getTitle() { return title; }
+    public void setTitle(String title) { this.title = title; }
+
+    public String getMessage() { return message; }
+    public void setMessage(String message) { this.message = message; }
+
+    public NotificationCategory getCategory() { return category; }
+    public void setCategory(NotificationCategory category) { this.category = category; }
+
+    public String getLink() { return link; }
+    public void setLink(String link) { this.link = link; }
+
+    public String getEmailTo() { return emailTo; }
+    public void setEmailTo(String emailTo) { this.emailTo = emailTo; }
+
+    public String getSubject() { return subject; }
+    public void setSubject(String subject) { this.subject = subject; }
+
+    public String getBody() { return body; }
+    public void setBody(String body) { this.body = body; }
+
+    public String getSenderName() { return senderName; }
+    public void setSenderName(String senderName) { this.senderName = senderName; }
+
+    public int getAttempts() { return attempts; }
+    public void setAttempts(int attempts) { this.attempts = attempts; }
+
+    public LocalDateTime getNextAttemptAt() { return nextAttemptAt; }
+    public void setNextAttemptAt(LocalDateTime nextAttemptAt) { this.nextAttemptAt = nextAttemptAt; }
+
+    public UUID getClaimToken() { return claimToken; }
+    public void setClaimToken(UUID claimToken) { this.claimToken = claimToken; }
+
+    public String getLastError() { return lastError; }
+    public void setLastError(String lastError) { this.lastError = lastError; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    public LocalDateTime getSentAt() { return sentAt; }
+    public void setSentAt(LocalDateTime sentAt) { this.sentAt = sentAt; }
+}
@@ -0,0 +1,69 @@
+package com.ecp.les_constructions_dominic_cyr.backend.CommunicationSubdomain.DataAccessLayer;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface OutboxMessageRepository extends JpaRepository<OutboxMessage, UUID> {
+
+    @Query("SELECT m.messageId FROM OutboxMessage m WHERE m.status = :status AND m.nextAttemptAt <= :now " +
+           "ORDER BY m.nextAttemptAt")
+    List<UUID> findDueIds(@Param("status") OutboxMessageStatus status,
+                          @Param("now") LocalDateTime now,
+                          Limit limit);
+
+    /**
+     * Leases due messages to one dispatcher until {@code leaseUntil}, counting an attempt. Messages
+     * another dispatcher leased first are left alone; a lease that runs out makes the message due again.
+     */
+    @Modifying
+    @Query("UPDATE OutboxMessage m SET m.claimToken = :token, m.nextAttemptAt = :leaseUntil, " +
+           "m.attempts = m.attempts + 1 " +
+           "WHERE m.messageId IN :ids AND m.status = :status AND m.nextAttemptAt <= :now")
+    int claim(@Param("ids") Collection<UUID> ids,
+              @Param("status") OutboxMessageStatus status,
+              @Param("token") UUID token,
+              @Param("now") LocalDateTime now,
+              @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    List<OutboxMessage> findByClaimToken(UUID claimToken);
+
+    /**
+     * Records messages as delivered. Returns fewer than {@code ids.size()} if some lease was lost.
+     */
+    @Modifying
+    @Query("UPDATE OutboxMessage m SET m.status = :sent, m.sentAt = :now, m.claimToken = null, m.lastError = null " +
+           "WHERE m.messageId IN :ids AND m.claimToken = :token")
+    int markSent(@Param("ids") Collection<UUID> ids,
+                 @Param("token") UUID token,
+                 @Param("sent") OutboxMessageStatus sent,
+                 @Param("now") LocalDateTime now);
+
+    /**
+     * Releases a message that could not be delivered, to be retried at {@code nextAttemptAt} or,
+     * when {@code status} is FAILED, not at all.
+     */
+    @Modifying
+    @Query("UPDATE OutboxMessage m SET m.status = :status, m.nextAttemptAt = :nextAttemptAt, " +
+           "m.lastError = :error, m.claimToken = null " +
+           "WHERE m.messageId = :id AND m.claimToken = :token")
+    int release(@Param("id") UUID id,
+                @Param("token") UUID token,
+                @Param("status") OutboxMessageStatus status,
+                @Param("nextAttemptAt") LocalDateTime nextAttemptAt,
+                @Param("error") String error);
+
+    @Modifying
+    @Query("DELETE FROM OutboxMessage m WHERE m.status = :status AND m.sentAt < :cutoff")
+    int deleteSentBefore(@Param("status") OutboxMessageStatus status,
+                         @Param("cutoff") LocalDateTime cutoff);
+}
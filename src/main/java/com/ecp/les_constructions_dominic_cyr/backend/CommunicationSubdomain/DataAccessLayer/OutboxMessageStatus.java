@@ -0,0 +1,11 @@
+package com.ecp.les_constructions_dominic_cyr.backend.CommunicationSubdomain.DataAccessLayer;
+
+/**
+ * Delivery state of an outbox message. PENDING messages are retried until they are SENT or have
+ * used up their attempts and are FAILED.
+ */
+public enum OutboxMessageStatus {
+    PENDING,
+    SENT,
+    FAILED
+}
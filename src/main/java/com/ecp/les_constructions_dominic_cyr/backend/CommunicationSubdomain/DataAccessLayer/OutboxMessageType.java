@@ -0,0 +1,9 @@
+package com.ecp.les_constructions_dominic_cyr.backend.CommunicationSubdomain.DataAccessLayer;
+
+/**
+ * What an outbox message delivers: a portal notification or an email through the mailer service.
+ */
+public enum OutboxMessageType {
+    NOTIFICATION,
+    EMAIL
+}
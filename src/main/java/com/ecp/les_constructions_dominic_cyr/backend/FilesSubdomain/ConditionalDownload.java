@@ -0,0 +1,16 @@
+package com.ecp.les_constructions_dominic_cyr.backend.FilesSubdomain;
+
+/**
+ * Result of {@link FilesServiceClient#downloadIfChanged}: either the file did not change, or its new
+ * content with the validators to send next time (null when files-service does not provide them).
+ */
+public record ConditionalDownload(boolean modified, byte[] content, String eTag, String lastModified) {
+
+    public static ConditionalDownload notModified() {
+        return new ConditionalDownload(false, null, null, null);
+    }
+
+    public static ConditionalDownload modified(byte[] content, String eTag, String lastModified) {
+        return new ConditionalDownload(true, content, eTag, lastModified);
+    }
+}
@@ -0,0 +1,22 @@
+package com.ecp.les_constructions_dominic_cyr.backend.FilesSubdomain;
+
+import lombok.Builder;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.MediaType;
+import reactor.core.publisher.Flux;
+
+/**
+ * A file to store in files-service through {@code POST /files}. The content is subscribed once per
+ * attempt, so it must be re-readable (see {@link FilesServiceClient#contentOf}).
+ */
+@Builder
+public record FileUpload(
+        String filename,
+        MediaType contentType,
+        Flux<DataBuffer> content,
+        String category,
+        String projectId,
+        String uploadedBy,
+        String uploaderRole
+) {
+}
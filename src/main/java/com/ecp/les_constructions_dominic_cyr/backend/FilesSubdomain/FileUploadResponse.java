@@ -0,0 +1,12 @@
+package com.ecp.les_constructions_dominic_cyr.backend.FilesSubdomain;
+
+import com.fasterxml.jackson.annotation.JsonAlias;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+/**
+ * Body returned by files-service for {@code POST /files}. Older deployments answer with
+ * {@code id} instead of {@code fileId}.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record FileUploadResponse(@JsonAlias("id") String fileId, String url) {
+}
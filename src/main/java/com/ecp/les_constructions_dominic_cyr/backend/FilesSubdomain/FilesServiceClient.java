@@ -0,0 +1,286 @@
+package com.ecp.les_constructions_dominic_cyr.backend.FilesSubdomain;
+
+import io.netty.channel.ChannelOption;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.MultipartBodyBuilder;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.util.retry.Retry;
+
+import java.net.ConnectException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Single client for files-service, shared by every subdomain that stores or reads files.
+ *
+ * <p>All calls go through one pooled connection provider whose gauges are published to Micrometer
+ * under {@code reactor.netty.connection.provider.*} with {@code name=files-service}. Reads and deletes
+ * are retried on connection failures, 429 and 5xx; uploads only when the connection could not be
+ * opened, so files-service never sees the same upload twice.
+ */
+@Slf4j
+@Component
+public class FilesServiceClient {
+
+    public static final String POOL_NAME = "files-service";
+    private static final int CHUNK_SIZE = 64 * 1024;
+
+    private final ConnectionProvider connectionProvider;
+    private final WebClient webClient;
+    private final int maxRetries;
+    private final Duration retryBackoff;
+
+    public FilesServiceClient(
+            WebClient.Builder webClientBuilder,
+            @Value("${files.service.base-url}") String baseUrl,
+            @Value("${files.service.client.max-connections:50}") int maxConnections,
+            @Value("${files.service.client.pending-acquire-timeout:10s}") Duration pendingAcquireTimeout,
+            @Value("${files.service.client.max-idle-time:30s}") Duration maxIdleTime,
+            @Value("${files.service.client.connect-timeout:5s}") Duration connectTimeout,
+            @Value("${files.service.client.response-timeout:30s}") Duration responseTimeout,
+            @Value("${files.service.client.max-retries:2}") int maxRetries,
+            @Value("${files.service.client.retry-backoff:200ms}") Duration retryBackoff) {
+        this.connectionProvider = ConnectionProvider.builder(POOL_NAME)
+                .maxConnections(maxConnections)
+                .pendingAcquireTimeout(pendingAcquireTimeout)
+                .maxIdleTime(maxIdleTime)
+                .evictInBackground(maxIdleTime)
+                .metrics(true)
+                .build();
+
+        // The response timeout applies between reads, so long downloads are fine as long as bytes keep flowing
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout.toMillis())
+                .responseTimeout(responseTimeout);
+
+        this.webClient = webClientBuilder
+                .baseUrl(baseUrl)
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+        this.maxRetries = maxRetries;
+        this.retryBackoff = retryBackoff;
+    }
+
+    @PreDestroy
+    void close() {
+        connectionProvider.dispose();
+    }
+
+    /**
+     * Stores a file through {@code POST /files} and returns the id files-service assigned to it.
+     */
+    public Mono<FileUploadResponse> upload(FileUpload upload) {
+        MultipartBodyBuilder body = new MultipartBodyBuilder();
+        body.asyncPart("file", upload.content(), DataBuffer.class)
+                .filename(upload.filename())
+                .contentType(upload.contentType() != null ? upload.contentType() : MediaType.APPLICATION_OCTET_STREAM);
+        body.part("category", upload.category());
+        body.part("projectId", upload.projectId() != null ? upload.projectId() : "");
+        body.part("uploadedBy", upload.uploadedBy());
+        if (upload.uploaderRole() != null) {
+            body.part("uploaderRole", upload.uploaderRole());
+        }
+
+        return webClient.post()
+                .uri("/files")
+                .contentType(MediaType.MULTIPART_FORM_DATA)
+                .body(BodyInserters.fromMultipartData(body.build()))
+                .retrieve()
+                .bodyToMono(FileUploadResponse.class)
+                .retryWhen(retry(FilesServiceClient::isConnectFailure))
+                .flatMap(response -> response.fileId() == null || response.fileId().isBlank()
+                        ? Mono.error(new IllegalStateException("files-service did not return a file id for " + upload.filename()))
+                        : Mono.just(response));
+    }
+
+    /**
+     * Stores a file under a caller-chosen key through {@code POST /upload} and returns the key files-service kept.
+     */
+    public Mono<String> uploadObject(byte[] content, String objectKey, String contentType) {
+        return uploadObject(contentOf(content), objectKey, contentType);
+    }
+
+    /**
+     * Same as {@link #uploadObject(byte[], String, String)} for content produced as it is sent. The
+     * content is resubscribed if the upload is retried.
+     */
+    public Mono<String> uploadObject(Flux<DataBuffer> content, String objectKey, String contentType) {
+        MultipartBodyBuilder body = new MultipartBodyBuilder();
+        body.asyncPart("file", content, DataBuffer.class)
+                .filename(objectKey.substring(objectKey.lastIndexOf('/') + 1))
+                .contentType(MediaType.parseMediaType(contentType));
+        body.part("objectKey", objectKey);
+        body.part("contentType", contentType);
+
+        return webClient.post()
+                .uri("/upload")
+                .contentType(MediaType.MULTIPART_FORM_DATA)
+                .body(BodyInserters.fromMultipartData(body.build()))
+                .retrieve()
+                .bodyToMono(ObjectUploadResponse.class)
+                .retryWhen(retry(FilesServiceClient::isConnectFailure))
+                .flatMap(response -> response.objectKey() == null
+                        ? Mono.error(new IllegalStateException("files-service did not return an objectKey for " + objectKey))
+                        : Mono.just(response.objectKey()));
+    }
+
+    /**
+     * Whether files-service can serve the file. Any failure counts as missing.
+     */
+    public Mono<Boolean> exists(String fileId) {
+        if (fileId == null || fileId.isBlank()) {
+            return Mono.just(false);
+        }
+        return webClient.get()
+                .uri("/files/{fileId}", fileId)
+                .retrieve()
+                .toBodilessEntity()
+                .retryWhen(retry(FilesServiceClient::isTransient))
+                .map(response -> response.getStatusCode().is2xxSuccessful())
+                .onErrorReturn(false);
+    }
+
+    /**
+     * Reads a whole file into memory. Only for files known to be small; stream the rest with {@link #download}.
+     */
+    public Mono<byte[]> downloadBytes(String fileId) {
+        return webClient.get()
+                .uri("/files/{fileId}", fileId)
+                .retrieve()
+                .bodyToMono(byte[].class)
+                .retryWhen(retry(FilesServiceClient::isTransient));
+    }
+
+    /**
+     * Reads a small file again only if it changed since the download that returned {@code eTag} and
+     * {@code lastModified}; either may be null. files-service answering 304 gives an unmodified result.
+     */
+    public Mono<ConditionalDownload> downloadIfChanged(String fileId, String eTag, String lastModified) {
+        return webClient.get()
+                .uri("/files/{fileId}", fileId)
+                .headers(headers -> {
+                    if (eTag != null) {
+                        headers.set(HttpHeaders.IF_NONE_MATCH, eTag);
+                    }
+                    if (lastModified != null) {
+                        headers.set(HttpHeaders.IF_MODIFIED_SINCE, lastModified);
+                    }
+                })
+                .exchangeToMono(response -> {
+                    if (response.statusCode().value() == HttpStatus.NOT_MODIFIED.value()) {
+                        return Mono.just(ConditionalDownload.notModified());
+                    }
+                    if (response.statusCode().is2xxSuccessful()) {
+                        String newETag = response.headers().asHttpHeaders().getFirst(HttpHeaders.ETAG);
+                        String newLastModified = response.headers().asHttpHeaders().getFirst(HttpHeaders.LAST_MODIFIED);
+                        return response.bodyToMono(byte[].class)
+                                .defaultIfEmpty(new byte[0])
+                                .map(content -> ConditionalDownload.modified(content, newETag, newLastModified));
+                    }
+                    return response.createError();
+                })
+                .retryWhen(retry(FilesServiceClient::isTransient));
+    }
+
+    /**
+     * Streams a whole file. Not retried: a failure after the first chunk cannot be replayed.
+     */
+    public Flux<DataBuffer> download(String fileId) {
+        return webClient.get()
+                .uri("/files/{fileId}", fileId)
+                .retrieve()
+                .bodyToFlux(DataBuffer.class);
+    }
+
+    /**
+     * Streams {@code length} bytes of a file starting at {@code start}. The range is forwarded to
+     * files-service; if it answers with the full body instead, the range is cut out as it streams past.
+     */
+    public Flux<DataBuffer> download(String fileId, long start, long length) {
+        return webClient.get()
+                .uri("/files/{fileId}", fileId)
+                .headers(headers -> headers.setRange(List.of(HttpRange.createByteRange(start, start + length - 1))))
+                .exchangeToFlux(response -> {
+                    if (response.statusCode().value() == HttpStatus.PARTIAL_CONTENT.value()) {
+                        return response.bodyToFlux(DataBuffer.class);
+                    }
+                    if (response.statusCode().is2xxSuccessful()) {
+                        Flux<DataBuffer> full = response.bodyToFlux(DataBuffer.class);
+                        return DataBufferUtils.takeUntilByteCount(DataBufferUtils.skipUntilByteCount(full, start), length);
+                    }
+                    return response.createError().flux().cast(DataBuffer.class);
+                });
+    }
+
+    /**
+     * Deletes a file, recording who asked for it.
+     */
+    public Mono<Void> delete(String fileId, String deletedBy) {
+        return webClient.method(HttpMethod.DELETE)
+                .uri("/files/{fileId}", fileId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("deletedBy", deletedBy))
+                .retrieve()
+                .toBodilessEntity()
+                .retryWhen(retry(FilesServiceClient::isTransient))
+                .then();
+    }
+
+    /**
+     * Re-readable upload content backed by a multipart temp file, read in fixed-size chunks off the event loop.
+     */
+    public static Flux<DataBuffer> contentOf(MultipartFile file) {
+        return DataBufferUtils.readInputStream(file::getInputStream, DefaultDataBufferFactory.sharedInstance, CHUNK_SIZE)
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /**
+     * Re-readable upload content for bytes already in memory.
+     */
+    public static Flux<DataBuffer> contentOf(byte[] content) {
+        return Flux.defer(() -> Flux.just(DefaultDataBufferFactory.sharedInstance.wrap(content)));
+    }
+
+    private Retry retry(Predicate<Throwable> retryable) {
+        return Retry.backoff(maxRetries, retryBackoff)
+                .filter(retryable)
+                .doBeforeRetry(signal -> log.warn("Retrying files-service call (attempt {}): {}",
+                        signal.totalRetries() + 1, signal.failure().getMessage()))
+                .onRetryExhaustedThrow((spec, signal) -> signal.failure());
+    }
+
+    private static boolean isTransient(Throwable error) {
+        if (error instanceof WebClientResponseException response) {
+            return response.getStatusCode().is5xxServerError()
+                    || response.getStatusCode().value() == HttpStatus.TOO_MANY_REQUESTS.value();
+        }
+        return error instanceof WebClientRequestException;
+    }
+
+    private static boolean isConnectFailure(Throwable error) {
+        return error instanceof WebClientRequestException && error.getCause() instanceof ConnectException;
+    }
+}
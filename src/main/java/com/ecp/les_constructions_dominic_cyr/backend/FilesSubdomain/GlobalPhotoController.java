@@ -17,7 +17,7 @@ public class GlobalPhotoController {
     }
 
     @PostMapping(value = "/upload", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
-    public Mono<String> uploadGlobal(
+    public Mono<FileUploadResponse> uploadGlobal(
             @RequestPart("file") MultipartFile file,
             @RequestHeader(value = "X-User", defaultValue = "demo-user") String userId
     ) {
@@ -0,0 +1,10 @@
+package com.ecp.les_constructions_dominic_cyr.backend.FilesSubdomain;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+/**
+ * Body returned by files-service for {@code POST /upload}, which stores a file under a caller-chosen key.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record ObjectUploadResponse(String objectKey) {
+}
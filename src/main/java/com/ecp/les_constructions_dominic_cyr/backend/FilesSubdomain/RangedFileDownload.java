@@ -0,0 +1,126 @@
+package com.ecp.les_constructions_dominic_cyr.backend.FilesSubdomain;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Download responses for files kept in files-service whose content never changes under a given ETag.
+ *
+ * <p>A matching If-None-Match gets 304. A single byte range is served as 206 so interrupted downloads
+ * can resume; multiple ranges or a stale If-Range get the whole file, and a range outside the file
+ * gets 416. The body is copied from files-service as it arrives, never held in memory.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RangedFileDownload {
+
+    private static final Duration DOWNLOAD_IDLE_TIMEOUT = Duration.ofSeconds(30);
+
+    private final FilesServiceClient filesServiceClient;
+
+    /**
+     * Answers a download request for {@code fileId}. {@code sizeBytes} may be null when the size was
+     * never recorded; the file is then streamed whole, without a length or range support.
+     */
+    public ResponseEntity<StreamingResponseBody> respond(HttpHeaders request, String fileId, String fileName,
+                                                         String contentType, String eTag, Long sizeBytes) {
+        String ifNoneMatch = request.getFirst(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null && (ifNoneMatch.contains(eTag) || ifNoneMatch.trim().equals("*"))) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+
+        ResponseEntity.BodyBuilder response;
+        StreamingResponseBody body;
+        if (sizeBytes == null) {
+            body = out -> copy(fileId, filesServiceClient.download(fileId), out);
+            response = ResponseEntity.ok();
+        } else {
+            long size = sizeBytes;
+            long start = 0;
+            long length = size;
+            boolean partial = false;
+            String rangeHeader = request.getFirst(HttpHeaders.RANGE);
+            String ifRange = request.getFirst(HttpHeaders.IF_RANGE);
+            if (rangeHeader != null && (ifRange == null || ifRange.equals(eTag))) {
+                List<HttpRange> ranges;
+                try {
+                    ranges = HttpRange.parseRanges(rangeHeader);
+                } catch (IllegalArgumentException e) {
+                    ranges = List.of();
+                }
+                if (ranges.size() == 1) {
+                    try {
+                        start = ranges.get(0).getRangeStart(size);
+                        length = ranges.get(0).getRangeEnd(size) - start + 1;
+                    } catch (IllegalArgumentException e) {
+                        length = 0;
+                    }
+                    // Also a range starting at or past the end of the file
+                    if (length <= 0) {
+                        return ResponseEntity.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE)
+                                .header(HttpHeaders.CONTENT_RANGE, "bytes */" + size)
+                                .build();
+                    }
+                    partial = true;
+                }
+            }
+
+            final long rangeStart = start;
+            final long rangeLength = length;
+            body = rangeStart > 0 || rangeLength < size
+                    ? out -> copy(fileId, filesServiceClient.download(fileId, rangeStart, rangeLength), out)
+                    : out -> copy(fileId, filesServiceClient.download(fileId), out);
+            response = ResponseEntity.status(partial ? HttpStatus.PARTIAL_CONTENT : HttpStatus.OK)
+                    .contentLength(rangeLength)
+                    .header(HttpHeaders.ACCEPT_RANGES, "bytes");
+            if (partial) {
+                response.header(HttpHeaders.CONTENT_RANGE,
+                        "bytes " + rangeStart + "-" + (rangeStart + rangeLength - 1) + "/" + size);
+            }
+        }
+
+        return response
+                .contentType(MediaType.parseMediaType(contentType))
+                .eTag(eTag)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(fileName, StandardCharsets.UTF_8)
+                        .build()
+                        .toString())
+                .body(body);
+    }
+
+    private void copy(String fileId, Flux<DataBuffer> content, OutputStream out) throws IOException {
+        try {
+            // Idle timeout between chunks rather than for the whole transfer
+            DataBufferUtils.write(content.timeout(DOWNLOAD_IDLE_TIMEOUT), out)
+                    .doOnNext(DataBufferUtils::release)
+                    .then()
+                    .block();
+        } catch (RuntimeException e) {
+            if (e.getCause() instanceof IOException ioException) {
+                // Usually the client went away mid-download
+                throw ioException;
+            }
+            log.error("Failed to stream file {} from files-service", fileId, e);
+            throw new RuntimeException("File download failed: " + e.getMessage(), e);
+        }
+    }
+}
@@ -1,7 +1,6 @@
 package com.ecp.les_constructions_dominic_cyr.backend.FormSubdomain.BusinessLayer;
 
-import com.ecp.les_constructions_dominic_cyr.backend.CommunicationSubdomain.BusinessLayer.MailerServiceClient;
-import com.ecp.les_constructions_dominic_cyr.backend.CommunicationSubdomain.BusinessLayer.NotificationService;
+import com.ecp.les_constructions_dominic_cyr.backend.CommunicationSubdomain.BusinessLayer.OutboxService;
 import com.ecp.les_constructions_dominic_cyr.backend.CommunicationSubdomain.DataAccessLayer.NotificationCategory;
 import com.ecp.les_constructions_dominic_cyr.backend.FormSubdomain.DataAccessLayer.*;
 import com.ecp.les_constructions_dominic_cyr.backend.FormSubdomain.MapperLayer.FormMapper;
@@ -43,8 +42,7 @@ public class FormServiceImpl implements FormService {
     private final UsersRepository usersRepository;
     private final LotRepository lotRepository;
     private final ProjectRepository projectRepository;
-    private final NotificationService notificationService;
-    private final MailerServiceClient mailerServiceClient;
+    private final OutboxService outboxService;
 
     @Override
     @Transactional
@@ -433,7 +431,7 @@ public class FormServiceImpl implements FormService {
                     form.getLotIdentifier()
             );
             
-            notificationService.createNotification(
+            outboxService.enqueueNotification(
                     customer.getUserIdentifier().getUserId(),
                     notificationTitle,
                     notificationMessage,
@@ -445,15 +443,11 @@ public class FormServiceImpl implements FormService {
             String emailSubject = "New Form to Complete: " + formTypeName;
             String emailBody = buildFormAssignedEmailBody(form, customer);
 
-            mailerServiceClient.sendEmail(
+            outboxService.enqueueEmail(
                     customer.getPrimaryEmail(),
                     emailSubject,
                     emailBody,
                     "Les Constructions Dominic Cyr"
-            ).subscribe(
-                    v -> {},
-                    error -> log.error("Failed to send form assigned email to {}: {}", customer.getPrimaryEmail(), error.getMessage()),
-                    () -> log.info("Form assigned email sent to: {}", customer.getPrimaryEmail())
             );
 
         } catch (Exception e) {
@@ -480,7 +474,7 @@ public class FormServiceImpl implements FormService {
             );
 
             // Create system notification with salesperson route
-            notificationService.createNotification(
+            outboxService.enqueueNotification(
                     assignedBy.getUserIdentifier().getUserId(),
                     notificationTitle,
                     notificationMessage,
@@ -492,15 +486,11 @@ public class FormServiceImpl implements FormService {
             String emailSubject = "Form Submitted by " + customerName;
             String emailBody = buildFormSubmittedEmailBody(form, customerName);
 
-            mailerServiceClient.sendEmail(
+            outboxService.enqueueEmail(
                     assignedBy.getPrimaryEmail(),
                     emailSubject,
                     emailBody,
                     "Les Constructions Dominic Cyr"
-            ).subscribe(
-                    null,
-                    error -> log.error("Failed to send form submitted email to {}: {}", assignedBy.getPrimaryEmail(), error.getMessage()),
-                    () -> log.info("Form submitted email sent to: {}", assignedBy.getPrimaryEmail())
             );
 
         } catch (Exception e) {
@@ -529,7 +519,7 @@ public class FormServiceImpl implements FormService {
                     form.getLotIdentifier()
             );
             
-            notificationService.createNotification(
+            outboxService.enqueueNotification(
                     customer.getUserIdentifier().getUserId(),
                     notificationTitle,
                     notificationMessage,
@@ -541,15 +531,11 @@ public class FormServiceImpl implements FormService {
             String emailSubject = "Form Reopened: " + formTypeName;
             String emailBody = buildFormReopenedEmailBody(form, customer, reopenReason);
 
-            mailerServiceClient.sendEmail(
+            outboxService.enqueueEmail(
                     customer.getPrimaryEmail(),
                     emailSubject,
                     emailBody,
                     "Les Constructions Dominic Cyr"
-            ).subscribe(
-                    null,
-                    error -> log.error("Failed to send form reopened email to {}: {}", customer.getPrimaryEmail(), error.getMessage()),
-                    () -> log.info("Form reopened email sent to: {}", customer.getPrimaryEmail())
             );
 
             // Also notify the salesperson who assigned the form
@@ -560,7 +546,7 @@ public class FormServiceImpl implements FormService {
                         formTypeName, getFullName(customer), form.getProjectIdentifier(), reopenReason
                 );
                 
-                notificationService.createNotification(
+                outboxService.enqueueNotification(
                         salesperson.getUserIdentifier().getUserId(),
                         notificationTitle,
                         salespersonNotificationMessage,
@@ -0,0 +1,53 @@
+package com.ecp.les_constructions_dominic_cyr.backend.ProjectSubdomain.BusinessLayer.Lot;
+
+import com.ecp.les_constructions_dominic_cyr.backend.ProjectSubdomain.DataAccessLayer.Lot.Lot;
+import com.ecp.les_constructions_dominic_cyr.backend.ProjectSubdomain.DataAccessLayer.Project.Project;
+import com.ecp.les_constructions_dominic_cyr.backend.UsersSubdomain.DataAccessLayer.Users;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Users newly assigned to lots, published by {@link LotServiceImpl} and handled by
+ * {@link LotAssignmentNotifier} in the same transaction. Carries plain values, so the
+ * notices do not depend on the persistence context.
+ */
+public record LotAssignmentEvent(List<Notice> notices) {
+
+    public record Notice(UUID userId, String userName, String email, String lotId, String lotNumber,
+                         String civicAddress, String projectName, String projectIdentifier) {
+    }
+
+    public static class Builder {
+        private final List<Notice> notices = new ArrayList<>();
+
+        public Builder add(Lot lot, Collection<Users> users) {
+            Project project = lot.getProject();
+            String lotId = lot.getLotIdentifier() != null
+                    ? lot.getLotIdentifier().getLotId().toString()
+                    : lot.getId().toString();
+            for (Users user : users) {
+                notices.add(new Notice(
+                        user.getUserIdentifier().getUserId(),
+                        user.getFirstName() + " " + user.getLastName(),
+                        user.getPrimaryEmail(),
+                        lotId,
+                        lot.getLotNumber(),
+                        lot.getCivicAddress(),
+                        project != null ? project.getProjectName() : null,
+                        project != null ? project.getProjectIdentifier() : null));
+            }
+            return this;
+        }
+
+        public boolean isEmpty() {
+            return notices.isEmpty();
+        }
+
+        public LotAssignmentEvent build() {
+            return new LotAssignmentEvent(List.copyOf(notices));
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.ecp.les_constructions_dominic_cyr.backend.ProjectSubdomain.BusinessLayer.Lot;
+
+import com.ecp.les_constructions_dominic_cyr.backend.CommunicationSubdomain.BusinessLayer.OutboxService;
+import com.ecp.les_constructions_dominic_cyr.backend.CommunicationSubdomain.DataAccessLayer.NotificationCategory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Queues portal notifications and emails for new lot assignments in the outbox. Runs inside the
+ * assigning transaction, so they are delivered if and only if the assignment is committed.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LotAssignmentNotifier {
+
+    private final OutboxService outboxService;
+
+    @EventListener
+    public void onLotAssignment(LotAssignmentEvent event) {
+        List<LotAssignmentEvent.Notice> notices = event.notices();
+        if (notices.isEmpty()) {
+            return;
+        }
+
+        for (LotAssignmentEvent.Notice notice : notices) {
+            // Portal notifications link to the projects page
+            outboxService.enqueueNotification(
+                    notice.userId(),
+                    "Assigned to Lot " + notice.lotNumber(),
+                    "You have been assigned to lot " + notice.lotNumber() + " at " + notice.civicAddress(),
+                    NotificationCategory.LOT_ASSIGNED,
+                    "/projects");
+
+            try {
+                String emailBody = buildLotAssignmentEmailTemplate(
+                        notice.userName(),
+                        notice.lotNumber(),
+                        notice.civicAddress(),
+                        notice.projectName(),
+                        notice.lotId(),
+                        notice.projectIdentifier());
+
+                outboxService.enqueueEmail(
+                        notice.email(),
+                        "You've Been Assigned to Lot " + notice.lotNumber(),
+                        emailBody,
+                        null);
+            } catch (Exception e) {
+                log.error("Failed to queue lot assignment email for user {}: {}", notice.userId(), e.getMessage());
+            }
+        }
+        log.info("Queued {} lot assignment notifications", notices.size());
+    }
+
+    private String buildLotAssignmentEmailTemplate(String userName, String lotNumber, String address,
+            String projectName, String lotId, String projectIdentifier) {
+        return "<!DOCTYPE html>" +
+                "<html>" +
+                "<head>" +
+                "<meta charset=\"UTF-8\">" +
+                "<meta name=\"viewport\" content=\"width=device-width, initial-scale=1.0\">" +
+                "</head>" +
+                "<body style=\"margin: 0; padding: 0; font-family: 'Segoe UI', Tahoma, Geneva, Verdana, sans-serif; background-color: #f4f4f4;\">"
+                +
+                "<div style=\"max-width: 600px; margin: 40px auto; background-color: #ffffff; border-radius: 8px; overflow: hidden; box-shadow: 0 2px 8px rgba(0,0,0,0.1);\">"
+                +
+
+                "<!-- Header -->" +
+                "<div style=\"background: linear-gradient(135deg, #667eea 0%, #764ba2 100%); padding: 40px 30px; text-align: center;\">"
+                +
+                "<h1 style=\"color: #ffffff; margin: 0; font-size: 28px; font-weight: 600;\">New Lot Assignment</h1>" +
+                "</div>" +
+
+                "<!-- Content -->" +
+                "<div style=\"padding: 40px 30px;\">" +
+                "<p style=\"color: #333333; font-size: 16px; line-height: 1.6; margin: 0 0 20px 0;\">Hello " + userName
+                + ",</p>" +
+
+                "<p style=\"color: #333333; font-size: 16px; line-height: 1.6; margin: 0 0 30px 0;\">" +
+                "You have been assigned to a new lot. Here are the details:" +
+                "</p>" +
+
+                "<!-- Lot Details Card -->" +
+                "<div style=\"background-color: #f8f9fa; border-left: 4px solid #667eea; padding: 20px; margin: 0 0 30px 0; border-radius: 4px;\">"
+                +
+                "<div style=\"margin-bottom: 15px;\">" +
+                "<span style=\"color: #666666; font-size: 14px; display: block; margin-bottom: 5px;\">Lot Number</span>"
+                +
+                "<span style=\"color: #333333; font-size: 18px; font-weight: 600;\">" + lotNumber + "</span>" +
+                "</div>" +
+                "<div style=\"margin-bottom: 15px;\">" +
+                "<span style=\"color: #666666; font-size: 14px; display: block; margin-bottom: 5px;\">Address</span>" +
+                "<span style=\"color: #333333; font-size: 16px;\">" + address + "</span>" +
+                "</div>" +
+                "<div>" +
+                "<span style=\"color: #666666; font-size: 14px; display: block; margin-bottom: 5px;\">Project</span>" +
+                "<span style=\"color: #333333; font-size: 16px;\">" + projectName + "</span>" +
+                "</div>" +
+                "</div>" +
+
+                "<!-- CTA Button -->" +
+                "<div style=\"text-align: center; margin: 30px 0;\">" +
+                "<a href=\"" + getPortalBaseUrl() + "/projects/" + projectIdentifier + "/lots/" + lotId
+                + "/documents\" " +
+                "style=\"display: inline-block; background: linear-gradient(135deg, #667eea 0%, #764ba2 100%); color: #ffffff; "
+                +
+                "text-decoration: none; padding: 14px 40px; border-radius: 6px; font-size: 16px; font-weight: 600; " +
+                "box-shadow: 0 4px 6px rgba(102, 126, 234, 0.3);\">" +
+                "View Lot Documents" +
+                "</a>" +
+                "</div>" +
+
+                "<p style=\"color: #666666; font-size: 14px; line-height: 1.6; margin: 30px 0 0 0; text-align: center;\">"
+                +
+                "If you have any questions, please contact your project manager." +
+                "</p>" +
+                "</div>" +
+
+                "<!-- Footer -->" +
+                "<div style=\"background-color: #f8f9fa; padding: 20px 30px; text-align: center; border-top: 1px solid #e9ecef;\">"
+                +
+                "<p style=\"color: #999999; font-size: 12px; margin: 0;\">© " + java.time.Year.now().getValue()
+                + " Les Constructions Dominic Cyr. All rights reserved.</p>" +
+                "</div>" +
+
+                "</div>" +
+                "</body>" +
+                "</html>";
+    }
+
+    private String getPortalBaseUrl() {
+        // You can make this configurable via environment variable or
+        // application.properties
+        String baseUrl = System.getenv("PORTAL_BASE_URL");
+        return baseUrl != null && !baseUrl.isEmpty() ? baseUrl : "https://portal.lesconstructionsdominiccyr.com";
+    }
+}
@@ -1,6 +1,7 @@
 package com.ecp.les_constructions_dominic_cyr.backend.ProjectSubdomain.BusinessLayer.Lot;
 
 import com.ecp.les_constructions_dominic_cyr.backend.ProjectSubdomain.DataAccessLayer.Lot.Lot;
+import com.ecp.les_constructions_dominic_cyr.backend.ProjectSubdomain.PresentationLayer.Lot.LotAssignmentRequestModel;
 import com.ecp.les_constructions_dominic_cyr.backend.ProjectSubdomain.PresentationLayer.Lot.LotRequestModel;
 import com.ecp.les_constructions_dominic_cyr.backend.ProjectSubdomain.PresentationLayer.Lot.LotResponseModel;
 
@@ -13,6 +14,7 @@ public interface LotService {
     LotResponseModel getLotById(String lotId);
     LotResponseModel addLotToProject(String projectIdentifier, LotRequestModel lotRequestModel);
     LotResponseModel updateLot(LotRequestModel lotRequestModel, String lotId);
+    List<LotResponseModel> assignUsersToLots(String projectIdentifier, LotAssignmentRequestModel request);
     void deleteLot(String lotId);
     List<LotResponseModel> mapLotsToResponses(List<Lot> lots);
 }
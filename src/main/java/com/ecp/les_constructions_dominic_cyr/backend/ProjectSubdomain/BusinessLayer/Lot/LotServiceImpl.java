@@ -1,28 +1,32 @@
 package com.ecp.les_constructions_dominic_cyr.backend.ProjectSubdomain.BusinessLayer.Lot;
 
+import com.ecp.les_constructions_dominic_cyr.backend.ProjectSubdomain.BusinessLayer.Project.ProjectProgressService;
 import com.ecp.les_constructions_dominic_cyr.backend.ProjectSubdomain.DataAccessLayer.Lot.Lot;
 import com.ecp.les_constructions_dominic_cyr.backend.ProjectSubdomain.DataAccessLayer.Lot.LotIdentifier;
 import com.ecp.les_constructions_dominic_cyr.backend.ProjectSubdomain.DataAccessLayer.Lot.LotRepository;
 import com.ecp.les_constructions_dominic_cyr.backend.ProjectSubdomain.DataAccessLayer.Lot.LotStatus;
 import com.ecp.les_constructions_dominic_cyr.backend.ProjectSubdomain.DataAccessLayer.Project.Project;
 import com.ecp.les_constructions_dominic_cyr.backend.ProjectSubdomain.DataAccessLayer.Project.ProjectRepository;
+import com.ecp.les_constructions_dominic_cyr.backend.ProjectSubdomain.PresentationLayer.Lot.LotAssignmentRequestModel;
 import com.ecp.les_constructions_dominic_cyr.backend.ProjectSubdomain.PresentationLayer.Lot.LotRequestModel;
 import com.ecp.les_constructions_dominic_cyr.backend.ProjectSubdomain.PresentationLayer.Lot.LotResponseModel;
 import com.ecp.les_constructions_dominic_cyr.backend.UsersSubdomain.DataAccessLayer.Users;
 import com.ecp.les_constructions_dominic_cyr.backend.UsersSubdomain.DataAccessLayer.UsersRepository;
 import com.ecp.les_constructions_dominic_cyr.backend.utils.Exception.InvalidInputException;
 import com.ecp.les_constructions_dominic_cyr.backend.utils.Exception.NotFoundException;
-import com.ecp.les_constructions_dominic_cyr.backend.CommunicationSubdomain.BusinessLayer.NotificationService;
-import com.ecp.les_constructions_dominic_cyr.backend.CommunicationSubdomain.BusinessLayer.MailerServiceClient;
-import com.ecp.les_constructions_dominic_cyr.backend.CommunicationSubdomain.DataAccessLayer.NotificationCategory;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -33,8 +37,8 @@ public class LotServiceImpl implements LotService {
     private final LotRepository lotRepository;
     private final UsersRepository usersRepository;
     private final ProjectRepository projectRepository;
-    private final NotificationService notificationService;
-    private final MailerServiceClient mailerServiceClient;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ProjectProgressService projectProgressService;
 
     @Override
     public List<LotResponseModel> getAllLots() {
@@ -123,7 +127,7 @@ public class LotServiceImpl implements LotService {
             }
 
             // Notify assigned users
-            notifyAssignedUsers(assignedUsers, lot, project);
+            eventPublisher.publishEvent(new LotAssignmentEvent.Builder().add(lot, assignedUsers).build());
         }
 
         Lot savedLot = lotRepository.save(lot);
@@ -161,18 +165,13 @@ public class LotServiceImpl implements LotService {
             }
 
             // Calculate new assignments and notify
-            List<String> currentIds = currentAssignedUsers.stream()
-                    .map(u -> u.getUserIdentifier().getUserId().toString())
-                    .collect(Collectors.toList());
-
+            Set<UUID> currentIds = userIdsOf(currentAssignedUsers);
             List<Users> usersToNotify = assignedUsers.stream()
-                    .filter(u -> !currentIds.contains(u.getUserIdentifier().getUserId().toString()))
+                    .filter(u -> !currentIds.contains(u.getUserIdentifier().getUserId()))
                     .collect(Collectors.toList());
 
             if (!usersToNotify.isEmpty()) {
-                // We need the project for the link
-                Project project = foundLot.getProject();
-                notifyAssignedUsers(usersToNotify, foundLot, project);
+                eventPublisher.publishEvent(new LotAssignmentEvent.Builder().add(foundLot, usersToNotify).build());
             }
         } else {
             // When unassigning all users, revert to AVAILABLE unless it's SOLD
@@ -187,6 +186,65 @@ public class LotServiceImpl implements LotService {
         return mapToResponse(updatedLot);
     }
 
+    @Override
+    @Transactional
+    public List<LotResponseModel> assignUsersToLots(String projectIdentifier, LotAssignmentRequestModel request) {
+        if (request == null || request.getLotIds() == null || request.getLotIds().isEmpty()) {
+            throw new InvalidInputException("At least one lot ID is required");
+        }
+        List<String> requestedUserIds = request.getUserIds() != null ? request.getUserIds() : List.of();
+        if (requestedUserIds.isEmpty() && !request.isReplaceExisting()) {
+            throw new InvalidInputException("At least one user ID is required");
+        }
+
+        // One query for the lots (with their current assignments) and one for the users
+        Set<UUID> lotIds = parseUuids(request.getLotIds(), "lot");
+        List<Lot> lots = lotRepository.findWithAssignedUsersByLotIds(lotIds);
+        if (lots.size() != lotIds.size()) {
+            Set<UUID> found = lots.stream().map(lot -> lot.getLotIdentifier().getLotId()).collect(Collectors.toSet());
+            lotIds.removeAll(found);
+            throw new NotFoundException("Unknown Lot Id(s): " + lotIds);
+        }
+        for (Lot lot : lots) {
+            if (lot.getProject() == null || !projectIdentifier.equals(lot.getProject().getProjectIdentifier())) {
+                throw new InvalidInputException("Lot " + lot.getLotIdentifier().getLotId()
+                        + " does not belong to project " + projectIdentifier);
+            }
+        }
+        List<Users> requestedUsers = getUsersByIds(requestedUserIds);
+
+        LotAssignmentEvent.Builder notices = new LotAssignmentEvent.Builder();
+        for (Lot lot : lots) {
+            Set<UUID> currentIds = userIdsOf(lot.getAssignedUsers());
+            List<Users> added = requestedUsers.stream()
+                    .filter(user -> !currentIds.contains(user.getUserIdentifier().getUserId()))
+                    .toList();
+
+            List<Users> assigned;
+            if (request.isReplaceExisting()) {
+                assigned = new ArrayList<>(requestedUsers);
+            } else {
+                assigned = new ArrayList<>(lot.getAssignedUsers() != null ? lot.getAssignedUsers() : List.of());
+                assigned.addAll(added);
+            }
+            lot.setAssignedUsers(assigned);
+
+            if (!assigned.isEmpty() && lot.getLotStatus() != LotStatus.SOLD) {
+                lot.setLotStatus(LotStatus.RESERVED);
+            } else if (assigned.isEmpty() && lot.getLotStatus() == LotStatus.RESERVED) {
+                lot.setLotStatus(LotStatus.AVAILABLE);
+            }
+            notices.add(lot, added);
+        }
+
+        List<Lot> savedLots = lotRepository.saveAll(lots);
+        if (!notices.isEmpty()) {
+            eventPublisher.publishEvent(notices.build());
+        }
+        log.info("Assigned {} users to {} lots in project {}", requestedUsers.size(), lots.size(), projectIdentifier);
+        return mapLotsToResponses(savedLots);
+    }
+
     @Override
     @Transactional
     public void deleteLot(String lotId) {
@@ -195,22 +253,49 @@ public class LotServiceImpl implements LotService {
         if (foundLot == null) {
             throw new NotFoundException("Unknown Lot Id: " + lotId);
         }
+        projectProgressService.releaseLot(lotUuid);
         lotRepository.delete(foundLot);
     }
 
+    // Resolves all users with a single query, keeping the requested order and dropping duplicates
     private List<Users> getUsersByIds(List<String> userIds) {
+        Set<UUID> userUuids = parseUuids(userIds, "user");
+        if (userUuids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<UUID, Users> usersById = usersRepository.findByUserIdentifier_UserIdIn(userUuids).stream()
+                .collect(Collectors.toMap(user -> user.getUserIdentifier().getUserId(), Function.identity()));
+
         List<Users> users = new ArrayList<>();
-        for (String userId : userIds) {
+        for (UUID userUuid : userUuids) {
+            Users user = usersById.get(userUuid);
+            if (user == null) {
+                throw new NotFoundException("User not found with ID: " + userUuid);
+            }
+            users.add(user);
+        }
+        return users;
+    }
+
+    private Set<UUID> parseUuids(List<String> ids, String kind) {
+        Set<UUID> uuids = new LinkedHashSet<>();
+        for (String id : ids) {
             try {
-                UUID userUuid = UUID.fromString(userId);
-                Users user = usersRepository.findByUserIdentifier_UserId(userUuid)
-                        .orElseThrow(() -> new NotFoundException("User not found with ID: " + userId));
-                users.add(user);
+                uuids.add(UUID.fromString(id));
             } catch (IllegalArgumentException e) {
-                throw new InvalidInputException("Invalid user ID format: " + userId);
+                throw new InvalidInputException("Invalid " + kind + " ID format: " + id);
             }
         }
-        return users;
+        return uuids;
+    }
+
+    private Set<UUID> userIdsOf(List<Users> users) {
+        if (users == null) {
+            return Set.of();
+        }
+        return users.stream()
+                .map(user -> user.getUserIdentifier().getUserId())
+                .collect(Collectors.toSet());
     }
 
     private LotResponseModel mapToResponse(Lot lot) {
@@ -247,11 +332,10 @@ public class LotServiceImpl implements LotService {
             dto.setAssignedUsers(new ArrayList<>());
         }
 
-        // Calculate progress percentage
-        int totalUpcomingWork = 59;
-        int remaining = lot.getRemainingUpcomingWork() != null ? lot.getRemainingUpcomingWork() : totalUpcomingWork;
-        int completed = totalUpcomingWork - remaining;
-        dto.setProgressPercentage((int) Math.round((double) completed / totalUpcomingWork * 100));
+        dto.setProgressPercentage(projectProgressService.getLotProgress(lot));
+        dto.setTotalTasks(lot.getTotalTasks());
+        dto.setCompletedTasks(lot.getCompletedTasks());
+        dto.setRemainingHours(lot.getRemainingHours());
 
         return dto;
     }
@@ -273,124 +357,4 @@ public class LotServiceImpl implements LotService {
             throw new InvalidInputException("Lot status is required");
         }
     }
-
-    private void notifyAssignedUsers(List<Users> users, Lot lot, Project project) {
-        for (Users user : users) {
-            try {
-                // Create portal notification - link to projects page
-                String link = "/projects";
-
-                String lotId = lot.getLotIdentifier() != null
-                        ? lot.getLotIdentifier().getLotId().toString()
-                        : lot.getId().toString();
-
-                notificationService.createNotification(
-                        user.getUserIdentifier().getUserId(),
-                        "Assigned to Lot " + lot.getLotNumber(),
-                        "You have been assigned to lot " + lot.getLotNumber() + " at " + lot.getCivicAddress(),
-                        NotificationCategory.LOT_ASSIGNED,
-                        link);
-
-                // Send email with improved template
-                String emailBody = buildLotAssignmentEmailTemplate(
-                        user.getFirstName() + " " + user.getLastName(),
-                        lot.getLotNumber(),
-                        lot.getCivicAddress(),
-                        project.getProjectName(),
-                        lotId,
-                        project.getProjectIdentifier());
-
-                mailerServiceClient.sendEmail(
-                        user.getPrimaryEmail(),
-                        "You've Been Assigned to Lot " + lot.getLotNumber(),
-                        emailBody,
-                        null).subscribe();
-            } catch (Exception e) {
-                log.error("Failed to notify user {}: {}", user.getUserIdentifier().getUserId(), e.getMessage());
-            }
-        }
-    }
-
-    private String buildLotAssignmentEmailTemplate(String userName, String lotNumber, String address,
-            String projectName, String lotId, String projectIdentifier) {
-        return "<!DOCTYPE html>" +
-                "<html>" +
-                "<head>" +
-                "<meta charset=\"UTF-8\">" +
-                "<meta name=\"viewport\" content=\"width=device-width, initial-scale=1.0\">" +
-                "</head>" +
-                "<body style=\"margin: 0; padding: 0; font-family: 'Segoe UI', Tahoma, Geneva, Verdana, sans-serif; background-color: #f4f4f4;\">"
-                +
-                "<div style=\"max-width: 600px; margin: 40px auto; background-color: #ffffff; border-radius: 8px; overflow: hidden; box-shadow: 0 2px 8px rgba(0,0,0,0.1);\">"
-                +
-
-                "<!-- Header -->" +
-                "<div style=\"background: linear-gradient(135deg, #667eea 0%, #764ba2 100%); padding: 40px 30px; text-align: center;\">"
-                +
-                "<h1 style=\"color: #ffffff; margin: 0; font-size: 28px; font-weight: 600;\">New Lot Assignment</h1>" +
-                "</div>" +
-
-                "<!-- Content -->" +
-                "<div style=\"padding: 40px 30px;\">" +
-                "<p style=\"color: #333333; font-size: 16px; line-height: 1.6; margin: 0 0 20px 0;\">Hello " + userName
-                + ",</p>" +
-
-                "<p style=\"color: #333333; font-size: 16px; line-height: 1.6; margin: 0 0 30px 0;\">" +
-                "You have been assigned to a new lot. Here are the details:" +
-                "</p>" +
-
-                "<!-- Lot Details Card -->" +
-                "<div style=\"background-color: #f8f9fa; border-left: 4px solid #667eea; padding: 20px; margin: 0 0 30px 0; border-radius: 4px;\">"
-                +
-                "<div style=\"margin-bottom: 15px;\">" +
-                "<span style=\"color: #666666; font-size: 14px; display: block; margin-bottom: 5px;\">Lot Number</span>"
-                +
-                "<span style=\"color: #333333; font-size: 18px; font-weight: 600;\">" + lotNumber + "</span>" +
-                "</div>" +
-                "<div style=\"margin-bottom: 15px;\">" +
-                "<span style=\"color: #666666; font-size: 14px; display: block; margin-bottom: 5px;\">Address</span>" +
-                "<span style=\"color: #333333; font-size: 16px;\">" + address + "</span>" +
-                "</div>" +
-                "<div>" +
-                "<span style=\"color: #666666; font-size: 14px; display: block; margin-bottom: 5px;\">Project</span>" +
-                "<span style=\"color: #333333; font-size: 16px;\">" + projectName + "</span>" +
-                "</div>" +
-                "</div>" +
-
-                "<!-- CTA Button -->" +
-                "<div style=\"text-align: center; margin: 30px 0;\">" +
-                "<a href=\"" + getPortalBaseUrl() + "/projects/" + projectIdentifier + "/lots/" + lotId
-                + "/documents\" " +
-                "style=\"display: inline-block; background: linear-gradient(135deg, #667eea 0%, #764ba2 100%); color: #ffffff; "
-                +
-                "text-decoration: none; padding: 14px 40px; border-radius: 6px; font-size: 16px; font-weight: 600; " +
-                "box-shadow: 0 4px 6px rgba(102, 126, 234, 0.3);\">" +
-                "View Lot Documents" +
-                "</a>" +
-                "</div>" +
-
-                "<p style=\"color: #666666; font-size: 14px; line-height: 1.6; margin: 30px 0 0 0; text-align: center;\">"
-                +
-                "If you have any questions, please contact your project manager." +
-                "</p>" +
-                "</div>" +
-
-                "<!-- Footer -->" +
-                "<div style=\"background-color: #f8f9fa; padding: 20px 30px; text-align: center; border-top: 1px solid #e9ecef;\">"
-                +
-                "<p style=\"color: #999999; font-size: 12px; margin: 0;\">© " + java.time.Year.now().getValue()
-                + " Les Constructions Dominic Cyr. All rights reserved.</p>" +
-                "</div>" +
-
-                "</div>" +
-                "</body>" +
-                "</html>";
-    }
-
-    private String getPortalBaseUrl() {
-        // You can make this configurable via environment variable or
-        // application.properties
-        String baseUrl = System.getenv("PORTAL_BASE_URL");
-        return baseUrl != null && !baseUrl.isEmpty() ? baseUrl : "https://portal.lesconstructionsdominiccyr.com";
-    }
 }
@@ -0,0 +1,14 @@
+package com.ecp.les_constructions_dominic_cyr.backend.ProjectSubdomain.BusinessLayer.LotDocument;
+
+import java.util.UUID;
+
+/**
+ * What the download endpoint needs to stream a document once access has been checked.
+ * Documents are immutable once uploaded, so the document ID doubles as a strong ETag.
+ */
+public record LotDocumentDownload(UUID documentId, String storageKey, String fileName, String mimeType, long sizeBytes) {
+
+    public String eTag() {
+        return "\"" + documentId + "\"";
+    }
+}
@@ -1,6 +1,7 @@
 package com.ecp.les_constructions_dominic_cyr.backend.ProjectSubdomain.BusinessLayer.LotDocument;
 
 import com.ecp.les_constructions_dominic_cyr.backend.ProjectSubdomain.PresentationLayer.LotDocument.LotDocumentResponseModel;
+import com.ecp.les_constructions_dominic_cyr.backend.ProjectSubdomain.PresentationLayer.LotDocument.LotDocumentUploadResultModel;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.util.List;
@@ -21,23 +22,24 @@ public interface LotDocumentService {
     /**
      * Upload one or more documents to a lot.
      * Validates that uploader is assigned to the lot and has Owner or Contractor role.
+     * Files are streamed to files-service concurrently; a failed file does not fail the batch.
      * 
      * @param lotId The lot identifier
      * @param files The files to upload
      * @param uploaderUserId The uploader's user ID (UUID as string)
-     * @return List of created documents
+     * @return One result per file, in request order
      */
-    List<LotDocumentResponseModel> uploadDocuments(String lotId, MultipartFile[] files, String uploaderUserId);
+    List<LotDocumentUploadResultModel> uploadDocuments(String lotId, MultipartFile[] files, String uploaderUserId);
 
     /**
-     * Download a document. Any team member assigned to the lot can download.
+     * Resolve a document for download. Any team member assigned to the lot can download.
      * 
      * @param lotId The lot identifier
      * @param documentId The document ID
      * @param requestingUserId The requesting user's ID
-     * @return byte array of file data and content type
+     * @return storage key and metadata needed to stream the file
      */
-    byte[] downloadDocument(String lotId, UUID documentId, String requestingUserId);
+    LotDocumentDownload getDocumentForDownload(String lotId, UUID documentId, String requestingUserId);
 
     /**
      * Delete a document. Only uploader or Owner assigned to lot can delete.
@@ -1,13 +1,16 @@
 package com.ecp.les_constructions_dominic_cyr.backend.ProjectSubdomain.BusinessLayer.LotDocument;
 
-import com.ecp.les_constructions_dominic_cyr.backend.CommunicationSubdomain.BusinessLayer.MailerServiceClient;
-import com.ecp.les_constructions_dominic_cyr.backend.CommunicationSubdomain.BusinessLayer.NotificationService;
+import com.ecp.les_constructions_dominic_cyr.backend.CommunicationSubdomain.BusinessLayer.OutboxService;
 import com.ecp.les_constructions_dominic_cyr.backend.CommunicationSubdomain.DataAccessLayer.NotificationCategory;
+import com.ecp.les_constructions_dominic_cyr.backend.FilesSubdomain.FileUpload;
+import com.ecp.les_constructions_dominic_cyr.backend.FilesSubdomain.FileUploadResponse;
+import com.ecp.les_constructions_dominic_cyr.backend.FilesSubdomain.FilesServiceClient;
 import com.ecp.les_constructions_dominic_cyr.backend.ProjectSubdomain.DataAccessLayer.Lot.Lot;
 import com.ecp.les_constructions_dominic_cyr.backend.ProjectSubdomain.DataAccessLayer.Lot.LotRepository;
 import com.ecp.les_constructions_dominic_cyr.backend.ProjectSubdomain.DataAccessLayer.LotDocument.LotDocument;
 import com.ecp.les_constructions_dominic_cyr.backend.ProjectSubdomain.DataAccessLayer.LotDocument.LotDocumentRepository;
 import com.ecp.les_constructions_dominic_cyr.backend.ProjectSubdomain.PresentationLayer.LotDocument.LotDocumentResponseModel;
+import com.ecp.les_constructions_dominic_cyr.backend.ProjectSubdomain.PresentationLayer.LotDocument.LotDocumentUploadResultModel;
 import com.ecp.les_constructions_dominic_cyr.backend.UsersSubdomain.DataAccessLayer.UserRole;
 import com.ecp.les_constructions_dominic_cyr.backend.UsersSubdomain.DataAccessLayer.Users;
 import com.ecp.les_constructions_dominic_cyr.backend.UsersSubdomain.DataAccessLayer.UsersRepository;
@@ -17,18 +20,20 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.MediaType;
-import org.springframework.http.client.MultipartBodyBuilder;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
-import org.springframework.web.reactive.function.BodyInserters;
-import org.springframework.web.reactive.function.client.WebClient;
-import org.springframework.core.io.ByteArrayResource;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 @Service
@@ -40,12 +45,16 @@ public class LotDocumentServiceImpl implements LotDocumentService {
     private final LotDocumentRepository lotDocumentRepository;
     private final LotRepository lotRepository;
     private final UsersRepository usersRepository;
-    private final WebClient.Builder webClientBuilder;
-    private final NotificationService notificationService;
-    private final MailerServiceClient mailerServiceClient;
+    private final FilesServiceClient filesServiceClient;
+    private final OutboxService outboxService;
+    private final TransactionTemplate transactionTemplate;
+
+    // How many files of one upload request are streamed to files-service at the same time
+    @Value("${lot-documents.upload.parallelism:4}")
+    private int uploadParallelism;
 
-    @Value("${files.service.base-url}")
-    private String filesServiceBaseUrl;
+    @Value("${lot-documents.upload.timeout:10m}")
+    private Duration uploadTimeout;
 
     private static final List<String> IMAGE_MIME_TYPES = List.of(
             "image/jpeg", "image/jpg", "image/png", "image/gif", "image/webp", "image/svg+xml"
@@ -77,9 +86,14 @@ public class LotDocumentServiceImpl implements LotDocumentService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Checks the uploader in a short read, streams the files to files-service outside any transaction,
+     * then records the stored files and queues the notifications in one transaction, so no connection
+     * is held while files-service receives the files.
+     */
     @Override
-    @Transactional
-    public List<LotDocumentResponseModel> uploadDocuments(String lotId, MultipartFile[] files, String uploaderUserId) {
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<LotDocumentUploadResultModel> uploadDocuments(String lotId, MultipartFile[] files, String uploaderUserId) {
         log.info("Uploading {} documents to lot: {} by user: {}", files == null ? 0 : files.length, lotId, uploaderUserId);
 
         // Validate inputs
@@ -87,9 +101,6 @@ public class LotDocumentServiceImpl implements LotDocumentService {
             throw new InvalidInputException("No files provided for upload");
         }
 
-        // Validate lot exists
-        Lot lot = validateLotExists(lotId);
-
         // Validate uploader exists
         UUID uploaderUUID;
         try {
@@ -98,6 +109,35 @@ public class LotDocumentServiceImpl implements LotDocumentService {
             throw new InvalidInputException("Invalid uploader user ID format: " + uploaderUserId);
         }
 
+        transactionTemplate.executeWithoutResult(status -> validateUploader(lotId, uploaderUserId, uploaderUUID));
+
+        // Stream the files to files-service concurrently; database records are written afterwards
+        AtomicInteger completed = new AtomicInteger();
+        List<UploadOutcome> outcomes = Flux.fromArray(files)
+                .flatMapSequential(file -> uploadToFilesService(file, lotId, uploaderUserId)
+                        .map(storageKey -> new UploadOutcome(file, storageKey, null))
+                        .onErrorResume(e -> Mono.just(new UploadOutcome(file, null, e)))
+                        .doOnNext(outcome -> log.info("Upload {}/{} to lot {} {}: {}", completed.incrementAndGet(),
+                                files.length, lotId, outcome.succeeded() ? "done" : "failed", file.getOriginalFilename())),
+                        Math.max(1, uploadParallelism))
+                .collectList()
+                .block();
+
+        try {
+            return transactionTemplate.execute(status -> saveUploads(lotId, uploaderUUID, uploaderUserId, outcomes));
+        } catch (RuntimeException e) {
+            // Nothing refers to the stored files now, so remove them rather than leave them in files-service
+            outcomes.stream()
+                    .filter(UploadOutcome::succeeded)
+                    .forEach(outcome -> discardUpload(outcome.storageKey(), uploaderUserId));
+            throw e;
+        }
+    }
+
+    private void validateUploader(String lotId, String uploaderUserId, UUID uploaderUUID) {
+        // Validate lot exists
+        Lot lot = validateLotExists(lotId);
+
         Users uploader = usersRepository.findByUserIdentifier_UserId(uploaderUUID)
                 .orElseThrow(() -> new NotFoundException("Uploader user not found: " + uploaderUserId));
 
@@ -116,44 +156,69 @@ public class LotDocumentServiceImpl implements LotDocumentService {
                 throw new AccessDeniedException("Contractor is not assigned to this lot");
             }
         }
+    }
 
-        List<LotDocumentResponseModel> uploadedDocuments = new ArrayList<>();
+    private List<LotDocumentUploadResultModel> saveUploads(String lotId, UUID uploaderUUID, String uploaderUserId,
+                                                           List<UploadOutcome> outcomes) {
+        Lot lot = validateLotExists(lotId);
+        Users uploader = usersRepository.findByUserIdentifier_UserId(uploaderUUID)
+                .orElseThrow(() -> new NotFoundException("Uploader user not found: " + uploaderUserId));
 
-        for (MultipartFile file : files) {
-            try {
-                // Upload to files-service
-                String storageKey = uploadToFilesService(file, lotId, uploaderUserId);
-
-                // Determine if image
-                String mimeType = file.getContentType() != null ? file.getContentType() : "application/octet-stream";
-                boolean isImage = IMAGE_MIME_TYPES.contains(mimeType.toLowerCase());
-
-                // Create database record
-                LotDocument document = new LotDocument(
-                        lot,
-                        uploader,
-                        uploader.getFirstName() + " " + uploader.getLastName(),
-                        file.getOriginalFilename(),
-                        storageKey,
-                        mimeType,
-                        file.getSize(),
-                        isImage
-                );
+        List<LotDocumentUploadResultModel> results = new ArrayList<>();
+        List<MultipartFile> uploadedFiles = new ArrayList<>();
+        for (UploadOutcome outcome : outcomes) {
+            MultipartFile file = outcome.file();
+            if (!outcome.succeeded()) {
+                log.error("Failed to upload file: {} to lot: {}", file.getOriginalFilename(), lotId, outcome.error());
+                results.add(LotDocumentUploadResultModel.builder()
+                        .fileName(file.getOriginalFilename())
+                        .sizeBytes(file.getSize())
+                        .status(LotDocumentUploadResultModel.Status.FAILED)
+                        .error(outcome.error().getMessage())
+                        .build());
+                continue;
+            }
 
-                LotDocument saved = lotDocumentRepository.save(document);
-                uploadedDocuments.add(mapToResponse(saved));
+            // Determine if image
+            String mimeType = file.getContentType() != null ? file.getContentType() : "application/octet-stream";
+            boolean isImage = IMAGE_MIME_TYPES.contains(mimeType.toLowerCase());
+
+            // Create database record
+            LotDocument document = new LotDocument(
+                    lot,
+                    uploader,
+                    uploader.getFirstName() + " " + uploader.getLastName(),
+                    file.getOriginalFilename(),
+                    outcome.storageKey(),
+                    mimeType,
+                    file.getSize(),
+                    isImage
+            );
 
-                log.info("Uploaded document: {} to lot: {}", saved.getId(), lotId);
-            } catch (Exception e) {
-                log.error("Failed to upload file: {} to lot: {}", file.getOriginalFilename(), lotId, e);
-                throw new RuntimeException("Failed to upload file: " + file.getOriginalFilename(), e);
-            }
+            LotDocument saved = lotDocumentRepository.save(document);
+            uploadedFiles.add(file);
+            results.add(LotDocumentUploadResultModel.builder()
+                    .fileName(file.getOriginalFilename())
+                    .sizeBytes(file.getSize())
+                    .status(LotDocumentUploadResultModel.Status.UPLOADED)
+                    .document(mapToResponse(saved))
+                    .build());
+
+            log.info("Uploaded document: {} to lot: {}", saved.getId(), lotId);
         }
 
         // Notify customers and (when uploader is contractor/salesperson) owners: in-app notification + email
-        notifyRecipientsOfDocumentUpload(lot, lotId, uploader, files);
+        if (!uploadedFiles.isEmpty()) {
+            notifyRecipientsOfDocumentUpload(lot, lotId, uploader, uploadedFiles.toArray(new MultipartFile[0]));
+        }
 
-        return uploadedDocuments;
+        return results;
+    }
+
+    private record UploadOutcome(MultipartFile file, String storageKey, Throwable error) {
+        private boolean succeeded() {
+            return error == null;
+        }
     }
 
     /**
@@ -220,26 +285,21 @@ public class LotDocumentServiceImpl implements LotDocumentService {
             String notificationMessage, String link, String emailSubject, String emailBody, String recipientType) {
         try {
             UUID recipientUserId = recipient.getUserIdentifier().getUserId();
-            notificationService.createNotification(
+            outboxService.enqueueNotification(
                     recipientUserId,
                     notificationTitle,
                     notificationMessage,
                     NotificationCategory.DOCUMENT_UPLOADED,
                     link
             );
-            log.info("Document upload notification created for {}: {}", recipientType, recipient.getPrimaryEmail());
+            log.info("Document upload notification queued for {}: {}", recipientType, recipient.getPrimaryEmail());
 
             if (recipient.getPrimaryEmail() != null && !recipient.getPrimaryEmail().isBlank()) {
-                mailerServiceClient.sendEmail(
+                outboxService.enqueueEmail(
                         recipient.getPrimaryEmail(),
                         emailSubject,
                         emailBody,
                         "Les Constructions Dominic Cyr"
-                ).subscribe(
-                        null,
-                        error -> log.error("Failed to send document upload email to {}: {}",
-                                recipient.getPrimaryEmail(), error.getMessage(), error),
-                        () -> log.info("Document upload email sent to {}", recipient.getPrimaryEmail())
                 );
             }
         } catch (Exception e) {
@@ -280,7 +340,7 @@ public class LotDocumentServiceImpl implements LotDocumentService {
     }
 
     @Override
-    public byte[] downloadDocument(String lotId, UUID documentId, String requestingUserId) {
+    public LotDocumentDownload getDocumentForDownload(String lotId, UUID documentId, String requestingUserId) {
         log.debug("Downloading document: {} from lot: {} by user: {}", documentId, lotId, requestingUserId);
 
         UUID lotUuid = UUID.fromString(lotId);
@@ -315,8 +375,8 @@ public class LotDocumentServiceImpl implements LotDocumentService {
             }
         }
 
-        // Download from files-service
-        return downloadFromFilesService(document.getStorageKey());
+        return new LotDocumentDownload(document.getId(), document.getStorageKey(), document.getOriginalFileName(),
+                document.getMimeType(), document.getSizeBytes());
     }
 
     @Override
@@ -438,74 +498,36 @@ public class LotDocumentServiceImpl implements LotDocumentService {
         }
     }
 
-    private String uploadToFilesService(MultipartFile file, String lotId, String uploadedBy) {
+    private void discardUpload(String storageKey, String deletedBy) {
         try {
-            WebClient webClient = webClientBuilder.baseUrl(filesServiceBaseUrl).build();
-
-            FileUploadMetadata metadata = buildFileUploadMetadata(file);
-            String contentType = metadata.getContentType();
-            String category = metadata.getCategory();
-            
-            log.info("Uploading to files-service: file={}, contentType={}, category={}, projectId={}, uploadedBy={}, uploaderRole=OWNER, fileSize={}", 
-                    file.getOriginalFilename(), contentType, category, lotId, uploadedBy, file.getSize());
-
-            MultipartBodyBuilder bodyBuilder = new MultipartBodyBuilder();
-            
-            // Add file part using ByteArrayResource
-            byte[] fileBytes = file.getBytes();
-            ByteArrayResource fileResource = new ByteArrayResource(fileBytes) {
-                @Override
-                public String getFilename() {
-                    return file.getOriginalFilename();
-                }
-            };
-            bodyBuilder.part("file", fileResource)
-                    .filename(file.getOriginalFilename())
-                    .contentType(MediaType.parseMediaType(contentType));
-                    
-            // Add form fields as strings
-            bodyBuilder.part("category", category);
-            bodyBuilder.part("projectId", lotId);
-            bodyBuilder.part("uploadedBy", uploadedBy);
-            bodyBuilder.part("uploaderRole", "OWNER");
-            
-            String response = webClient.post()
-                    .uri("/files")
-                    .contentType(MediaType.MULTIPART_FORM_DATA)
-                    .body(BodyInserters.fromMultipartData(bodyBuilder.build()))
-                    .retrieve()
-                    .bodyToMono(String.class)
-                    .timeout(Duration.ofSeconds(30))
-                    .block();
-
-            log.debug("Files-service upload response: {}", response);
-            
-            // Extract file ID or storage key from response
-            // Response format: {"fileId": "...", "url": "/files/..."}
-            // For simplicity, return the file ID as storage key
-            return extractFileIdFromResponse(response);
-
+            filesServiceClient.delete(storageKey, deletedBy).block();
         } catch (Exception e) {
-            log.error("Failed to upload file to files-service", e);
-            throw new RuntimeException("File upload failed: " + e.getMessage(), e);
+            log.warn("Could not remove orphaned lot document file {}: {}", storageKey, e.getMessage());
         }
     }
 
-    private byte[] downloadFromFilesService(String storageKey) {
-        try {
-            WebClient webClient = webClientBuilder.baseUrl(filesServiceBaseUrl).build();
+    private Mono<String> uploadToFilesService(MultipartFile file, String lotId, String uploadedBy) {
+        return Mono.defer(() -> {
+            FileUploadMetadata metadata = buildFileUploadMetadata(file);
+            String contentType = metadata.getContentType();
+            String category = metadata.getCategory();
 
-            return webClient.get()
-                    .uri("/files/" + storageKey)
-                    .retrieve()
-                    .bodyToMono(byte[].class)
-                    .timeout(Duration.ofSeconds(30))
-                    .block();
+            log.info("Uploading to files-service: file={}, contentType={}, category={}, projectId={}, uploadedBy={}, uploaderRole=OWNER, fileSize={}",
+                    file.getOriginalFilename(), contentType, category, lotId, uploadedBy, file.getSize());
 
-        } catch (Exception e) {
-            log.error("Failed to download file from files-service", e);
-            throw new RuntimeException("File download failed: " + e.getMessage(), e);
-        }
+            return filesServiceClient.upload(FileUpload.builder()
+                            .filename(file.getOriginalFilename())
+                            .contentType(MediaType.parseMediaType(contentType))
+                            .content(FilesServiceClient.contentOf(file))
+                            .category(category)
+                            .projectId(lotId)
+                            .uploadedBy(uploadedBy)
+                            .uploaderRole("OWNER")
+                            .build())
+                    .timeout(uploadTimeout);
+        })
+                // The file ID is the storage key
+                .map(FileUploadResponse::fileId);
     }
 
     private String determineCategory(String mimeType) {
@@ -514,24 +536,4 @@ public class LotDocumentServiceImpl implements LotDocumentService {
         }
         return IMAGE_MIME_TYPES.contains(mimeType.toLowerCase()) ? "PHOTO" : "DOCUMENT";
     }
-
-    private String extractFileIdFromResponse(String jsonResponse) {
-        // Simple JSON parsing - in production, use Jackson ObjectMapper
-        try {
-            if (jsonResponse.contains("\"fileId\"")) {
-                int start = jsonResponse.indexOf("\"fileId\"") + 10;
-                int end = jsonResponse.indexOf("\"", start);
-                return jsonResponse.substring(start, end);
-            } else if (jsonResponse.contains("\"id\"")) {
-                int afterId = jsonResponse.indexOf("\"id\"") + 4;
-                int start = jsonResponse.indexOf("\"", afterId) + 1;
-                int end = jsonResponse.indexOf("\"", start);
-                return jsonResponse.substring(start, end);
-            }
-            throw new RuntimeException("Could not extract file ID from response");
-        } catch (Exception e) {
-            log.error("Failed to parse files-service response: {}", jsonResponse, e);
-            throw new RuntimeException("Invalid response from files-service", e);
-        }
-    }
 }
@@ -1,23 +1,18 @@
 package com.ecp.les_constructions_dominic_cyr.backend.ProjectSubdomain.BusinessLayer.Project;
 
-import org.springframework.beans.factory.annotation.Value;
+import com.ecp.les_constructions_dominic_cyr.backend.FilesSubdomain.FilesServiceClient;
+import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
-import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Mono;
 
 /**
  * Client for communicating with the files service to validate file existence.
  */
 @Component
+@RequiredArgsConstructor
 public class FileServiceClient {
 
-    private final WebClient webClient;
-
-    public FileServiceClient(@Value("${files.service.base-url:http://localhost:8082}") String baseUrl) {
-        this.webClient = WebClient.builder()
-                .baseUrl(baseUrl)
-                .build();
-    }
+    private final FilesServiceClient filesServiceClient;
 
     /**
      * Validates that a file exists in the files service by attempting to retrieve it.
@@ -26,16 +21,6 @@ public class FileServiceClient {
      * @return Mono<Boolean> true if file exists, false otherwise
      */
     public Mono<Boolean> validateFileExists(String fileId) {
-        if (fileId == null || fileId.trim().isEmpty()) {
-            return Mono.just(false);
-        }
-
-        return webClient.get()
-                .uri("/files/{fileId}", fileId)
-                .retrieve()
-                .toBodilessEntity()
-                .map(response -> response.getStatusCode().is2xxSuccessful())
-                .onErrorReturn(false);
+        return filesServiceClient.exists(fileId);
     }
 }
-
@@ -29,6 +29,7 @@ public class IndividualProjectMetadataServiceImpl implements IndividualProjectMe
     private final ProjectRepository projectRepository;
     private final UsersRepository usersRepository;
     private final LotRepository lotRepository;
+    private final ProjectProgressService projectProgressService;
 
     @Override
     public IndividualProjectResponseModel getProjectMetadata(String projectIdentifier, String auth0UserId) {
@@ -42,6 +43,7 @@ public class IndividualProjectMetadataServiceImpl implements IndividualProjectMe
 
         String location = determineProjectLocation(project);
         AssignedUsersDTO assignedUsers = buildAssignedUsers(project);
+        Integer progress = projectProgressService.getProjectProgress(project);
 
         return IndividualProjectResponseModel.builder()
                 .projectIdentifier(project.getProjectIdentifier())
@@ -57,7 +59,7 @@ public class IndividualProjectMetadataServiceImpl implements IndividualProjectMe
                 .buyerName(project.getBuyerName())
                 .imageIdentifier(project.getImageIdentifier())
                 .location(location)
-                .progressPercentage(project.getProgressPercentage())
+                .progressPercentage(progress != null ? progress : project.getProgressPercentage())
                 .assignedUsers(assignedUsers)
                 .build();
     }
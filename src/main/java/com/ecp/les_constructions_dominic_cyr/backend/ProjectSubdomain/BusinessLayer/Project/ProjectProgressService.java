@@ -0,0 +1,226 @@
+package com.ecp.les_constructions_dominic_cyr.backend.ProjectSubdomain.BusinessLayer.Project;
+
+import com.ecp.les_constructions_dominic_cyr.backend.ProjectSubdomain.DataAccessLayer.Lot.Lot;
+import com.ecp.les_constructions_dominic_cyr.backend.ProjectSubdomain.DataAccessLayer.Lot.LotRepository;
+import com.ecp.les_constructions_dominic_cyr.backend.ProjectSubdomain.DataAccessLayer.Lot.LotWorkCount;
+import com.ecp.les_constructions_dominic_cyr.backend.ProjectSubdomain.DataAccessLayer.Project.Project;
+import com.ecp.les_constructions_dominic_cyr.backend.ProjectSubdomain.DataAccessLayer.Project.ProjectRepository;
+import com.ecp.les_constructions_dominic_cyr.backend.ProjectSubdomain.DataAccessLayer.Schedule.ScheduleRepository;
+import com.ecp.les_constructions_dominic_cyr.backend.ProjectSubdomain.DataAccessLayer.Schedule.Task;
+import com.ecp.les_constructions_dominic_cyr.backend.ProjectSubdomain.DataAccessLayer.Schedule.TaskProgressCount;
+import com.ecp.les_constructions_dominic_cyr.backend.ProjectSubdomain.DataAccessLayer.Schedule.TaskRepository;
+import com.ecp.les_constructions_dominic_cyr.backend.ProjectSubdomain.DataAccessLayer.Schedule.TaskStatus;
+import com.ecp.les_constructions_dominic_cyr.backend.utils.Exception.ProjectNotFoundException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Owns the persisted task counters on {@link Lot} and {@link Project}. Task write paths report
+ * each change through {@link #applyTaskChange}, which adjusts the counters atomically in the
+ * caller's transaction, so progress reads never have to count tasks.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class ProjectProgressService {
+
+    public static final int TOTAL_UPCOMING_WORK = 59;
+
+    private final TaskRepository taskRepository;
+    private final LotRepository lotRepository;
+    private final ProjectRepository projectRepository;
+    private final ScheduleRepository scheduleRepository;
+
+    /**
+     * What a single task adds to the counters of its lot and project.
+     */
+    public record TaskContribution(UUID lotId, String projectIdentifier, boolean completed, double remainingHours) {
+    }
+
+    /**
+     * Progress of a single project, or {@code null} if it has neither tasks nor lots.
+     */
+    public Integer getProjectProgress(Project project) {
+        return getProjectProgress(List.of(project)).get(project.getProjectIdentifier());
+    }
+
+    /**
+     * Progress for several projects, read from their counters. Projects without tasks fall back
+     * to the remaining upcoming work of their lots, resolved in one query; projects with neither
+     * are absent from the returned map.
+     */
+    public Map<String, Integer> getProjectProgress(Collection<Project> projects) {
+        Map<String, Integer> progress = new HashMap<>();
+        for (Project project : projects) {
+            if (Boolean.TRUE.equals(project.getTaskCountersInitialized())
+                    && project.getTotalTasks() != null && project.getTotalTasks() > 0) {
+                progress.put(project.getProjectIdentifier(), percentage(project.getCompletedTasks(), project.getTotalTasks()));
+            }
+        }
+
+        List<String> withoutTasks = projects.stream()
+                .map(Project::getProjectIdentifier)
+                .filter(id -> !progress.containsKey(id))
+                .distinct()
+                .toList();
+        if (!withoutTasks.isEmpty()) {
+            for (LotWorkCount count : lotRepository.countWorkByProjectIdentifiers(withoutTasks, TOTAL_UPCOMING_WORK)) {
+                long maxPossible = count.getLotCount() * TOTAL_UPCOMING_WORK;
+                long completed = maxPossible - count.getRemainingWork();
+                progress.put(count.getProjectIdentifier(), percentage(completed, maxPossible));
+            }
+        }
+
+        return progress;
+    }
+
+    /**
+     * Progress for a single lot, read from its counters. Lots without tasks fall back to their
+     * remaining upcoming work.
+     */
+    public int getLotProgress(Lot lot) {
+        if (Boolean.TRUE.equals(lot.getTaskCountersInitialized())
+                && lot.getTotalTasks() != null && lot.getTotalTasks() > 0) {
+            return percentage(lot.getCompletedTasks(), lot.getTotalTasks());
+        }
+        int remaining = lot.getRemainingUpcomingWork() != null ? lot.getRemainingUpcomingWork() : TOTAL_UPCOMING_WORK;
+        return percentage(TOTAL_UPCOMING_WORK - remaining, TOTAL_UPCOMING_WORK);
+    }
+
+    /**
+     * Snapshot of what a task currently contributes; take it before mutating the task.
+     */
+    public TaskContribution contributionOf(Task task) {
+        String projectIdentifier = task.getScheduleId() != null
+                ? scheduleRepository.findProjectIdentifierByScheduleIdentifier(task.getScheduleId()).orElse(null)
+                : null;
+        boolean completed = task.getTaskStatus() == TaskStatus.COMPLETED;
+        double estimated = task.getEstimatedHours() != null ? task.getEstimatedHours() : 0.0;
+        double spent = task.getHoursSpent() != null ? task.getHoursSpent() : 0.0;
+        double remainingHours = completed ? 0.0 : Math.max(estimated - spent, 0.0);
+        return new TaskContribution(task.getLotId(), projectIdentifier, completed, remainingHours);
+    }
+
+    /**
+     * Moves the counters from a task's previous contribution to its new one. Pass {@code null}
+     * as {@code before} for a created task and as {@code after} for a deleted one.
+     */
+    @Transactional
+    public void applyTaskChange(TaskContribution before, TaskContribution after) {
+        if (Objects.equals(before, after)) {
+            return;
+        }
+        adjust(before, -1);
+        adjust(after, 1);
+    }
+
+    /**
+     * Recomputes the counters of a project and its lots from the tasks table.
+     */
+    @Transactional
+    public void rebuildProjectCounters(String projectIdentifier) {
+        Project project = projectRepository.findByProjectIdentifier(projectIdentifier)
+                .orElseThrow(() -> new ProjectNotFoundException("Project not found with identifier: " + projectIdentifier));
+        rebuildCounters(List.of(project), lotRepository.findByProject_ProjectIdentifier(projectIdentifier));
+    }
+
+    /**
+     * Recomputes every lot and project counter from the tasks table, repairing any drift.
+     */
+    @Transactional
+    public void rebuildAllCounters() {
+        rebuildCounters(projectRepository.findAll(), lotRepository.findAll());
+    }
+
+    /**
+     * Counts the tasks of projects and lots whose counters have never been computed, such as rows
+     * that existed before the counters were added. Does nothing once every row is initialised.
+     */
+    @Transactional
+    public void initializeMissingCounters() {
+        List<Project> projects = projectRepository.findByTaskCountersInitializedFalse();
+        List<Lot> lots = lotRepository.findByTaskCountersInitializedFalse();
+        if (!projects.isEmpty() || !lots.isEmpty()) {
+            rebuildCounters(projects, lots);
+        }
+    }
+
+    /**
+     * Releases a lot's counters before it is deleted by detaching its tasks. They stay in their
+     * schedules, so the project keeps counting them, but no longer point at the deleted lot.
+     */
+    @Transactional
+    public void releaseLot(UUID lotId) {
+        int detached = taskRepository.detachFromLot(lotId);
+        if (detached > 0) {
+            log.info("Detached {} tasks from deleted lot {}", detached, lotId);
+        }
+    }
+
+    private void rebuildCounters(List<Project> projects, List<Lot> lots) {
+        List<String> projectIdentifiers = projects.stream().map(Project::getProjectIdentifier).toList();
+        Map<String, TaskProgressCount.ByProject> projectCounts = projectIdentifiers.isEmpty() ? Map.of()
+                : taskRepository.countProgressByProjectIdentifiers(projectIdentifiers, TaskStatus.COMPLETED).stream()
+                        .collect(Collectors.toMap(TaskProgressCount.ByProject::getProjectIdentifier, Function.identity()));
+        for (String projectIdentifier : projectIdentifiers) {
+            TaskProgressCount count = projectCounts.get(projectIdentifier);
+            projectRepository.setTaskCounters(projectIdentifier, total(count), completed(count), remainingHours(count));
+        }
+
+        List<UUID> lotIds = lots.stream()
+                .filter(lot -> lot.getLotIdentifier() != null)
+                .map(lot -> lot.getLotIdentifier().getLotId())
+                .toList();
+        Map<UUID, TaskProgressCount.ByLot> lotCounts = lotIds.isEmpty() ? Map.of()
+                : taskRepository.countProgressByLotIds(lotIds, TaskStatus.COMPLETED).stream()
+                        .collect(Collectors.toMap(TaskProgressCount.ByLot::getLotId, Function.identity()));
+        for (UUID lotId : lotIds) {
+            TaskProgressCount count = lotCounts.get(lotId);
+            lotRepository.setTaskCounters(lotId, total(count), completed(count), remainingHours(count));
+        }
+
+        log.info("Rebuilt task counters for {} projects and {} lots", projectIdentifiers.size(), lotIds.size());
+    }
+
+    private void adjust(TaskContribution contribution, int sign) {
+        if (contribution == null) {
+            return;
+        }
+        int completedDelta = contribution.completed() ? sign : 0;
+        double hoursDelta = sign * contribution.remainingHours();
+        if (contribution.lotId() != null) {
+            lotRepository.adjustTaskCounters(contribution.lotId(), sign, completedDelta, hoursDelta);
+        }
+        if (contribution.projectIdentifier() != null) {
+            projectRepository.adjustTaskCounters(contribution.projectIdentifier(), sign, completedDelta, hoursDelta);
+        }
+    }
+
+    private int total(TaskProgressCount count) {
+        return count != null ? count.getTotalTasks().intValue() : 0;
+    }
+
+    private int completed(TaskProgressCount count) {
+        return count != null && count.getCompletedTasks() != null ? count.getCompletedTasks().intValue() : 0;
+    }
+
+    private double remainingHours(TaskProgressCount count) {
+        return count != null && count.getRemainingHours() != null ? count.getRemainingHours() : 0.0;
+    }
+
+    private int percentage(long completed, long total) {
+        return total > 0 ? (int) Math.round((double) completed / total * 100) : 0;
+    }
+}
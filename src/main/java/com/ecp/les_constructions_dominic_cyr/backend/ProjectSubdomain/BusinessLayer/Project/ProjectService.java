@@ -5,7 +5,11 @@ import com.ecp.les_constructions_dominic_cyr.backend.ProjectSubdomain.Presentati
 import com.ecp.les_constructions_dominic_cyr.backend.ProjectSubdomain.PresentationLayer.Project.ProjectResponseModel;
 import com.ecp.les_constructions_dominic_cyr.backend.ProjectSubdomain.PresentationLayer.Project.ProjectActivityLogResponseModel;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 public interface ProjectService {
@@ -20,6 +24,7 @@ public interface ProjectService {
     List<ProjectResponseModel> getProjectsByDateRange(LocalDate startDate, LocalDate endDate);
     List<ProjectResponseModel> filterProjects(ProjectStatus status, LocalDate startDate, LocalDate endDate, String customerId);
     List<ProjectResponseModel> filterProjects(ProjectStatus status, LocalDate startDate, LocalDate endDate, String customerId, boolean includeArchived);
+    Page<ProjectResponseModel> getProjectsPage(ProjectStatus status, LocalDate startDate, LocalDate endDate, String customerId, boolean includeArchived, Collection<String> projectIdentifiers, Pageable pageable);
 
     ProjectResponseModel assignContractorToProject(String projectIdentifier, String contractorId, String requestingAuth0UserId);
     ProjectResponseModel removeContractorFromProject(String projectIdentifier, String requestingAuth0UserId);
@@ -1,15 +1,11 @@
 package com.ecp.les_constructions_dominic_cyr.backend.ProjectSubdomain.BusinessLayer.Project;
 
-import com.ecp.les_constructions_dominic_cyr.backend.ProjectSubdomain.DataAccessLayer.Lot.Lot;
 import com.ecp.les_constructions_dominic_cyr.backend.ProjectSubdomain.DataAccessLayer.Lot.LotRepository;
 import com.ecp.les_constructions_dominic_cyr.backend.ProjectSubdomain.DataAccessLayer.Project.Project;
 import com.ecp.les_constructions_dominic_cyr.backend.ProjectSubdomain.DataAccessLayer.Project.ProjectRepository;
 import com.ecp.les_constructions_dominic_cyr.backend.ProjectSubdomain.DataAccessLayer.Project.ProjectStatus;
 import com.ecp.les_constructions_dominic_cyr.backend.ProjectSubdomain.DataAccessLayer.ProjectActivityLog;
 import com.ecp.les_constructions_dominic_cyr.backend.ProjectSubdomain.DataAccessLayer.ProjectActivityLogRepository;
-import com.ecp.les_constructions_dominic_cyr.backend.ProjectSubdomain.DataAccessLayer.Schedule.Task;
-import com.ecp.les_constructions_dominic_cyr.backend.ProjectSubdomain.DataAccessLayer.Schedule.TaskRepository;
-import com.ecp.les_constructions_dominic_cyr.backend.ProjectSubdomain.DataAccessLayer.Schedule.TaskStatus;
 import com.ecp.les_constructions_dominic_cyr.backend.ProjectSubdomain.MapperLayer.ProjectMapper;
 import com.ecp.les_constructions_dominic_cyr.backend.ProjectSubdomain.PresentationLayer.Project.ProjectActivityLogResponseModel;
 import com.ecp.les_constructions_dominic_cyr.backend.ProjectSubdomain.PresentationLayer.Project.ProjectRequestModel;
@@ -21,6 +17,11 @@ import com.ecp.les_constructions_dominic_cyr.backend.UsersSubdomain.DataAccessLa
 import com.ecp.les_constructions_dominic_cyr.backend.UsersSubdomain.DataAccessLayer.UsersRepository;
 import jakarta.persistence.criteria.Predicate;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -29,7 +30,10 @@ import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -43,7 +47,12 @@ public class ProjectServiceImpl implements ProjectService {
     private final FileServiceClient fileServiceClient;
     private final ProjectActivityLogRepository activityLogRepository;
     private final UsersRepository usersRepository;
-    private final TaskRepository taskRepository;
+    private final ProjectProgressService projectProgressService;
+
+    private static final Sort FEATURED_FIRST = Sort.by(Sort.Order.desc("featuredRank"));
+    private static final Sort DEFAULT_ORDER = Sort.by(Sort.Order.asc("projectId"));
+    private static final Set<String> SORTABLE_PROPERTIES =
+            Set.of("projectName", "status", "startDate", "endDate", "createdAt", "updatedAt");
     private String getFullName(Users user) {
         if (user == null) return "";
         String first = user.getFirstName() == null ? "" : user.getFirstName();
@@ -58,22 +67,8 @@ public class ProjectServiceImpl implements ProjectService {
 
     @Override
     public List<ProjectResponseModel> getAllProjects(boolean includeArchived) {
-        List<ProjectResponseModel> allProjects = projectRepository.findAll().stream()
-                .filter(project -> includeArchived || project.getStatus() != ProjectStatus.ARCHIVED)
-                .map(projectMapper::entityToResponseModel)
-                .collect(Collectors.toList());
-        
-        // Sort to ensure Foresta appears first
-        allProjects.sort((a, b) -> {
-            boolean aIsForesta = "proj-001-foresta".equals(a.getProjectIdentifier());
-            boolean bIsForesta = "proj-001-foresta".equals(b.getProjectIdentifier());
-            
-            if (aIsForesta && !bIsForesta) return -1;
-            if (!aIsForesta && bIsForesta) return 1;
-            return 0;
-        });
-        
-        return allProjects;
+        Specification<Project> spec = projectSpecification(null, null, null, null, includeArchived, null);
+        return mapWithProgress(projectRepository.findAll(spec, FEATURED_FIRST.and(DEFAULT_ORDER)));
     }
 
     @Override
@@ -81,32 +76,26 @@ public class ProjectServiceImpl implements ProjectService {
         Project project = projectRepository.findByProjectIdentifier(projectIdentifier)
                 .orElseThrow(() -> new ProjectNotFoundException("Project not found with identifier: " + projectIdentifier));
 
-        // Calculate progress based on tasks across all lots
-        List<Task> allTasks = taskRepository.findByProjectIdentifier(projectIdentifier);
-        if (!allTasks.isEmpty()) {
-            long completedTasks = allTasks.stream()
-                    .filter(t -> t.getTaskStatus() == TaskStatus.COMPLETED)
-                    .count();
-            int progress = (int) Math.round((double) completedTasks / allTasks.size() * 100);
-            project.setProgressPercentage(progress);
-        } else {
-            // Fallback to old calculation if no tasks exist
-            List<Lot> lots = lotRepository.findByProject_ProjectIdentifier(projectIdentifier);
-            if (!lots.isEmpty()) {
-                int totalUpcomingWork = 59;
-                int totalCompleted = lots.stream()
-                        .mapToInt(lot -> {
-                            int remaining = lot.getRemainingUpcomingWork() != null ? lot.getRemainingUpcomingWork() : totalUpcomingWork;
-                            return totalUpcomingWork - remaining;
-                        })
-                        .sum();
-                int maxPossible = lots.size() * totalUpcomingWork;
-                int progress = maxPossible > 0 ? (int) Math.round((double) totalCompleted / maxPossible * 100) : 0;
-                project.setProgressPercentage(progress);
-            }
-        }
+        return mapWithProgress(List.of(project)).get(0);
+    }
 
-        return projectMapper.entityToResponseModel(project);
+    /**
+     * Maps projects to response models, filling in progress computed in bulk by
+     * {@link ProjectProgressService}. Projects with neither tasks nor lots keep their stored value.
+     */
+    private List<ProjectResponseModel> mapWithProgress(List<Project> projects) {
+        Map<String, Integer> progress = projectProgressService.getProjectProgress(projects);
+
+        return projects.stream()
+                .map(project -> {
+                    ProjectResponseModel response = projectMapper.entityToResponseModel(project);
+                    Integer computed = progress.get(project.getProjectIdentifier());
+                    if (computed != null) {
+                        response.setProgressPercentage(computed);
+                    }
+                    return response;
+                })
+                .collect(Collectors.toList());
     }
 
     @Override
@@ -162,23 +151,17 @@ public class ProjectServiceImpl implements ProjectService {
 
     @Override
     public List<ProjectResponseModel> getProjectsByStatus(ProjectStatus status) {
-        return projectRepository.findByStatus(status).stream()
-                .map(projectMapper::entityToResponseModel)
-                .collect(Collectors.toList());
+        return mapWithProgress(projectRepository.findByStatus(status));
     }
 
     @Override
     public List<ProjectResponseModel> getProjectsByCustomerId(String customerId) {
-        return projectRepository.findByCustomerId(customerId).stream()
-                .map(projectMapper::entityToResponseModel)
-                .collect(Collectors.toList());
+        return mapWithProgress(projectRepository.findByCustomerId(customerId));
     }
 
     @Override
     public List<ProjectResponseModel> getProjectsByDateRange(LocalDate startDate, LocalDate endDate) {
-        return projectRepository.findByStartDateBetween(startDate, endDate).stream()
-                .map(projectMapper::entityToResponseModel)
-                .collect(Collectors.toList());
+        return mapWithProgress(projectRepository.findByStartDateBetween(startDate, endDate));
     }
 
     @Override
@@ -188,7 +171,37 @@ public class ProjectServiceImpl implements ProjectService {
 
     @Override
     public List<ProjectResponseModel> filterProjects(ProjectStatus status, LocalDate startDate, LocalDate endDate, String customerId, boolean includeArchived) {
-        Specification<Project> spec = (root, query, criteriaBuilder) -> {
+        Specification<Project> spec = projectSpecification(status, startDate, endDate, customerId, includeArchived, null);
+        return mapWithProgress(projectRepository.findAll(spec, FEATURED_FIRST.and(DEFAULT_ORDER)));
+    }
+
+    @Override
+    public Page<ProjectResponseModel> getProjectsPage(ProjectStatus status, LocalDate startDate, LocalDate endDate,
+                                                      String customerId, boolean includeArchived,
+                                                      Collection<String> projectIdentifiers, Pageable pageable) {
+        for (Sort.Order order : pageable.getSort()) {
+            if (!SORTABLE_PROPERTIES.contains(order.getProperty())) {
+                throw new InvalidProjectDataException("Cannot sort projects by: " + order.getProperty());
+            }
+        }
+
+        // Featured projects stay pinned ahead of the requested order; the id makes paging stable
+        Sort sort = FEATURED_FIRST.and(pageable.getSort()).and(DEFAULT_ORDER);
+        Pageable sortedPageable = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), sort);
+        Specification<Project> spec = projectSpecification(status, startDate, endDate, customerId, includeArchived, projectIdentifiers);
+
+        Page<Project> page = projectRepository.findAll(spec, sortedPageable);
+        return new PageImpl<>(mapWithProgress(page.getContent()), sortedPageable, page.getTotalElements());
+    }
+
+    /**
+     * Builds the listing filter. A null {@code projectIdentifiers} applies no restriction; an
+     * empty one matches nothing.
+     */
+    private Specification<Project> projectSpecification(ProjectStatus status, LocalDate startDate, LocalDate endDate,
+                                                        String customerId, boolean includeArchived,
+                                                        Collection<String> projectIdentifiers) {
+        return (root, query, criteriaBuilder) -> {
             List<Predicate> predicates = new ArrayList<>();
 
             // Exclude archived projects unless explicitly filtering by ARCHIVED status or if owner wants to see them
@@ -209,24 +222,14 @@ public class ProjectServiceImpl implements ProjectService {
                 predicates.add(criteriaBuilder.equal(root.get("customerId"), customerId));
             }
 
+            if (projectIdentifiers != null) {
+                predicates.add(projectIdentifiers.isEmpty()
+                        ? criteriaBuilder.disjunction()
+                        : root.get("projectIdentifier").in(projectIdentifiers));
+            }
+
             return criteriaBuilder.and(predicates.toArray(new Predicate[0]));
         };
-
-        List<ProjectResponseModel> filtered = projectRepository.findAll(spec).stream()
-                .map(projectMapper::entityToResponseModel)
-                .collect(Collectors.toList());
-        
-        // Sort to ensure Foresta appears first
-        filtered.sort((a, b) -> {
-            boolean aIsForesta = "proj-001-foresta".equals(a.getProjectIdentifier());
-            boolean bIsForesta = "proj-001-foresta".equals(b.getProjectIdentifier());
-            
-            if (aIsForesta && !bIsForesta) return -1;
-            if (!aIsForesta && bIsForesta) return 1;
-            return 0;
-        });
-        
-        return filtered;
     }
 
     private void validateProjectRequestForCreate(ProjectRequestModel requestModel) {
@@ -0,0 +1,30 @@
+package com.ecp.les_constructions_dominic_cyr.backend.ProjectSubdomain.BusinessLayer.Project;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Counts the tasks of projects and lots whose persisted counters have never been computed, once
+ * the application is up. Hibernate's schema update adds the counter columns as zero on existing
+ * rows, which would otherwise read as "no tasks" and be incremented from zero.
+ * Safe to run on every startup: rows already counted are skipped.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TaskCountersInitializer {
+
+    private final ProjectProgressService projectProgressService;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initializeCounters() {
+        try {
+            projectProgressService.initializeMissingCounters();
+        } catch (Exception e) {
+            log.warn("Could not initialise task progress counters (non-fatal): {}", e.getMessage());
+        }
+    }
+}
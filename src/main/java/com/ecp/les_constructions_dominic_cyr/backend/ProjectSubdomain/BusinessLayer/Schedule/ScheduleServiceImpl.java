@@ -1,9 +1,9 @@
 package com.ecp.les_constructions_dominic_cyr.backend.ProjectSubdomain.BusinessLayer.Schedule;
 
-import com.ecp.les_constructions_dominic_cyr.backend.CommunicationSubdomain.BusinessLayer.NotificationService;
-import com.ecp.les_constructions_dominic_cyr.backend.CommunicationSubdomain.BusinessLayer.MailerServiceClient;
+import com.ecp.les_constructions_dominic_cyr.backend.CommunicationSubdomain.BusinessLayer.OutboxService;
 import com.ecp.les_constructions_dominic_cyr.backend.UsersSubdomain.DataAccessLayer.Users;
 import com.ecp.les_constructions_dominic_cyr.backend.UsersSubdomain.DataAccessLayer.UsersRepository;
+import com.ecp.les_constructions_dominic_cyr.backend.ProjectSubdomain.BusinessLayer.Project.ProjectProgressService;
 import com.ecp.les_constructions_dominic_cyr.backend.ProjectSubdomain.DataAccessLayer.Project.Project;
 import com.ecp.les_constructions_dominic_cyr.backend.ProjectSubdomain.DataAccessLayer.Project.ProjectRepository;
 import com.ecp.les_constructions_dominic_cyr.backend.ProjectSubdomain.DataAccessLayer.Schedule.Schedule;
@@ -42,9 +42,9 @@ public class ScheduleServiceImpl implements ScheduleService {
     private final ProjectRepository projectRepository;
     private final LotRepository lotRepository;
     private final ScheduleMapper scheduleMapper;
-    private final NotificationService notificationService;
-    private final MailerServiceClient mailerServiceClient;
+    private final OutboxService outboxService;
     private final UsersRepository usersRepository;
+    private final ProjectProgressService projectProgressService;
 
     private static final int MAX_TASK_IDS = 50;
     private static final int MAX_TOP_PRIORITY_TASKS = 5;
@@ -116,6 +116,7 @@ public class ScheduleServiceImpl implements ScheduleService {
         Schedule schedule = scheduleRepository.findByScheduleIdentifier(scheduleIdentifier)
                 .orElseThrow(() -> new NotFoundException("Schedule not found with identifier: " + scheduleIdentifier));
 
+        releaseTaskCounters(schedule);
         scheduleRepository.delete(schedule);
         log.info("Schedule deleted: {}", scheduleIdentifier);
     }
@@ -320,7 +321,7 @@ public class ScheduleServiceImpl implements ScheduleService {
         // Send notifications
         for (Users user : assignedUsers) {
             try {
-                notificationService.createNotification(
+                outboxService.enqueueNotification(
                     user.getUserIdentifier().getUserId(),
                     title,
                     message,
@@ -332,14 +333,11 @@ public class ScheduleServiceImpl implements ScheduleService {
                     String emailBody = String.format(
                         "Hello %s,<br><br>%s<br><br>Updated at: %s", user.getFirstName(), message, updatedSchedule.getUpdatedAt()
                     );
-                    mailerServiceClient.sendEmail(
+                    outboxService.enqueueEmail(
                         user.getPrimaryEmail(),
                         title,
                         emailBody,
                         "Les Constructions Dominic Cyr"
-                    ).subscribe(
-                        null,
-                        error -> log.error("Failed to send email to {}: {}", user.getPrimaryEmail(), error.getMessage(), error)
                     );
                 }
             } catch (Exception e) {
@@ -374,10 +372,20 @@ public class ScheduleServiceImpl implements ScheduleService {
         
         validateScheduleBelongsToProject(schedule, projectIdentifier);
         
+        releaseTaskCounters(schedule);
         scheduleRepository.delete(schedule);
         log.info("Schedule {} deleted from project {}", scheduleIdentifier, projectIdentifier);
     }
 
+    // Tasks are removed with their schedule (orphanRemoval), so take them off the progress counters first
+    private void releaseTaskCounters(Schedule schedule) {
+        if (schedule.getTasks() == null) {
+            return;
+        }
+        schedule.getTasks().forEach(task ->
+                projectProgressService.applyTaskChange(projectProgressService.contributionOf(task), null));
+    }
+
     private void validateScheduleBelongsToProject(Schedule schedule, String projectIdentifier) {
         if (schedule.getProject() == null || !projectIdentifier.equals(schedule.getProject().getProjectIdentifier())) {
             throw new NotFoundException("Schedule " + schedule.getScheduleIdentifier() + " does not belong to project " + projectIdentifier);
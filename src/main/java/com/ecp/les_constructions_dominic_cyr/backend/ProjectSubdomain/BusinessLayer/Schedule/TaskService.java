@@ -4,6 +4,8 @@ import java.util.List;
 
 import com.ecp.les_constructions_dominic_cyr.backend.ProjectSubdomain.DataAccessLayer.Schedule.TaskStatus;
 import com.ecp.les_constructions_dominic_cyr.backend.ProjectSubdomain.PresentationLayer.Schedule.TaskDetailResponseDTO;
+import com.ecp.les_constructions_dominic_cyr.backend.ProjectSubdomain.PresentationLayer.Schedule.TaskFilterDTO;
+import com.ecp.les_constructions_dominic_cyr.backend.ProjectSubdomain.PresentationLayer.Schedule.TaskPageResponseDTO;
 import com.ecp.les_constructions_dominic_cyr.backend.ProjectSubdomain.PresentationLayer.Schedule.TaskRequestDTO;
 
 public interface TaskService {
@@ -13,6 +15,11 @@ public interface TaskService {
      */
     List<TaskDetailResponseDTO> getAllTasks();
 
+    /**
+     * Get one page of tasks matching the filter, starting after the given cursor (owner only)
+     */
+    TaskPageResponseDTO getTasksPage(TaskFilterDTO filter, String cursor, int size);
+
     /**
      * Get task by identifier
      */
@@ -38,6 +45,11 @@ public interface TaskService {
      */
     List<TaskDetailResponseDTO> getTasksForContractor(String contractorId);
 
+    /**
+     * Get one page of the tasks assigned to a contractor, starting after the given cursor
+     */
+    TaskPageResponseDTO getTasksPageForContractor(String contractorId, TaskFilterDTO filter, String cursor, int size);
+
     /**
      * Get all tasks for a specific schedule
      */
@@ -1,8 +1,8 @@
 package com.ecp.les_constructions_dominic_cyr.backend.ProjectSubdomain.BusinessLayer.Schedule;
 
-import com.ecp.les_constructions_dominic_cyr.backend.CommunicationSubdomain.BusinessLayer.NotificationService;
-import com.ecp.les_constructions_dominic_cyr.backend.CommunicationSubdomain.BusinessLayer.MailerServiceClient;
+import com.ecp.les_constructions_dominic_cyr.backend.CommunicationSubdomain.BusinessLayer.OutboxService;
 import com.ecp.les_constructions_dominic_cyr.backend.CommunicationSubdomain.DataAccessLayer.NotificationCategory;
+import com.ecp.les_constructions_dominic_cyr.backend.ProjectSubdomain.BusinessLayer.Project.ProjectProgressService;
 import com.ecp.les_constructions_dominic_cyr.backend.ProjectSubdomain.DataAccessLayer.Lot.Lot;
 import com.ecp.les_constructions_dominic_cyr.backend.ProjectSubdomain.DataAccessLayer.Lot.LotRepository;
 import com.ecp.les_constructions_dominic_cyr.backend.ProjectSubdomain.DataAccessLayer.Schedule.Schedule;
@@ -12,17 +12,25 @@ import com.ecp.les_constructions_dominic_cyr.backend.ProjectSubdomain.DataAccess
 import com.ecp.les_constructions_dominic_cyr.backend.ProjectSubdomain.DataAccessLayer.Schedule.TaskStatus;
 import com.ecp.les_constructions_dominic_cyr.backend.ProjectSubdomain.MapperLayer.TaskMapper;
 import com.ecp.les_constructions_dominic_cyr.backend.ProjectSubdomain.PresentationLayer.Schedule.TaskDetailResponseDTO;
+import com.ecp.les_constructions_dominic_cyr.backend.ProjectSubdomain.PresentationLayer.Schedule.TaskFilterDTO;
+import com.ecp.les_constructions_dominic_cyr.backend.ProjectSubdomain.PresentationLayer.Schedule.TaskPageResponseDTO;
 import com.ecp.les_constructions_dominic_cyr.backend.ProjectSubdomain.PresentationLayer.Schedule.TaskRequestDTO;
 import com.ecp.les_constructions_dominic_cyr.backend.UsersSubdomain.DataAccessLayer.UserRole;
 import com.ecp.les_constructions_dominic_cyr.backend.UsersSubdomain.DataAccessLayer.Users;
 import com.ecp.les_constructions_dominic_cyr.backend.UsersSubdomain.DataAccessLayer.UsersRepository;
 import com.ecp.les_constructions_dominic_cyr.backend.utils.Exception.InvalidInputException;
 import com.ecp.les_constructions_dominic_cyr.backend.utils.Exception.NotFoundException;
+import jakarta.persistence.criteria.Predicate;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
 import java.util.List;
 import java.util.UUID;
 
@@ -32,13 +40,15 @@ import java.util.UUID;
 @Transactional(readOnly = true)
 public class TaskServiceImpl implements TaskService {
 
+    static final int MAX_PAGE_SIZE = 200;
+
     private final TaskRepository taskRepository;
     private final TaskMapper taskMapper;
     private final UsersRepository usersRepository;
     private final LotRepository lotRepository;
     private final ScheduleRepository scheduleRepository;
-    private final NotificationService notificationService;
-    private final MailerServiceClient mailerServiceClient;
+    private final OutboxService outboxService;
+    private final ProjectProgressService projectProgressService;
 
     @Override
     public List<TaskDetailResponseDTO> getAllTasks() {
@@ -47,6 +57,12 @@ public class TaskServiceImpl implements TaskService {
         return taskMapper.entitiesToResponseDTOs(tasks);
     }
 
+    @Override
+    public TaskPageResponseDTO getTasksPage(TaskFilterDTO filter, String cursor, int size) {
+        log.info("Fetching task page after cursor {} with size {}", cursor, size);
+        return findTasksPage(filter != null ? filter : new TaskFilterDTO(), cursor, size);
+    }
+
     @Override
     public TaskDetailResponseDTO getTaskByIdentifier(String taskId) {
         log.info("Fetching task with identifier: {}", taskId);
@@ -76,6 +92,7 @@ public class TaskServiceImpl implements TaskService {
         }
         
         Task savedTask = taskRepository.save(task);
+        projectProgressService.applyTaskChange(null, projectProgressService.contributionOf(savedTask));
 
         log.info("Task created with identifier: {}", savedTask.getTaskIdentifier().getTaskId());
         return taskMapper.entityToResponseDTO(savedTask);
@@ -89,6 +106,7 @@ public class TaskServiceImpl implements TaskService {
 
         Task existingTask = taskRepository.findByTaskIdentifier_TaskId(taskId)
                 .orElseThrow(() -> new NotFoundException("Task not found with identifier: " + taskId));
+        ProjectProgressService.TaskContribution previousContribution = projectProgressService.contributionOf(existingTask);
 
         Users assignedUser = null;
         if (taskRequestDTO.getAssignedToUserId() != null) {
@@ -105,6 +123,7 @@ public class TaskServiceImpl implements TaskService {
         }
         
         Task updatedTask = taskRepository.save(existingTask);
+        projectProgressService.applyTaskChange(previousContribution, projectProgressService.contributionOf(updatedTask));
 
         // --- Notification logic ---
         // Find the lot associated with this task to get assigned users
@@ -134,7 +153,7 @@ public class TaskServiceImpl implements TaskService {
                     // Send notifications to all assigned users
                     for (Users user : assignedUsers) {
                         try {
-                            notificationService.createNotification(
+                            outboxService.enqueueNotification(
                                 user.getUserIdentifier().getUserId(),
                                 title,
                                 message,
@@ -150,14 +169,11 @@ public class TaskServiceImpl implements TaskService {
                                     message,
                                     updatedTask.getTaskDescription() != null ? updatedTask.getTaskDescription() : "N/A"
                                 );
-                                mailerServiceClient.sendEmail(
+                                outboxService.enqueueEmail(
                                     user.getPrimaryEmail(),
                                     title,
                                     emailBody,
                                     "Les Constructions Dominic Cyr"
-                                ).subscribe(
-                                    null,
-                                    error -> log.error("Failed to send email to {}: {}", user.getPrimaryEmail(), error.getMessage(), error)
                                 );
                             }
                         } catch (Exception e) {
@@ -181,7 +197,9 @@ public class TaskServiceImpl implements TaskService {
         Task task = taskRepository.findByTaskIdentifier_TaskId(taskId)
                 .orElseThrow(() -> new NotFoundException("Task not found with identifier: " + taskId));
 
+        ProjectProgressService.TaskContribution contribution = projectProgressService.contributionOf(task);
         taskRepository.delete(task);
+        projectProgressService.applyTaskChange(contribution, null);
         log.info("Task deleted: {}", taskId);
     }
 
@@ -200,6 +218,22 @@ public class TaskServiceImpl implements TaskService {
         return taskMapper.entitiesToResponseDTOs(tasks);
     }
 
+    @Override
+    public TaskPageResponseDTO getTasksPageForContractor(String contractorId, TaskFilterDTO filter, String cursor, int size) {
+        log.info("Fetching task page for contractor {} after cursor {}", contractorId, cursor);
+
+        Users contractor = usersRepository.findByUserIdentifier_UserId(UUID.fromString(contractorId))
+                .orElseThrow(() -> new NotFoundException("User not found with identifier: " + contractorId));
+
+        if (contractor.getUserRole() != UserRole.CONTRACTOR) {
+            throw new InvalidInputException("User is not a contractor: " + contractorId);
+        }
+
+        TaskFilterDTO contractorFilter = filter != null ? filter : new TaskFilterDTO();
+        contractorFilter.setAssigneeId(contractor.getUserIdentifier().getUserId());
+        return findTasksPage(contractorFilter, cursor, size);
+    }
+
     @Override
     public List<TaskDetailResponseDTO> getTasksForSchedule(String scheduleIdentifier) {
         log.info("Fetching tasks for schedule: {}", scheduleIdentifier);
@@ -242,9 +276,9 @@ public class TaskServiceImpl implements TaskService {
         }
         
         // Get all tasks for these lots
-        List<Task> allTasks = assignedLots.stream()
-                .flatMap(lot -> taskRepository.findByLotId(lot.getLotIdentifier().getLotId()).stream())
-                .toList();
+        List<Task> allTasks = taskRepository.findByLotIdIn(assignedLots.stream()
+                .map(lot -> lot.getLotIdentifier().getLotId())
+                .toList());
         
         log.info("Found {} tasks for user's {} assigned lots", allTasks.size(), assignedLots.size());
         return taskMapper.entitiesToResponseDTOs(allTasks);
@@ -284,4 +318,77 @@ public class TaskServiceImpl implements TaskService {
 
         return user;
     }
+
+    // Keyset pagination: the cursor encodes the id of the last task returned, and the next page
+    // starts strictly after it. One extra row is fetched to know whether another page exists.
+    private TaskPageResponseDTO findTasksPage(TaskFilterDTO filter, String cursor, int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new InvalidInputException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        if (filter.getDueFrom() != null && filter.getDueTo() != null && filter.getDueFrom().isAfter(filter.getDueTo())) {
+            throw new InvalidInputException("dueFrom cannot be after dueTo");
+        }
+
+        Integer afterId = decodeCursor(cursor);
+        List<Task> rows = taskRepository.findBy(taskSpecification(filter, afterId),
+                query -> query.sortBy(Sort.by(Sort.Direction.ASC, "id")).limit(size + 1).all());
+
+        boolean hasMore = rows.size() > size;
+        List<Task> page = hasMore ? rows.subList(0, size) : rows;
+
+        return TaskPageResponseDTO.builder()
+                .tasks(taskMapper.entitiesToResponseDTOs(page))
+                .nextCursor(hasMore ? encodeCursor(page.get(page.size() - 1).getId()) : null)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    private Specification<Task> taskSpecification(TaskFilterDTO filter, Integer afterId) {
+        return (root, query, criteriaBuilder) -> {
+            List<Predicate> predicates = new ArrayList<>();
+
+            if (afterId != null) {
+                predicates.add(criteriaBuilder.greaterThan(root.get("id"), afterId));
+            }
+            if (filter.getStatus() != null) {
+                predicates.add(criteriaBuilder.equal(root.get("taskStatus"), filter.getStatus()));
+            }
+            if (filter.getPriority() != null) {
+                predicates.add(criteriaBuilder.equal(root.get("taskPriority"), filter.getPriority()));
+            }
+            if (filter.getLotId() != null) {
+                predicates.add(criteriaBuilder.equal(root.get("lotId"), filter.getLotId()));
+            }
+            if (filter.getScheduleId() != null && !filter.getScheduleId().isBlank()) {
+                predicates.add(criteriaBuilder.equal(root.get("scheduleId"), filter.getScheduleId()));
+            }
+            if (filter.getAssigneeId() != null) {
+                predicates.add(criteriaBuilder.equal(
+                        root.get("assignedTo").get("userIdentifier").get("userId"), filter.getAssigneeId()));
+            }
+            if (filter.getDueFrom() != null) {
+                predicates.add(criteriaBuilder.greaterThanOrEqualTo(root.get("periodEnd"), filter.getDueFrom()));
+            }
+            if (filter.getDueTo() != null) {
+                predicates.add(criteriaBuilder.lessThanOrEqualTo(root.get("periodEnd"), filter.getDueTo()));
+            }
+
+            return criteriaBuilder.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    private String encodeCursor(Integer id) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(id.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Integer decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            return Integer.valueOf(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidInputException("Invalid cursor: " + cursor);
+        }
+    }
 }
@@ -8,6 +8,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.NonNull;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.ColumnDefault;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -65,6 +66,25 @@ public class Lot {
     @Column(nullable = false, columnDefinition = "int default 59")
     private Integer remainingUpcomingWork = 59;
 
+    // Task progress counters, maintained through LotRepository by ProjectProgressService.
+    // Not updatable through the entity so a stale instance can never overwrite them.
+    @ColumnDefault("0")
+    @Column(nullable = false, updatable = false)
+    private Integer totalTasks = 0;
+
+    @ColumnDefault("0")
+    @Column(nullable = false, updatable = false)
+    private Integer completedTasks = 0;
+
+    @ColumnDefault("0")
+    @Column(nullable = false, updatable = false)
+    private Double remainingHours = 0.0;
+
+    // False on rows that predate the counters, until ProjectProgressService has counted their tasks
+    @ColumnDefault("false")
+    @Column(nullable = false, updatable = false)
+    private Boolean taskCountersInitialized = true;
+
     public Lot(@NonNull LotIdentifier lotIdentifier, @NonNull String lotNumber, @NonNull String civicAddress, Float price, @NonNull String dimensionsSquareFeet, @NonNull String dimensionsSquareMeters, @NonNull LotStatus lotStatus) {
         this.lotIdentifier = lotIdentifier;
         this.lotNumber = lotNumber;
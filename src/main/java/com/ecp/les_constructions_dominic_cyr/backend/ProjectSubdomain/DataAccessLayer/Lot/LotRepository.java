@@ -2,16 +2,24 @@ package com.ecp.les_constructions_dominic_cyr.backend.ProjectSubdomain.DataAcces
 
 import com.ecp.les_constructions_dominic_cyr.backend.UsersSubdomain.DataAccessLayer.Users;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
 @Repository
 public interface LotRepository extends JpaRepository<Lot, Integer> {
     Lot findByLotIdentifier_LotId(UUID lotId);
+
+    List<Lot> findByLotIdentifier_LotIdIn(Collection<UUID> lotIds);
+
+    @Query("SELECT DISTINCT l FROM Lot l LEFT JOIN FETCH l.assignedUsers LEFT JOIN FETCH l.project " +
+           "WHERE l.lotIdentifier.lotId IN :lotIds")
+    List<Lot> findWithAssignedUsersByLotIds(@Param("lotIds") Collection<UUID> lotIds);
     
     @Query("SELECT l FROM Lot l LEFT JOIN FETCH l.assignedUsers WHERE l.lotIdentifier.lotId = :lotId")
     Lot findByLotIdentifier_LotIdWithUsers(@Param("lotId") UUID lotId);
@@ -19,6 +27,40 @@ public interface LotRepository extends JpaRepository<Lot, Integer> {
     @Query("SELECT l FROM Lot l WHERE l.project.projectIdentifier = :projectIdentifier ORDER BY l.lotIdentifier.lotId ASC")
     List<Lot> findByProject_ProjectIdentifier(@Param("projectIdentifier") String projectIdentifier);
 
+    // Remaining upcoming work per project, used as the progress fallback when no tasks exist
+    @Query("SELECT l.project.projectIdentifier AS projectIdentifier, " +
+           "COUNT(l) AS lotCount, " +
+           "SUM(COALESCE(l.remainingUpcomingWork, :defaultUpcomingWork)) AS remainingWork " +
+           "FROM Lot l WHERE l.project.projectIdentifier IN :projectIdentifiers " +
+           "GROUP BY l.project.projectIdentifier")
+    List<LotWorkCount> countWorkByProjectIdentifiers(
+            @Param("projectIdentifiers") Collection<String> projectIdentifiers,
+            @Param("defaultUpcomingWork") Integer defaultUpcomingWork);
+
+    // Persisted task progress counters, see ProjectProgressService
+    @Modifying
+    @Query("UPDATE Lot l SET l.totalTasks = l.totalTasks + :totalDelta, " +
+           "l.completedTasks = l.completedTasks + :completedDelta, " +
+           "l.remainingHours = l.remainingHours + :hoursDelta " +
+           "WHERE l.lotIdentifier.lotId = :lotId")
+    int adjustTaskCounters(@Param("lotId") UUID lotId,
+                           @Param("totalDelta") int totalDelta,
+                           @Param("completedDelta") int completedDelta,
+                           @Param("hoursDelta") double hoursDelta);
+
+    List<Lot> findByTaskCountersInitializedFalse();
+
+    @Modifying
+    @Query("UPDATE Lot l SET l.totalTasks = :totalTasks, " +
+           "l.completedTasks = :completedTasks, " +
+           "l.remainingHours = :remainingHours, " +
+           "l.taskCountersInitialized = true " +
+           "WHERE l.lotIdentifier.lotId = :lotId")
+    int setTaskCounters(@Param("lotId") UUID lotId,
+                        @Param("totalTasks") int totalTasks,
+                        @Param("completedTasks") int completedTasks,
+                        @Param("remainingHours") double remainingHours);
+
     // Find lots by assigned user (using the ManyToMany relationship)
     @Query("SELECT l FROM Lot l JOIN l.assignedUsers u WHERE u = :user ORDER BY l.lotIdentifier.lotId ASC")
     List<Lot> findByAssignedUser(@Param("user") Users user);
@@ -0,0 +1,14 @@
+package com.ecp.les_constructions_dominic_cyr.backend.ProjectSubdomain.DataAccessLayer.Lot;
+
+/**
+ * Aggregated remaining upcoming work for all lots of a project, used as the
+ * progress fallback when a project has no tasks yet.
+ */
+public interface LotWorkCount {
+
+    String getProjectIdentifier();
+
+    Long getLotCount();
+
+    Long getRemainingWork();
+}
@@ -3,13 +3,16 @@ package com.ecp.les_constructions_dominic_cyr.backend.ProjectSubdomain.DataAcces
 import com.ecp.les_constructions_dominic_cyr.backend.ProjectSubdomain.DataAccessLayer.Lot.Lot;
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.ColumnDefault;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "projects")
+@Table(name = "projects", indexes = {
+        @Index(name = "idx_projects_featured_rank", columnList = "featured_rank, project_id")
+})
 @Data
 public class Project {
     @Id
@@ -74,6 +77,30 @@ public class Project {
 
     private Integer progressPercentage;
 
+    // Listings sort by this rank descending before any other key; 0 means not featured
+    @ColumnDefault("0")
+    @Column(name = "featured_rank", nullable = false)
+    private Integer featuredRank = 0;
+
+    // Task progress counters, maintained through ProjectRepository by ProjectProgressService.
+    // Not updatable through the entity so a stale instance can never overwrite them.
+    @ColumnDefault("0")
+    @Column(nullable = false, updatable = false)
+    private Integer totalTasks = 0;
+
+    @ColumnDefault("0")
+    @Column(nullable = false, updatable = false)
+    private Integer completedTasks = 0;
+
+    @ColumnDefault("0")
+    @Column(nullable = false, updatable = false)
+    private Double remainingHours = 0.0;
+
+    // False on rows that predate the counters, until ProjectProgressService has counted their tasks
+    @ColumnDefault("false")
+    @Column(nullable = false, updatable = false)
+    private Boolean taskCountersInitialized = true;
+
     @Column(updatable = false)
     private LocalDateTime createdAt;
 
@@ -2,6 +2,9 @@ package com.ecp. les_constructions_dominic_cyr.backend.ProjectSubdomain.DataAcce
 
 import org.springframework.data. jpa.repository.JpaRepository;
 import org.springframework.data. jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import java.time.LocalDate;
 import java. util.List;
 import java. util.Optional;
@@ -12,4 +15,28 @@ public interface ProjectRepository extends JpaRepository<Project, Long>, JpaSpec
     List<Project> findByCustomerId(String customerId);
     List<Project> findByStartDateBetween(LocalDate startDate, LocalDate endDate);
     List<Project> findByEndDateBetween(LocalDate startDate, LocalDate endDate);
+
+    // Persisted task progress counters, see ProjectProgressService
+    @Modifying
+    @Query("UPDATE Project p SET p.totalTasks = p.totalTasks + :totalDelta, " +
+           "p.completedTasks = p.completedTasks + :completedDelta, " +
+           "p.remainingHours = p.remainingHours + :hoursDelta " +
+           "WHERE p.projectIdentifier = :projectIdentifier")
+    int adjustTaskCounters(@Param("projectIdentifier") String projectIdentifier,
+                           @Param("totalDelta") int totalDelta,
+                           @Param("completedDelta") int completedDelta,
+                           @Param("hoursDelta") double hoursDelta);
+
+    List<Project> findByTaskCountersInitializedFalse();
+
+    @Modifying
+    @Query("UPDATE Project p SET p.totalTasks = :totalTasks, " +
+           "p.completedTasks = :completedTasks, " +
+           "p.remainingHours = :remainingHours, " +
+           "p.taskCountersInitialized = true " +
+           "WHERE p.projectIdentifier = :projectIdentifier")
+    int setTaskCounters(@Param("projectIdentifier") String projectIdentifier,
+                        @Param("totalTasks") int totalTasks,
+                        @Param("completedTasks") int completedTasks,
+                        @Param("remainingHours") double remainingHours);
 }
\ No newline at end of file
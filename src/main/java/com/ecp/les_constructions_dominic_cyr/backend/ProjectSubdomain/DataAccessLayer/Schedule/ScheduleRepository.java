@@ -6,6 +6,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -15,6 +16,12 @@ public interface ScheduleRepository extends JpaRepository<Schedule, Long> {
 
     Optional<Schedule> findByScheduleIdentifier(String scheduleIdentifier);
 
+    @Query("SELECT s.project.projectIdentifier FROM Schedule s WHERE s.scheduleIdentifier = :scheduleIdentifier")
+    Optional<String> findProjectIdentifierByScheduleIdentifier(@Param("scheduleIdentifier") String scheduleIdentifier);
+
+    @Query("SELECT s FROM Schedule s LEFT JOIN FETCH s.project WHERE s.scheduleIdentifier IN :scheduleIdentifiers")
+    List<Schedule> findByScheduleIdentifierInWithProject(@Param("scheduleIdentifiers") Collection<String> scheduleIdentifiers);
+
     List<Schedule> findByScheduleStartDateBetween(LocalDate startDate, LocalDate endDate);
 
     @Query("SELECT s FROM Schedule s WHERE s.scheduleStartDate >= :startDate AND s.scheduleStartDate <= :endDate ORDER BY s.scheduleStartDate ASC")
@@ -13,7 +13,15 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "tasks")
+@Table(name = "tasks", indexes = {
+        // Keyset pagination orders by id, so each filter column is paired with it
+        @Index(name = "idx_tasks_assignee_id", columnList = "assigned_user_id, id"),
+        @Index(name = "idx_tasks_status_id", columnList = "task_status, id"),
+        @Index(name = "idx_tasks_priority_id", columnList = "task_priority, id"),
+        @Index(name = "idx_tasks_lot_id", columnList = "lot_id, id"),
+        @Index(name = "idx_tasks_schedule_id", columnList = "schedule_id, id"),
+        @Index(name = "idx_tasks_period_end_id", columnList = "period_end, id")
+})
 @Data
 @Builder
 @NoArgsConstructor
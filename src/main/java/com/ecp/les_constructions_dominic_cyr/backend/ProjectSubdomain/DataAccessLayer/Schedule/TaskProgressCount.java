@@ -0,0 +1,23 @@
+package com.ecp.les_constructions_dominic_cyr.backend.ProjectSubdomain.DataAccessLayer.Schedule;
+
+import java.util.UUID;
+
+/**
+ * Aggregated task counts produced by the grouped progress queries in {@link TaskRepository}.
+ */
+public interface TaskProgressCount {
+
+    Long getTotalTasks();
+
+    Long getCompletedTasks();
+
+    Double getRemainingHours();
+
+    interface ByProject extends TaskProgressCount {
+        String getProjectIdentifier();
+    }
+
+    interface ByLot extends TaskProgressCount {
+        UUID getLotId();
+    }
+}
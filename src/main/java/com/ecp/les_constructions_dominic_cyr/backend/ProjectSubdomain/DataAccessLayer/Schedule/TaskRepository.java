@@ -2,16 +2,19 @@ package com.ecp.les_constructions_dominic_cyr.backend.ProjectSubdomain.DataAcces
 
 import com.ecp.les_constructions_dominic_cyr.backend.UsersSubdomain.DataAccessLayer.Users;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
-public interface TaskRepository extends JpaRepository<Task, Integer> {
+public interface TaskRepository extends JpaRepository<Task, Integer>, JpaSpecificationExecutor<Task> {
 
     Optional<Task> findByTaskIdentifier_TaskId(String taskId);
 
@@ -38,6 +41,38 @@ public interface TaskRepository extends JpaRepository<Task, Integer> {
     // Find tasks by lot_id
     List<Task> findByLotId(UUID lotId);
 
+    List<Task> findByLotIdIn(Collection<UUID> lotIds);
+
     // Find completed tasks by lot_id
     List<Task> findByLotIdAndTaskStatus(UUID lotId, TaskStatus taskStatus);
+
+    @Modifying
+    @Query("UPDATE Task t SET t.lotId = null WHERE t.lotId = :lotId")
+    int detachFromLot(@Param("lotId") UUID lotId);
+
+    // Progress aggregates, used to rebuild the persisted lot and project counters
+    @Query("SELECT s.project.projectIdentifier AS projectIdentifier, " +
+           "COUNT(t) AS totalTasks, " +
+           "SUM(CASE WHEN t.taskStatus = :completedStatus THEN 1 ELSE 0 END) AS completedTasks, " +
+           "SUM(CASE WHEN (t.taskStatus IS NULL OR t.taskStatus <> :completedStatus) " +
+           "AND COALESCE(t.estimatedHours, 0.0) > COALESCE(t.hoursSpent, 0.0) " +
+           "THEN COALESCE(t.estimatedHours, 0.0) - COALESCE(t.hoursSpent, 0.0) ELSE 0.0 END) AS remainingHours " +
+           "FROM Task t, Schedule s WHERE t.scheduleId = s.scheduleIdentifier " +
+           "AND s.project.projectIdentifier IN :projectIdentifiers " +
+           "GROUP BY s.project.projectIdentifier")
+    List<TaskProgressCount.ByProject> countProgressByProjectIdentifiers(
+            @Param("projectIdentifiers") Collection<String> projectIdentifiers,
+            @Param("completedStatus") TaskStatus completedStatus);
+
+    @Query("SELECT t.lotId AS lotId, " +
+           "COUNT(t) AS totalTasks, " +
+           "SUM(CASE WHEN t.taskStatus = :completedStatus THEN 1 ELSE 0 END) AS completedTasks, " +
+           "SUM(CASE WHEN (t.taskStatus IS NULL OR t.taskStatus <> :completedStatus) " +
+           "AND COALESCE(t.estimatedHours, 0.0) > COALESCE(t.hoursSpent, 0.0) " +
+           "THEN COALESCE(t.estimatedHours, 0.0) - COALESCE(t.hoursSpent, 0.0) ELSE 0.0 END) AS remainingHours " +
+           "FROM Task t WHERE t.lotId IN :lotIds " +
+           "GROUP BY t.lotId")
+    List<TaskProgressCount.ByLot> countProgressByLotIds(
+            @Param("lotIds") Collection<UUID> lotIds,
+            @Param("completedStatus") TaskStatus completedStatus);
 }
@@ -37,6 +37,7 @@ public class ProjectMapper {
         // Deprecated single lot_identifier column: DB may have NOT NULL; set empty string so insert succeeds
         project.setLotIdentifier("");
         project.setProgressPercentage(requestModel.getProgressPercentage());
+        project.setFeaturedRank(requestModel.getFeaturedRank() != null ? requestModel.getFeaturedRank() : 0);
         project.setLocation(requestModel.getLocation());
         return project;
     }
@@ -60,6 +61,10 @@ public class ProjectMapper {
                 .salespersonIds(project.getSalespersonIds() != null ? new ArrayList<>(project.getSalespersonIds()) : new ArrayList<>())
                 .lotIdentifiers(project.getLotIdentifiers() != null ? new ArrayList<>(project.getLotIdentifiers()) : new ArrayList<>())
                 .progressPercentage(project.getProgressPercentage())
+                .featuredRank(project.getFeaturedRank())
+                .totalTasks(project.getTotalTasks())
+                .completedTasks(project.getCompletedTasks())
+                .remainingHours(project.getRemainingHours())
                 .location(project.getLocation())
                 .build();
     }
@@ -113,6 +118,9 @@ public class ProjectMapper {
         if (requestModel.getProgressPercentage() != null) {
             project.setProgressPercentage(requestModel.getProgressPercentage());
         }
+        if (requestModel.getFeaturedRank() != null) {
+            project.setFeaturedRank(requestModel.getFeaturedRank());
+        }
         if (requestModel.getLocation() != null) {
             project.setLocation(requestModel.getLocation());
         }
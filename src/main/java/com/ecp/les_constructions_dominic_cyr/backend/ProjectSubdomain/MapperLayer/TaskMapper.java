@@ -2,6 +2,7 @@ package com.ecp.les_constructions_dominic_cyr.backend.ProjectSubdomain.MapperLay
 
 import com.ecp.les_constructions_dominic_cyr.backend.ProjectSubdomain.DataAccessLayer.Lot.Lot;
 import com.ecp.les_constructions_dominic_cyr.backend.ProjectSubdomain.DataAccessLayer.Lot.LotRepository;
+import com.ecp.les_constructions_dominic_cyr.backend.ProjectSubdomain.DataAccessLayer.Schedule.Schedule;
 import com.ecp.les_constructions_dominic_cyr.backend.ProjectSubdomain.DataAccessLayer.Schedule.ScheduleRepository;
 import com.ecp.les_constructions_dominic_cyr.backend.ProjectSubdomain.DataAccessLayer.Schedule.Task;
 import com.ecp.les_constructions_dominic_cyr.backend.ProjectSubdomain.DataAccessLayer.Schedule.TaskIdentifier;
@@ -9,13 +10,20 @@ import com.ecp.les_constructions_dominic_cyr.backend.ProjectSubdomain.DataAccess
 import com.ecp.les_constructions_dominic_cyr.backend.ProjectSubdomain.PresentationLayer.Schedule.TaskDetailResponseDTO;
 import com.ecp.les_constructions_dominic_cyr.backend.ProjectSubdomain.PresentationLayer.Schedule.TaskRequestDTO;
 import com.ecp.les_constructions_dominic_cyr.backend.UsersSubdomain.DataAccessLayer.Users;
+import com.ecp.les_constructions_dominic_cyr.backend.UsersSubdomain.DataAccessLayer.UsersRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDate;
 import java.time.ZoneId;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Component
@@ -24,8 +32,60 @@ public class TaskMapper {
 
     private final ScheduleRepository scheduleRepository;
     private final LotRepository lotRepository;
+    private final UsersRepository usersRepository;
 
     public TaskDetailResponseDTO entityToResponseDTO(Task task) {
+        Schedule schedule = task.getScheduleId() != null
+                ? scheduleRepository.findByScheduleIdentifier(task.getScheduleId()).orElse(null)
+                : null;
+        Lot lot = task.getLotId() != null ? lotRepository.findByLotIdentifier_LotId(task.getLotId()) : null;
+        return toResponseDTO(task, schedule, lot);
+    }
+
+    /**
+     * Maps a list of tasks with a fixed number of queries: referenced schedules (with their
+     * project), lots and assigned users are each prefetched with a single IN query.
+     */
+    public List<TaskDetailResponseDTO> entitiesToResponseDTOs(List<Task> tasks) {
+        if (tasks.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        Set<String> scheduleIds = tasks.stream()
+                .map(Task::getScheduleId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<String, Schedule> schedulesById = scheduleIds.isEmpty() ? Map.of()
+                : scheduleRepository.findByScheduleIdentifierInWithProject(scheduleIds).stream()
+                        .collect(Collectors.toMap(Schedule::getScheduleIdentifier, Function.identity()));
+
+        Set<UUID> lotIds = tasks.stream()
+                .map(Task::getLotId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<UUID, Lot> lotsById = lotIds.isEmpty() ? Map.of()
+                : lotRepository.findByLotIdentifier_LotIdIn(lotIds).stream()
+                        .collect(Collectors.toMap(lot -> lot.getLotIdentifier().getLotId(), Function.identity()));
+
+        // Loading the users into the persistence context lets the lazy assignedTo proxies
+        // initialize without issuing one query each.
+        Set<UUID> userIds = tasks.stream()
+                .map(Task::getAssignedTo)
+                .filter(user -> user != null && user.getUserIdentifier() != null)
+                .map(user -> user.getUserIdentifier().getUserId())
+                .collect(Collectors.toSet());
+        if (!userIds.isEmpty()) {
+            usersRepository.findByUserIdentifier_UserIdIn(userIds);
+        }
+
+        return tasks.stream()
+                .map(task -> toResponseDTO(task,
+                        task.getScheduleId() != null ? schedulesById.get(task.getScheduleId()) : null,
+                        task.getLotId() != null ? lotsById.get(task.getLotId()) : null))
+                .collect(Collectors.toList());
+    }
+
+    private TaskDetailResponseDTO toResponseDTO(Task task, Schedule schedule, Lot lot) {
         TaskDetailResponseDTO.TaskDetailResponseDTOBuilder builder = TaskDetailResponseDTO.builder()
                 .taskId(task.getTaskIdentifier() != null ? task.getTaskIdentifier().getTaskId() : null)
                 .taskStatus(task.getTaskStatus())
@@ -43,20 +103,15 @@ public class TaskMapper {
                     ? task.getAssignedTo().getFirstName() + " " + task.getAssignedTo().getLastName() : null)
                 .scheduleId(task.getScheduleId());
         
-        // Fetch schedule to get project information
-        if (task.getScheduleId() != null) {
-            scheduleRepository.findByScheduleIdentifier(task.getScheduleId()).ifPresent(schedule -> {
-                if (schedule.getProject() != null) {
-                    builder.projectIdentifier(schedule.getProject().getProjectIdentifier())
-                           .projectName(schedule.getProject().getProjectName());
-                }
-            });
+        // Schedule carries the project information
+        if (schedule != null && schedule.getProject() != null) {
+            builder.projectIdentifier(schedule.getProject().getProjectIdentifier())
+                   .projectName(schedule.getProject().getProjectName());
         }
         
         // Add lot information
         if (task.getLotId() != null) {
             builder.lotId(task.getLotId().toString());
-            Lot lot = lotRepository.findByLotIdentifier_LotId(task.getLotId());
             if (lot != null) {
                 builder.lotNumber(lot.getLotNumber());
             } else {
@@ -67,12 +122,6 @@ public class TaskMapper {
         return builder.build();
     }
 
-    public List<TaskDetailResponseDTO> entitiesToResponseDTOs(List<Task> tasks) {
-        return tasks.stream()
-                .map(this::entityToResponseDTO)
-                .collect(Collectors.toList());
-    }
-
     public Task requestDTOToEntity(TaskRequestDTO requestDTO, Users assignedUser) {
         // Auto-transition from TO_DO to IN_PROGRESS when hours are logged during creation
         TaskStatus taskStatus = requestDTO.getTaskStatus();
@@ -0,0 +1,15 @@
+package com.ecp.les_constructions_dominic_cyr.backend.ProjectSubdomain.PresentationLayer.Lot;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+public class LotAssignmentRequestModel {
+    private List<String> lotIds;
+    private List<String> userIds;
+    // When true each lot's assignments become exactly userIds; otherwise userIds are added
+    private boolean replaceExisting;
+}
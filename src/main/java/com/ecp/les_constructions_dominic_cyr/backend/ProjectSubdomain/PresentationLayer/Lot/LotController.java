@@ -13,6 +13,7 @@ import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -138,6 +139,14 @@ public class LotController {
         validateUUID(lotId);
         return ResponseEntity.ok().body(lotService.updateLot(lotRequestModel, lotId));
     }
+
+    @PostMapping("/assignments")
+    @PreAuthorize("hasAuthority('ROLE_OWNER')")
+    public ResponseEntity<List<LotResponseModel>> assignUsersToLots(@PathVariable String projectIdentifier,
+                                                                    @RequestBody LotAssignmentRequestModel request){
+        return ResponseEntity.ok().body(lotService.assignUsersToLots(projectIdentifier, request));
+    }
+
     @DeleteMapping("/{lotId}")
     public ResponseEntity<Void> deleteLot(@PathVariable String lotId){
         if(lotId.length() != UUID_LENGTH){
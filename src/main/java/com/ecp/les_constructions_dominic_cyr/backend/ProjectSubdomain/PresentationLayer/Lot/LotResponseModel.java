@@ -35,6 +35,9 @@ public class LotResponseModel {
     private String projectName;
 
     private Integer progressPercentage;
+    private Integer totalTasks;
+    private Integer completedTasks;
+    private Double remainingHours;
 
     @Data
     @Builder
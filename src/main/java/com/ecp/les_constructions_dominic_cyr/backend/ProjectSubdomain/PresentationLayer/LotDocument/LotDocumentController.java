@@ -1,5 +1,7 @@
 package com.ecp.les_constructions_dominic_cyr.backend.ProjectSubdomain.PresentationLayer.LotDocument;
 
+import com.ecp.les_constructions_dominic_cyr.backend.FilesSubdomain.RangedFileDownload;
+import com.ecp.les_constructions_dominic_cyr.backend.ProjectSubdomain.BusinessLayer.LotDocument.LotDocumentDownload;
 import com.ecp.les_constructions_dominic_cyr.backend.ProjectSubdomain.BusinessLayer.LotDocument.LotDocumentService;
 import com.ecp.les_constructions_dominic_cyr.backend.ProjectSubdomain.DataAccessLayer.Lot.Lot;
 import com.ecp.les_constructions_dominic_cyr.backend.ProjectSubdomain.DataAccessLayer.Lot.LotRepository;
@@ -8,8 +10,6 @@ import com.ecp.les_constructions_dominic_cyr.backend.UsersSubdomain.Presentation
 import com.ecp.les_constructions_dominic_cyr.backend.utils.Exception.InvalidInputException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.core.io.ByteArrayResource;
-import org.springframework.core.io.Resource;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
@@ -22,6 +22,7 @@ import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.Collection;
 import java.util.List;
@@ -36,6 +37,7 @@ import java.util.UUID;
 public class LotDocumentController {
 
     private final LotDocumentService lotDocumentService;
+    private final RangedFileDownload rangedFileDownload;
     private final UserService userService;
     private final LotRepository lotRepository;
 
@@ -69,7 +71,7 @@ public class LotDocumentController {
      * Only Owner or Contractor assigned to lot can upload.
      */
     @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
-    public ResponseEntity<List<LotDocumentResponseModel>> uploadDocuments(
+    public ResponseEntity<List<LotDocumentUploadResultModel>> uploadDocuments(
             @PathVariable String lotId,
             @RequestParam("files") MultipartFile[] files,
             @AuthenticationPrincipal Jwt jwt,
@@ -89,13 +91,20 @@ public class LotDocumentController {
         // Validate user is authenticated and has upload permissions
         validateLotAccess(lotId, jwt, authentication);
 
-        List<LotDocumentResponseModel> uploadedDocuments = lotDocumentService.uploadDocuments(
+        List<LotDocumentUploadResultModel> results = lotDocumentService.uploadDocuments(
                 lotId,
                 files,
                 uploaderUserId
         );
 
-        return ResponseEntity.status(HttpStatus.CREATED).body(uploadedDocuments);
+        // 201 when every file was stored, 207 when only some were, 502 when files-service took none
+        long failed = results.stream()
+                .filter(result -> result.getStatus() == LotDocumentUploadResultModel.Status.FAILED)
+                .count();
+        HttpStatus status = failed == 0 ? HttpStatus.CREATED
+                : failed == results.size() ? HttpStatus.BAD_GATEWAY
+                : HttpStatus.MULTI_STATUS;
+        return ResponseEntity.status(status).body(results);
     }
 
     /**
@@ -103,9 +112,10 @@ public class LotDocumentController {
      * Download a document. Any team member assigned to lot can download.
      */
     @GetMapping("/{documentId}/download")
-    public ResponseEntity<Resource> downloadDocument(
+    public ResponseEntity<StreamingResponseBody> downloadDocument(
             @PathVariable String lotId,
             @PathVariable UUID documentId,
+            @RequestHeader HttpHeaders headers,
             @AuthenticationPrincipal Jwt jwt,
             Authentication authentication
     ) {
@@ -119,15 +129,9 @@ public class LotDocumentController {
         // Validate user is authenticated and assigned to lot
         validateLotAccess(lotId, jwt, authentication);
 
-        byte[] fileData = lotDocumentService.downloadDocument(lotId, documentId, requestingUserId);
-        String contentType = lotDocumentService.getDocumentContentType(lotId, documentId);
-
-        ByteArrayResource resource = new ByteArrayResource(fileData);
-
-        return ResponseEntity.ok()
-                .contentType(MediaType.parseMediaType(contentType))
-                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment")
-                .body(resource);
+        LotDocumentDownload download = lotDocumentService.getDocumentForDownload(lotId, documentId, requestingUserId);
+        return rangedFileDownload.respond(headers, download.storageKey(), download.fileName(), download.mimeType(),
+                download.eTag(), download.sizeBytes());
     }
 
     /**
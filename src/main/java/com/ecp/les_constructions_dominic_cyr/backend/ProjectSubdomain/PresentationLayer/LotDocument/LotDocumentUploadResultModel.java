@@ -0,0 +1,30 @@
+package com.ecp.les_constructions_dominic_cyr.backend.ProjectSubdomain.PresentationLayer.LotDocument;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of one file in a batch upload. Failed files carry an error and no document, and do
+ * not prevent the other files of the batch from being stored.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class LotDocumentUploadResultModel {
+
+    public enum Status {
+        UPLOADED,
+        FAILED
+    }
+
+    private String fileName;
+    private Long sizeBytes;
+    private Status status;
+    private LotDocumentResponseModel document;
+    private String error;
+}
@@ -1,5 +1,6 @@
 package com.ecp.les_constructions_dominic_cyr.backend.ProjectSubdomain.PresentationLayer.Project;
 
+import com.ecp.les_constructions_dominic_cyr.backend.ProjectSubdomain.BusinessLayer.Project.ProjectProgressService;
 import com.ecp.les_constructions_dominic_cyr.backend.ProjectSubdomain.BusinessLayer.Project.ProjectService;
 import com.ecp.les_constructions_dominic_cyr.backend.ProjectSubdomain.DataAccessLayer.Project.ProjectStatus;
 import com.ecp.les_constructions_dominic_cyr.backend.UsersSubdomain.BusinessLayer.UserService;
@@ -8,13 +9,19 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.DigestUtils;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.web.bind.annotation.*;
 import com.ecp.les_constructions_dominic_cyr.backend.ProjectSubdomain.DataAccessLayer.Lot.LotRepository;
+import java.nio.charset.StandardCharsets;
 import java.util.UUID;
 import java.time.LocalDate;
 import java.util.HashSet;
@@ -31,7 +38,9 @@ public class ProjectController {
     private final ProjectService projectService;
     private final UserService userService;
     private final LotRepository lotRepository;
+    private final ProjectProgressService projectProgressService;
     private static final SimpleGrantedAuthority ROLE_OWNER = new SimpleGrantedAuthority("ROLE_OWNER");
+    private static final int MAX_PAGE_SIZE = 100;
 
     @GetMapping
     public ResponseEntity<List<ProjectResponseModel>> getAllProjects(
@@ -74,6 +83,63 @@ public class ProjectController {
         return ResponseEntity.ok(projects);
     }
 
+    /**
+     * Paged variant of {@link #getAllProjects}. Sorting and the featured-first pin are applied by
+     * the database, and the response carries an ETag so unchanged pages revalidate with a 304.
+     * The tag is computed from the page as built, so a 304 saves the transfer and the client's
+     * re-render, not the queries behind it.
+     */
+    @GetMapping("/page")
+    public ResponseEntity<Page<ProjectResponseModel>> getProjectsPage(
+            @RequestParam(required = false) ProjectStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) String customerId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String sortBy,
+            @RequestParam(defaultValue = "asc") String direction,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @AuthenticationPrincipal Jwt jwt,
+            Authentication authentication
+    ) {
+        boolean isOwner = isOwner(authentication);
+
+        if (!isOwner && (jwt == null || authentication == null)) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        if (page < 0 || size < 1 || size > MAX_PAGE_SIZE) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        // Non-owners only see projects where they are assigned to a lot
+        Set<String> visibleProjects = null;
+        if (!isOwner) {
+            String auth0UserId = jwt.getSubject();
+            try {
+                visibleProjects = getProjectIdentifiersForUserLots(userService.getUserByAuth0Id(auth0UserId).getUserIdentifier());
+            } catch (Exception e) {
+                log.warn("Authenticated user not found in database. Auth0 ID: {}", auth0UserId, e);
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+            }
+        }
+
+        Page<ProjectResponseModel> projects = projectService.getProjectsPage(
+                status, startDate, endDate, customerId, isOwner, visibleProjects,
+                PageRequest.of(page, size, sortBy == null || sortBy.isBlank()
+                        ? Sort.unsorted()
+                        : Sort.by("desc".equalsIgnoreCase(direction) ? Sort.Direction.DESC : Sort.Direction.ASC, sortBy)));
+
+        // Hashes every field the client is shown. Projects' updatedAt would not do: task progress
+        // counters and lot assignments change without touching it
+        String eTag = "W/\"" + DigestUtils.md5DigestAsHex(
+                (projects.getTotalElements() + ":" + projects.getContent()).getBytes(StandardCharsets.UTF_8)) + "\"";
+        if (eTag.equals(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+        return ResponseEntity.ok().eTag(eTag).body(projects);
+    }
+
     private boolean isOwner(Authentication authentication) {
         if (authentication == null) {
             return false;
@@ -228,6 +294,28 @@ public class ProjectController {
         return ResponseEntity.ok(updatedProject);
     }
 
+    // Drift repair for the persisted task progress counters
+    @PostMapping("/progress/rebuild")
+    public ResponseEntity<Void> rebuildAllProgressCounters(Authentication authentication) {
+        if (!isOwner(authentication)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        projectProgressService.rebuildAllCounters();
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping("/{projectIdentifier}/progress/rebuild")
+    public ResponseEntity<Void> rebuildProgressCounters(
+            @PathVariable String projectIdentifier,
+            Authentication authentication
+    ) {
+        if (!isOwner(authentication)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        projectProgressService.rebuildProjectCounters(projectIdentifier);
+        return ResponseEntity.noContent().build();
+    }
+
     @GetMapping("/{projectIdentifier}/activity-log")
     public ResponseEntity<List<ProjectActivityLogResponseModel>> getProjectActivityLog(
             @PathVariable String projectIdentifier
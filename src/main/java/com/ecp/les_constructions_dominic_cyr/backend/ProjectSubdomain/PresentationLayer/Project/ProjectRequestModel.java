@@ -28,5 +28,6 @@ public class ProjectRequestModel {
     private List<String> salespersonIds;
     private List<String> lotIdentifiers;
     private Integer progressPercentage;
+    private Integer featuredRank;
     private String location;
 }
\ No newline at end of file
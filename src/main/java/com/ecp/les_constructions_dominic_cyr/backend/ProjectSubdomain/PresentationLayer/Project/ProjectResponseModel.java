@@ -31,5 +31,9 @@ public class ProjectResponseModel {
     private List<String> salespersonIds;
     private List<String> lotIdentifiers;
     private Integer progressPercentage;
+    private Integer featuredRank;
+    private Integer totalTasks;
+    private Integer completedTasks;
+    private Double remainingHours;
     private String location;
 }
\ No newline at end of file
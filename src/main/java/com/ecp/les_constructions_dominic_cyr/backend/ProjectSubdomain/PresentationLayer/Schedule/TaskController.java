@@ -1,6 +1,7 @@
 package com.ecp.les_constructions_dominic_cyr.backend.ProjectSubdomain.PresentationLayer.Schedule;
 
 import com.ecp.les_constructions_dominic_cyr.backend.ProjectSubdomain.BusinessLayer.Schedule.TaskService;
+import com.ecp.les_constructions_dominic_cyr.backend.ProjectSubdomain.DataAccessLayer.Schedule.TaskPriority;
 import com.ecp.les_constructions_dominic_cyr.backend.ProjectSubdomain.DataAccessLayer.Schedule.TaskStatus;
 import com.ecp.les_constructions_dominic_cyr.backend.UsersSubdomain.BusinessLayer.UserService;
 import com.ecp.les_constructions_dominic_cyr.backend.UsersSubdomain.PresentationLayer.UserResponseModel;
@@ -8,6 +9,7 @@ import com.ecp.les_constructions_dominic_cyr.backend.utils.Exception.InvalidInpu
 import com.ecp.les_constructions_dominic_cyr.backend.utils.Exception.NotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -15,7 +17,9 @@ import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.UUID;
 
 @RestController
 @RequestMapping("/api/v1")
@@ -34,6 +38,25 @@ public class TaskController {
         return ResponseEntity.ok(tasks);
     }
 
+    @GetMapping("/owners/tasks/page")
+    public ResponseEntity<?> getOwnerTasksPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size,
+            @RequestParam(required = false) TaskStatus status,
+            @RequestParam(required = false) TaskPriority priority,
+            @RequestParam(required = false) UUID lotId,
+            @RequestParam(required = false) String scheduleId,
+            @RequestParam(required = false) UUID assigneeId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueTo) {
+        try {
+            TaskFilterDTO filter = new TaskFilterDTO(status, priority, lotId, scheduleId, assigneeId, dueFrom, dueTo);
+            return ResponseEntity.ok(taskService.getTasksPage(filter, cursor, size));
+        } catch (InvalidInputException ex) {
+            return new ResponseEntity<>(ex.getMessage(), HttpStatus.BAD_REQUEST);
+        }
+    }
+
     @GetMapping("/owners/tasks/{taskId}")
     public ResponseEntity<?> getOwnerTaskById(@PathVariable String taskId) {
         try {
@@ -128,6 +151,32 @@ public class TaskController {
         }
     }
 
+    // Pages the caller's own tasks, so only contractors; owners page all tasks through /owners/tasks/page
+    @GetMapping("/contractors/tasks/page")
+    @PreAuthorize("hasAuthority('ROLE_CONTRACTOR')")
+    public ResponseEntity<?> getContractorTasksPage(
+            @AuthenticationPrincipal Jwt jwt,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size,
+            @RequestParam(required = false) TaskStatus status,
+            @RequestParam(required = false) TaskPriority priority,
+            @RequestParam(required = false) UUID lotId,
+            @RequestParam(required = false) String scheduleId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueTo) {
+        try {
+            UserResponseModel user = userService.getUserByAuth0Id(jwt.getSubject());
+            TaskFilterDTO filter = new TaskFilterDTO(status, priority, lotId, scheduleId, null, dueFrom, dueTo);
+            return ResponseEntity.ok(taskService.getTasksPageForContractor(user.getUserIdentifier(), filter, cursor, size));
+        } catch (NotFoundException ex) {
+            log.error("User or contractor not found: {}", ex.getMessage());
+            return new ResponseEntity<>(ex.getMessage(), HttpStatus.NOT_FOUND);
+        } catch (InvalidInputException ex) {
+            log.error("Invalid input: {}", ex.getMessage());
+            return new ResponseEntity<>(ex.getMessage(), HttpStatus.BAD_REQUEST);
+        }
+    }
+
     @GetMapping("/contractors/tasks")
     public ResponseEntity<?> getContractorTasks(@RequestParam String contractorId) {
         try {
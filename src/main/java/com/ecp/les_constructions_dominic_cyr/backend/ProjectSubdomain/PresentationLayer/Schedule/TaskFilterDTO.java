@@ -0,0 +1,30 @@
+package com.ecp.les_constructions_dominic_cyr.backend.ProjectSubdomain.PresentationLayer.Schedule;
+
+import com.ecp.les_constructions_dominic_cyr.backend.ProjectSubdomain.DataAccessLayer.Schedule.TaskPriority;
+import com.ecp.les_constructions_dominic_cyr.backend.ProjectSubdomain.DataAccessLayer.Schedule.TaskStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Optional filters for the paginated task listing. Null fields are ignored; the due-date
+ * window matches tasks whose period end falls within [dueFrom, dueTo].
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskFilterDTO {
+
+    private TaskStatus status;
+    private TaskPriority priority;
+    private UUID lotId;
+    private String scheduleId;
+    private UUID assigneeId;
+    private LocalDate dueFrom;
+    private LocalDate dueTo;
+}
@@ -0,0 +1,24 @@
+package com.ecp.les_constructions_dominic_cyr.backend.ReportSubdomain.BusinessLayer;
+
+import com.ecp.les_constructions_dominic_cyr.backend.ReportSubdomain.DataAccessLayer.AnalyticsDailyRow;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Where {@link AnalyticsDayStore} downloads day-level analytics rows from, chosen with
+ * {@code reports.analytics.source}: {@code google} (default) or {@code synthetic}.
+ */
+public interface AnalyticsDataSource {
+
+    /**
+     * Short, stable name recorded with every stored day, so days from another source are downloaded again.
+     */
+    String name();
+
+    /**
+     * All rows for the days from {@code startDate} to {@code endDate} inclusive, one per
+     * date, page, source, device and city.
+     */
+    List<AnalyticsDailyRow> fetchDailyRows(LocalDate startDate, LocalDate endDate);
+}
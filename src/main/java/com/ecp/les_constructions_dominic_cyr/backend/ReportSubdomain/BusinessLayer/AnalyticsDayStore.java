@@ -0,0 +1,168 @@
+package com.ecp.les_constructions_dominic_cyr.backend.ReportSubdomain.BusinessLayer;
+
+import com.ecp.les_constructions_dominic_cyr.backend.ReportSubdomain.DataAccessLayer.AnalyticsDailyRow;
+import com.ecp.les_constructions_dominic_cyr.backend.ReportSubdomain.DataAccessLayer.AnalyticsDailyRowRepository;
+import com.ecp.les_constructions_dominic_cyr.backend.ReportSubdomain.DataAccessLayer.AnalyticsDaySync;
+import com.ecp.les_constructions_dominic_cyr.backend.ReportSubdomain.DataAccessLayer.AnalyticsDaySyncRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Local, day-partitioned copy of the analytics rows reports are built from.
+ *
+ * <p>A day is downloaded from the configured {@link AnalyticsDataSource} once it is requested and
+ * again only while the source may still revise it ({@code reports.analytics.mutable-days} after the
+ * day, at most every {@code reports.analytics.refresh-interval}) or when it was stored from another
+ * source. Consecutive days that need downloading are fetched together, up to
+ * {@code reports.analytics.max-fetch-days} at a time, and each fetched day replaces its stored rows.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AnalyticsDayStore {
+
+    private static final int INSERT_BATCH_SIZE = 1_000;
+    private static final String INSERT_ROW = "INSERT INTO analytics_daily_rows (metric_date, page_path, session_source, " +
+            "device_category, city, active_users, sessions, page_views, bounce_rate, average_session_duration, " +
+            "engagement_rate, scrolled_users) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final AnalyticsDataSource dataSource;
+    private final AnalyticsDailyRowRepository rowRepository;
+    private final AnalyticsDaySyncRepository syncRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    // Serializes downloads so concurrent reports over the same days fetch them once
+    private final ReentrantLock syncLock = new ReentrantLock();
+
+    @Value("${reports.analytics.mutable-days:3}")
+    private int mutableDays;
+
+    @Value("${reports.analytics.refresh-interval:15m}")
+    private Duration refreshInterval;
+
+    // Bounds how many rows are held in memory and written in one transaction
+    @Value("${reports.analytics.max-fetch-days:31}")
+    private int maxFetchDays;
+
+    /**
+     * Makes sure every day from {@code start} to {@code end} (up to today) is stored and current.
+     */
+    public void ensureDays(LocalDate start, LocalDate end) {
+        LocalDate lastDay = end.isAfter(LocalDate.now()) ? LocalDate.now() : end;
+        if (start.isAfter(lastDay)) {
+            return;
+        }
+
+        syncLock.lock();
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            Map<LocalDate, AnalyticsDaySync> syncs = syncRepository.findByDateBetween(start, lastDay).stream()
+                    .collect(Collectors.toMap(AnalyticsDaySync::getDate, Function.identity()));
+
+            List<LocalDate[]> ranges = new ArrayList<>();
+            for (LocalDate day = start; !day.isAfter(lastDay); day = day.plusDays(1)) {
+                if (!needsDownload(day, syncs.get(day), now)) {
+                    continue;
+                }
+                LocalDate[] last = ranges.isEmpty() ? null : ranges.get(ranges.size() - 1);
+                if (last != null && last[1].plusDays(1).equals(day)
+                        && ChronoUnit.DAYS.between(last[0], day) < maxFetchDays) {
+                    last[1] = day;
+                } else {
+                    ranges.add(new LocalDate[]{day, day});
+                }
+            }
+
+            for (LocalDate[] range : ranges) {
+                List<AnalyticsDailyRow> rows = dataSource.fetchDailyRows(range[0], range[1]);
+                transactionTemplate.executeWithoutResult(status -> replaceDays(range[0], range[1], rows, now));
+            }
+            if (!ranges.isEmpty()) {
+                log.info("Refreshed {} day range(s) of {} analytics between {} and {}",
+                        ranges.size(), dataSource.name(), start, lastDay);
+            }
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    /**
+     * Identifies the rows stored for {@code start} to {@code end}: it stays the same until one of
+     * those days is downloaded again, so anything built from the range can be reused while it does.
+     */
+    public String dataVersion(LocalDate start, LocalDate end) {
+        // Not under the sync lock: each range is replaced in one transaction, so this never sees half a download
+        LocalDate lastDay = end.isAfter(LocalDate.now()) ? LocalDate.now() : end;
+        AnalyticsDaySyncRepository.RangeState state = syncRepository.summarize(start, lastDay);
+        return String.join("|", String.valueOf(state.getDayCount()), String.valueOf(state.getRowCount()),
+                String.valueOf(state.getLastFetchedAt()), state.getFirstSource() + "-" + state.getLastSource());
+    }
+
+    /**
+     * Whether every day from {@code start} to {@code end} is stored from the current source after the
+     * source stopped revising it, so neither its rows nor {@link #dataVersion} will change again.
+     */
+    public boolean isSettled(LocalDate start, LocalDate end) {
+        if (end.isAfter(LocalDate.now())) {
+            return false;
+        }
+        List<AnalyticsDaySync> syncs = syncRepository.findByDateBetween(start, end);
+        return syncs.size() == ChronoUnit.DAYS.between(start, end) + 1 && syncs.stream().allMatch(this::isSettled);
+    }
+
+    private boolean needsDownload(LocalDate day, AnalyticsDaySync sync, LocalDateTime now) {
+        if (sync == null || !dataSource.name().equals(sync.getSource())) {
+            return true;
+        }
+        return !isSettled(sync) && sync.getFetchedAt().isBefore(now.minus(refreshInterval));
+    }
+
+    private boolean isSettled(AnalyticsDaySync sync) {
+        return dataSource.name().equals(sync.getSource())
+                && !sync.getFetchedAt().isBefore(sync.getDate().plusDays(mutableDays).atStartOfDay());
+    }
+
+    private void replaceDays(LocalDate start, LocalDate end, List<AnalyticsDailyRow> rows, LocalDateTime fetchedAt) {
+        rowRepository.deleteByDateBetween(start, end);
+        jdbcTemplate.batchUpdate(INSERT_ROW, rows, INSERT_BATCH_SIZE, (ps, row) -> {
+            ps.setDate(1, Date.valueOf(row.getDate()));
+            ps.setString(2, row.getPagePath());
+            ps.setString(3, row.getSource());
+            ps.setString(4, row.getDevice());
+            ps.setString(5, row.getCity());
+            ps.setLong(6, row.getActiveUsers());
+            ps.setLong(7, row.getSessions());
+            ps.setLong(8, row.getPageViews());
+            ps.setDouble(9, row.getBounceRate());
+            ps.setDouble(10, row.getAverageSessionDuration());
+            ps.setDouble(11, row.getEngagementRate());
+            ps.setLong(12, row.getScrolledUsers());
+        });
+
+        // Days without any traffic are recorded too, so they are not downloaded again
+        Map<LocalDate, Long> rowCounts = rows.stream()
+                .collect(Collectors.groupingBy(AnalyticsDailyRow::getDate, Collectors.counting()));
+        List<AnalyticsDaySync> syncs = new ArrayList<>();
+        for (LocalDate day = start; !day.isAfter(end); day = day.plusDays(1)) {
+            syncs.add(new AnalyticsDaySync(day, fetchedAt, rowCounts.getOrDefault(day, 0L).intValue(), dataSource.name()));
+        }
+        syncRepository.saveAll(syncs);
+    }
+}
@@ -0,0 +1,159 @@
+package com.ecp.les_constructions_dominic_cyr.backend.ReportSubdomain.BusinessLayer;
+
+import com.ecp.les_constructions_dominic_cyr.backend.ReportSubdomain.DataAccessLayer.AnalyticsAggregate;
+import com.ecp.les_constructions_dominic_cyr.backend.ReportSubdomain.DataAccessLayer.AnalyticsDailyRowRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Builds the analytics data reports are rendered from. Missing days are pulled into
+ * {@link AnalyticsDayStore} first; everything else is aggregated by the database.
+ */
+@Service
+@RequiredArgsConstructor
+public class AnalyticsQueryService {
+
+    private final AnalyticsDayStore analyticsDayStore;
+    private final AnalyticsDailyRowRepository rowRepository;
+
+    public Map<String, Object> fetchAnalyticsData(LocalDateTime startDate, LocalDateTime endDate, String reportType) {
+        LocalDate start = startDate.toLocalDate();
+        LocalDate end = endDate.toLocalDate();
+        analyticsDayStore.ensureDays(start, end);
+        return aggregate(start, end);
+    }
+
+    /**
+     * Changes whenever the data behind {@link #fetchAnalyticsData} for the same range would.
+     */
+    public String dataVersion(LocalDateTime startDate, LocalDateTime endDate) {
+        return analyticsDayStore.dataVersion(startDate.toLocalDate(), endDate.toLocalDate());
+    }
+
+    /**
+     * Whether {@link #dataVersion} for the range is final, rather than waiting on days the source may still revise.
+     */
+    public boolean isSettled(LocalDateTime startDate, LocalDateTime endDate) {
+        return analyticsDayStore.isSettled(startDate.toLocalDate(), endDate.toLocalDate());
+    }
+
+    private Map<String, Object> aggregate(LocalDate start, LocalDate end) {
+        Map<String, Object> data = new HashMap<>();
+
+        // Keyed like the Google Analytics date dimension (yyyyMMdd), in date order
+        Map<String, Map<String, Object>> dailyAggregation = new TreeMap<>();
+        for (AnalyticsAggregate.ByDate day : rowRepository.sumByDate(start, end)) {
+            Map<String, Object> metrics = new HashMap<>();
+            metrics.put("activeUsers", orZero(day.getActiveUsers()));
+            metrics.put("sessions", orZero(day.getSessions()));
+            dailyAggregation.put(day.getDate().format(DateTimeFormatter.BASIC_ISO_DATE), metrics);
+        }
+
+        Map<String, Integer> cityData = toIntMap(rowRepository.sumUsersByCity(start, end));
+        Map<String, Integer> sourceData = toIntMap(rowRepository.sumUsersBySource(start, end));
+        Map<String, Integer> deviceData = toIntMap(rowRepository.sumUsersByDevice(start, end));
+        Map<String, Long> pageViewsData = rowRepository.sumPageViewsByPath(start, end).stream()
+                .collect(Collectors.toMap(AnalyticsAggregate.ByDimension::getDimensionValue, d -> orZero(d.getTotal())));
+
+        AnalyticsAggregate.Totals totals = rowRepository.totals(start, end);
+        long rowCount = orZero(totals.getRowCount());
+        long totalUsers = orZero(totals.getActiveUsers());
+        long totalScrolledUsers = orZero(totals.getScrolledUsers());
+
+        Map<String, Object> summary = new HashMap<>();
+        summary.put("totalUsers", totalUsers);
+        summary.put("totalSessions", orZero(totals.getSessions()));
+        summary.put("totalPageViews", orZero(totals.getPageViews()));
+        summary.put("avgBounceRate", rowCount > 0 ? orZero(totals.getBounceRate()) / rowCount : 0);
+        summary.put("avgSessionDuration", rowCount > 0 ? orZero(totals.getSessionDuration()) / rowCount : 0);
+        summary.put("scrollRate", totalUsers > 0 ? ((double) totalScrolledUsers / totalUsers) * 100 : 0);
+
+        data.put("summary", summary);
+        data.put("dailyMetrics", dailyAggregation);
+        data.put("cityData", cityData);
+        data.put("sourceData", sourceData);
+        data.put("pageViewsData", pageViewsData);
+        data.put("deviceData", deviceData);
+
+        data.put("projectAnalysis", performProjectInterestAnalysis(rowRepository.sumProjectPages(start, end)));
+        data.put("businessInsights", calculateBusinessInsights(summary));
+
+        return data;
+    }
+
+    private List<Map<String, Object>> performProjectInterestAnalysis(List<AnalyticsAggregate.ByPage> pages) {
+        List<Map<String, Object>> analysisResult = new ArrayList<>();
+
+        for (AnalyticsAggregate.ByPage page : pages) {
+            long rows = orZero(page.getRowCount());
+            long pViews = orZero(page.getPageViews());
+            long pUsers = orZero(page.getActiveUsers());
+            double avgDur = rows > 0 ? orZero(page.getSessionDuration()) / rows : 0;
+            long scrolled = orZero(page.getScrolledUsers());
+
+            double scrollFactor = pUsers > 0 ? (double) scrolled / pUsers : 0;
+            double durationFactor = Math.min(avgDur / 180.0, 1.0);
+            double volumeFactor = Math.min((double) pViews / 500.0, 1.0);
+
+            double piiScore = (durationFactor * 0.4) + (scrollFactor * 0.4) + (volumeFactor * 0.2);
+
+            double volatility = calculateVolatility(rows, orZero(page.getSessions()), orZero(page.getSessionsSquared()));
+
+            Map<String, Object> projectMetrics = new HashMap<>();
+            projectMetrics.put("path", page.getPagePath());
+            projectMetrics.put("piiScore", piiScore * 100);
+            projectMetrics.put("volatility", volatility);
+            projectMetrics.put("engagementLevel", piiScore > 0.7 ? "HOT" : piiScore > 0.4 ? "WARM" : "COLD");
+
+            analysisResult.add(projectMetrics);
+        }
+
+        analysisResult.sort((a, b) -> Double.compare((double) b.get("piiScore"), (double) a.get("piiScore")));
+        return analysisResult.stream().limit(10).collect(Collectors.toList());
+    }
+
+    /**
+     * Population standard deviation of sessions across a page's rows, from their count, sum and sum of squares.
+     */
+    private double calculateVolatility(long rows, long sessions, long sessionsSquared) {
+        if (rows < 2) return 0.0;
+
+        double mean = (double) sessions / rows;
+        double variance = (double) sessionsSquared / rows - mean * mean;
+
+        return Math.sqrt(Math.max(variance, 0.0));
+    }
+
+    private Map<String, Object> calculateBusinessInsights(Map<String, Object> summary) {
+        Map<String, Object> insights = new HashMap<>();
+        double scrollRate = ((Number) summary.get("scrollRate")).doubleValue();
+        double bounceRate = ((Number) summary.get("avgBounceRate")).doubleValue();
+
+        String intent = (scrollRate > 40 && bounceRate < 50) ? "HIGH" : "PASSIVE";
+        insights.put("readerIntent", intent);
+        insights.put("recommendation", intent.equals("HIGH")
+                ? "Users are deeply engaged. Increase Call-to-Actions on project pages."
+                : "Users are skimming. Use more visual high-level project summaries.");
+
+        return insights;
+    }
+
+    private Map<String, Integer> toIntMap(List<AnalyticsAggregate.ByDimension> totals) {
+        return totals.stream()
+                .collect(Collectors.toMap(AnalyticsAggregate.ByDimension::getDimensionValue, d -> (int) orZero(d.getTotal())));
+    }
+
+    private long orZero(Long value) {
+        return value != null ? value : 0L;
+    }
+
+    private double orZero(Double value) {
+        return value != null ? value : 0.0;
+    }
+}
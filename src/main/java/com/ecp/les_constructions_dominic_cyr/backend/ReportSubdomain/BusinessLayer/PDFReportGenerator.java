@@ -13,14 +13,28 @@ import org.jfree.chart.ChartFactory;
 import org.jfree.chart.JFreeChart;
 import org.jfree.chart.plot.PlotOrientation;
 import org.jfree.data.category.DefaultCategoryDataset;
-import org.jfree.chart.ChartUtils;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
+import java.awt.image.BufferedImage;
 import java.io.ByteArrayOutputStream;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
-
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Renders the analytics audit. Its sections, the activity chart above all, are built in parallel on a
+ * pool of {@code reports.pdf.render-threads} threads shared by all reports, then laid out in order.
+ * With one thread every section is built on the caller's thread.
+ */
 @Service
 public class PDFReportGenerator {
 
@@ -28,50 +42,120 @@ public class PDFReportGenerator {
     private static final DeviceRgb ACCENT_COLOR = new DeviceRgb(192, 57, 43); // Construction Red
     private static final DeviceRgb SHADE_COLOR = new DeviceRgb(245, 247, 250);
 
+    // Eight sections per report; a full queue makes the caller build its own sections
+    private static final int RENDER_QUEUE_CAPACITY = 64;
+
+    private final ThreadPoolTaskExecutor executor;
+
+    public PDFReportGenerator(@Value("${reports.pdf.render-threads:4}") int renderThreads) {
+        if (renderThreads <= 1) {
+            this.executor = null;
+            return;
+        }
+        this.executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(renderThreads);
+        executor.setMaxPoolSize(renderThreads);
+        executor.setQueueCapacity(RENDER_QUEUE_CAPACITY);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setThreadNamePrefix("report-pdf-");
+        executor.setDaemon(true);
+        executor.initialize();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
     public byte[] generatePDFReport(Map<String, Object> analyticsData,
                                     LocalDateTime startDate,
                                     LocalDateTime endDate) throws Exception {
 
+        // Sections only build layout elements, so they can be prepared side by side; the document
+        // lays them out afterwards, in order, on this thread
+        List<Future<Div>> sections = new ArrayList<>();
+        Future<Div> header = render(sections, () -> headerSection(startDate, endDate));
+        Future<Div> summary = render(sections, () -> summarySection(analyticsData));
+        Future<Div> insights = render(sections, () -> businessInsightsSection(analyticsData));
+        Future<Div> leaderboard = render(sections, () -> projectInterestLeaderboard((List<Map<String, Object>>) analyticsData.get("projectAnalysis")));
+        Future<Div> geographic = render(sections, () -> geographicIntelligence((Map<String, Integer>) analyticsData.get("cityData")));
+        Future<Div> traffic = render(sections, () -> trafficSources((Map<String, Integer>) analyticsData.get("sourceData")));
+        Future<Div> activity = render(sections, () -> activityCharts(analyticsData));
+        Future<Div> roadmap = render(sections, () -> strategicRoadmap(analyticsData));
+
         ByteArrayOutputStream baos = new ByteArrayOutputStream();
-        PdfDocument pdf = new PdfDocument(new PdfWriter(baos));
-        Document document = new Document(pdf);
+        try {
+            PdfDocument pdf = new PdfDocument(new PdfWriter(baos));
+            Document document = new Document(pdf);
 
-        addHeader(document, startDate, endDate);
-        addSummarySection(document, analyticsData);
-        addBusinessInsightsSection(document, analyticsData);
+            document.add(await(header));
+            document.add(await(summary));
+            document.add(await(insights));
 
-        document.add(new AreaBreak());
-        addProjectInterestLeaderboard(document, (List<Map<String, Object>>) analyticsData.get("projectAnalysis"));
+            document.add(new AreaBreak());
+            document.add(await(leaderboard));
 
-        document.add(new AreaBreak());
-        addGeographicIntelligence(document, (Map<String, Integer>) analyticsData.get("cityData"));
-        addTrafficSources(document, (Map<String, Integer>) analyticsData.get("sourceData"));
+            document.add(new AreaBreak());
+            document.add(await(geographic));
+            document.add(await(traffic));
 
-        document.add(new AreaBreak());
-        addActivityCharts(document, analyticsData);
+            document.add(new AreaBreak());
+            document.add(await(activity));
 
-        document.add(new AreaBreak());
-        addStrategicRoadmap(document, analyticsData);
+            document.add(new AreaBreak());
+            document.add(await(roadmap));
 
-        addFooter(document);
-        document.close();
+            addFooter(document);
+            document.close();
+        } finally {
+            sections.forEach(section -> section.cancel(true));
+        }
         return baos.toByteArray();
     }
 
-    private void addHeader(Document document, LocalDateTime startDate, LocalDateTime endDate) {
-        document.add(new Paragraph("LES CONSTRUCTIONS DOMINIC CYR INC.")
+    private Future<Div> render(List<Future<Div>> sections, Callable<Div> section) {
+        Future<Div> rendered;
+        if (executor == null) {
+            FutureTask<Div> task = new FutureTask<>(section);
+            task.run();
+            rendered = task;
+        } else {
+            rendered = executor.submit(section);
+        }
+        sections.add(rendered);
+        return rendered;
+    }
+
+    private Div await(Future<Div> section) throws Exception {
+        try {
+            return section.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private Div headerSection(LocalDateTime startDate, LocalDateTime endDate) {
+        Div section = new Div();
+        section.add(new Paragraph("LES CONSTRUCTIONS DOMINIC CYR INC.")
                 .setFontColor(PRIMARY_COLOR).setBold().setFontSize(10));
 
-        document.add(new Paragraph("Master Business Intelligence Audit")
+        section.add(new Paragraph("Master Business Intelligence Audit")
                 .setFontSize(24).setBold().setMarginBottom(0));
 
-        document.add(new Paragraph(String.format("Data Integrity Period: %s to %s",
+        section.add(new Paragraph(String.format("Data Integrity Period: %s to %s",
                 startDate.format(DateTimeFormatter.ofPattern("yyyy-MM-dd")),
                 endDate.format(DateTimeFormatter.ofPattern("yyyy-MM-dd"))))
                 .setFontSize(10).setItalic().setMarginBottom(20));
+        return section;
     }
 
-    private void addSummarySection(Document document, Map<String, Object> analyticsData) {
+    private Div summarySection(Map<String, Object> analyticsData) {
+        Div section = new Div();
         Map<String, Object> summary = (Map<String, Object>) analyticsData.get("summary");
 
         Table table = new Table(UnitValue.createPercentArray(new float[]{3, 2})).useAllAvailableWidth();
@@ -85,14 +169,16 @@ public class PDFReportGenerator {
         table.addCell(createCell("Reader Retention (Scroll Rate)", false));
         table.addCell(createCell(String.format("%.2f%%", summary.get("scrollRate")), false));
 
-        document.add(table.setMarginBottom(15));
+        section.add(table.setMarginBottom(15));
+        return section;
     }
 
-    private void addProjectInterestLeaderboard(Document document, List<Map<String, Object>> projectAnalysis) {
-        document.add(new Paragraph("Algorithmic Project Interest Index (PII)")
+    private Div projectInterestLeaderboard(List<Map<String, Object>> projectAnalysis) {
+        Div section = new Div();
+        section.add(new Paragraph("Algorithmic Project Interest Index (PII)")
                 .setFontSize(16).setBold().setFontColor(PRIMARY_COLOR));
 
-        document.add(new Paragraph("This section represents a custom data manipulation problem. We calculate 'Interest' by weighting Scroll Depth (40%), Duration (40%), and View Volume (20%) across thousands of data points.")
+        section.add(new Paragraph("This section represents a custom data manipulation problem. We calculate 'Interest' by weighting Scroll Depth (40%), Duration (40%), and View Volume (20%) across thousands of data points.")
                 .setFontSize(9).setItalic().setMarginBottom(10));
 
         Table table = new Table(UnitValue.createPercentArray(new float[]{4, 2, 2, 2})).useAllAvailableWidth();
@@ -111,11 +197,13 @@ public class PDFReportGenerator {
             if (level.equals("HOT")) statusCell.setFontColor(ACCENT_COLOR).setBold();
             table.addCell(statusCell);
         }
-        document.add(table);
+        section.add(table);
+        return section;
     }
 
-    private void addGeographicIntelligence(Document document, Map<String, Integer> cityData) {
-        document.add(new Paragraph("Regional Intelligence (Quebec / Canada)")
+    private Div geographicIntelligence(Map<String, Integer> cityData) {
+        Div section = new Div();
+        section.add(new Paragraph("Regional Intelligence (Quebec / Canada)")
                 .setFontSize(14).setBold().setMarginBottom(10));
 
         Table table = new Table(UnitValue.createPercentArray(new float[]{4, 1})).useAllAvailableWidth();
@@ -129,21 +217,25 @@ public class PDFReportGenerator {
                     table.addCell(createCell(entry.getKey(), false));
                     table.addCell(createCell(String.valueOf(entry.getValue()), false));
                 });
-        document.add(table.setMarginBottom(20));
+        section.add(table.setMarginBottom(20));
+        return section;
     }
 
-    private void addTrafficSources(Document document, Map<String, Integer> sourceData) {
-        document.add(new Paragraph("Acquisition Attribution Model").setFontSize(14).setBold());
+    private Div trafficSources(Map<String, Integer> sourceData) {
+        Div section = new Div();
+        section.add(new Paragraph("Acquisition Attribution Model").setFontSize(14).setBold());
         Table table = new Table(UnitValue.createPercentArray(new float[]{4, 1})).useAllAvailableWidth();
         sourceData.forEach((k, v) -> {
             table.addCell(createCell(k, false));
             table.addCell(createCell(String.valueOf(v), false));
         });
-        document.add(table);
+        section.add(table);
+        return section;
     }
 
-    private void addActivityCharts(Document document, Map<String, Object> analyticsData) throws Exception {
-        document.add(new Paragraph("Historical Engagement Matrix").setFontSize(14).setBold().setMarginBottom(10));
+    private Div activityCharts(Map<String, Object> analyticsData) throws Exception {
+        Div section = new Div();
+        section.add(new Paragraph("Historical Engagement Matrix").setFontSize(14).setBold().setMarginBottom(10));
 
         DefaultCategoryDataset dataset = new DefaultCategoryDataset();
         Map<String, Map<String, Object>> daily = (Map<String, Map<String, Object>>) analyticsData.get("dailyMetrics");
@@ -155,17 +247,19 @@ public class PDFReportGenerator {
         JFreeChart chart = ChartFactory.createLineChart("User Growth Trends", "Date", "Users", dataset, PlotOrientation.VERTICAL, true, true, false);
         chart.setBackgroundPaint(java.awt.Color.WHITE);
 
-        ByteArrayOutputStream chartOut = new ByteArrayOutputStream();
-        ChartUtils.writeChartAsPNG(chartOut, chart, 1000, 500);
-        document.add(new Image(com.itextpdf.io.image.ImageDataFactory.create(chartOut.toByteArray()))
+        // Handed to iText as pixels: encoding a PNG only for iText to decode it again took longer than drawing the chart
+        BufferedImage chartImage = chart.createBufferedImage(1000, 500);
+        section.add(new Image(com.itextpdf.io.image.ImageDataFactory.create(chartImage, null))
                 .setWidth(UnitValue.createPercentValue(100)) // This makes it full width
                 .setHorizontalAlignment(com.itextpdf.layout.properties.HorizontalAlignment.CENTER));
+        return section;
     }
 
-    private void addStrategicRoadmap(Document document, Map<String, Object> analyticsData) {
+    private Div strategicRoadmap(Map<String, Object> analyticsData) {
+        Div section = new Div();
         Map<String, Object> insights = (Map<String, Object>) analyticsData.get("businessInsights");
 
-        document.add(new Paragraph("Strategic Recommendations & Action Plan")
+        section.add(new Paragraph("Strategic Recommendations & Action Plan")
                 .setFontSize(16).setBold().setFontColor(PRIMARY_COLOR).setMarginTop(20));
 
         Div div = new Div().setPadding(15).setBackgroundColor(SHADE_COLOR).setBorder(new SolidBorder(ColorConstants.GRAY, 0.5f));
@@ -174,13 +268,16 @@ public class PDFReportGenerator {
         div.add(new Paragraph("2. Optimization: ").setBold().add(new Text((String) insights.get("recommendation"))));
         div.add(new Paragraph("3. Data Note: ").setBold().add(new Text("Volatility analysis suggests prioritizing projects with stable, high-PII scores for Facebook marketing spend.")));
 
-        document.add(div);
+        section.add(div);
+        return section;
     }
 
-    private void addBusinessInsightsSection(Document document, Map<String, Object> analyticsData) {
+    private Div businessInsightsSection(Map<String, Object> analyticsData) {
+        Div section = new Div();
         Map<String, Object> insights = (Map<String, Object>) analyticsData.get("businessInsights");
-        document.add(new Paragraph("Executive Synthesis: ").setBold()
+        section.add(new Paragraph("Executive Synthesis: ").setBold()
                 .add(new Text("Based on aggregated data, the current audience shows " + insights.get("readerIntent") + " intent levels.")));
+        return section;
     }
 
     private Cell createCell(String content, boolean isHeader) {
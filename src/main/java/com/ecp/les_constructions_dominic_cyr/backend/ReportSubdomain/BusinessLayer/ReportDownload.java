@@ -0,0 +1,15 @@
+package com.ecp.les_constructions_dominic_cyr.backend.ReportSubdomain.BusinessLayer;
+
+import java.util.UUID;
+
+/**
+ * What the download endpoint needs to stream a finished report once ownership has been checked.
+ * A report's file never changes after it is generated, so the report ID doubles as a strong ETag.
+ * {@code sizeBytes} is null for reports stored before sizes were recorded; those are served whole.
+ */
+public record ReportDownload(UUID reportId, String fileKey, String fileName, String contentType, Long sizeBytes) {
+
+    public String eTag() {
+        return "\"" + reportId + "\"";
+    }
+}
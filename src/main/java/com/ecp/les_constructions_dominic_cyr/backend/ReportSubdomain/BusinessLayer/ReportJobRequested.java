@@ -0,0 +1,9 @@
+package com.ecp.les_constructions_dominic_cyr.backend.ReportSubdomain.BusinessLayer;
+
+import java.util.UUID;
+
+/**
+ * Published when a report job is queued; handled by {@link ReportJobRunner} after the commit.
+ */
+public record ReportJobRequested(UUID reportId) {
+}
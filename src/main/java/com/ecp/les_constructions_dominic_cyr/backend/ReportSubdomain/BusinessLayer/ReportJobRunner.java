@@ -0,0 +1,114 @@
+package com.ecp.les_constructions_dominic_cyr.backend.ReportSubdomain.BusinessLayer;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Executes queued report jobs on a bounded pool of report workers.
+ *
+ * <p>The {@code analytics_reports} table is the queue: new jobs are dispatched as soon as their row is
+ * committed, and a periodic sweep picks up whatever the pool could not take, jobs left behind by a
+ * restart, and jobs queued by another instance. Workers claim a job atomically before running it, so
+ * a job runs once even when it is dispatched twice. While a job runs its heartbeat is refreshed every
+ * {@code reports.jobs.heartbeat-interval}; only jobs whose heartbeat has stopped for
+ * {@code reports.jobs.stale-after} are requeued, so a slow job is never run a second time.
+ */
+@Slf4j
+@Component
+public class ReportJobRunner {
+
+    private final ReportService reportService;
+    private final ThreadPoolTaskExecutor executor;
+    private final Set<UUID> dispatched = ConcurrentHashMap.newKeySet();
+    private final Set<UUID> running = ConcurrentHashMap.newKeySet();
+    private final int queueCapacity;
+    private final Duration staleAfter;
+
+    public ReportJobRunner(
+            ReportService reportService,
+            @Value("${reports.jobs.workers:2}") int workers,
+            @Value("${reports.jobs.queue-capacity:20}") int queueCapacity,
+            @Value("${reports.jobs.stale-after:5m}") Duration staleAfter) {
+        this.reportService = reportService;
+        this.queueCapacity = queueCapacity;
+        this.staleAfter = staleAfter;
+
+        // A private pool rather than a bean, so it does not replace Spring Boot's @Async executor
+        this.executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("report-job-");
+        executor.initialize();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        // Interrupted jobs stay RUNNING and are requeued by a sweep once their heartbeat is stale
+        executor.shutdown();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onJobRequested(ReportJobRequested event) {
+        dispatch(event.reportId());
+    }
+
+    @Scheduled(initialDelayString = "${reports.jobs.heartbeat-interval:30s}",
+               fixedDelayString = "${reports.jobs.heartbeat-interval:30s}")
+    public void heartbeat() {
+        reportService.recordHeartbeat(Set.copyOf(running));
+    }
+
+    @Scheduled(initialDelayString = "${reports.jobs.sweep-interval:30s}",
+               fixedDelayString = "${reports.jobs.sweep-interval:30s}")
+    public void sweep() {
+        int requeued = reportService.requeueStaleJobs(staleAfter);
+        if (requeued > 0) {
+            log.warn("Requeued {} report jobs whose worker has not reported for {}", requeued, staleAfter);
+        }
+
+        int free = queueCapacity - executor.getQueueSize();
+        if (free > 0) {
+            reportService.findPendingJobIds(free).forEach(this::dispatch);
+        }
+    }
+
+    private void dispatch(UUID reportId) {
+        if (!dispatched.add(reportId)) {
+            return;
+        }
+        try {
+            executor.execute(() -> run(reportId));
+        } catch (TaskRejectedException e) {
+            dispatched.remove(reportId);
+            log.info("Report job queue is full; job {} stays PENDING until the next sweep", reportId);
+        }
+    }
+
+    private void run(UUID reportId) {
+        dispatched.remove(reportId);
+        if (!reportService.claimJob(reportId)) {
+            return;
+        }
+        log.info("Running report job {}", reportId);
+
+        running.add(reportId);
+        try {
+            reportService.runJob(reportId).ifPresent(report ->
+                    log.info("Report job {} finished: {}", reportId, report.getStatus()));
+        } finally {
+            running.remove(reportId);
+        }
+    }
+}
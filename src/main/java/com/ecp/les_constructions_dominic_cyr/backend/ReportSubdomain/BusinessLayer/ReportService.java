@@ -1,29 +1,42 @@
 package com.ecp.les_constructions_dominic_cyr.backend.ReportSubdomain.BusinessLayer;
 
+import com.ecp.les_constructions_dominic_cyr.backend.FilesSubdomain.FilesServiceClient;
 import com.ecp.les_constructions_dominic_cyr.backend.ReportSubdomain.DataAccessLayer.AnalyticsReport;
 import com.ecp.les_constructions_dominic_cyr.backend.ReportSubdomain.DataAccessLayer.AnalyticsReportRepository;
+import com.ecp.les_constructions_dominic_cyr.backend.ReportSubdomain.DataAccessLayer.ReportStatus;
+import com.ecp.les_constructions_dominic_cyr.backend.utils.Exception.InvalidInputException;
 import jakarta.persistence.EntityNotFoundException;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.ParameterizedTypeReference;
-import org.springframework.core.io.ByteArrayResource;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.http.*;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.util.LinkedMultiValueMap;
-import org.springframework.util.MultiValueMap;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.publisher.Flux;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
 
+@Slf4j
 @Service
 public class ReportService {
 
+    private static final int ERROR_MESSAGE_MAX_LENGTH = 1000;
+    private static final String PDF_CONTENT_TYPE = "application/pdf";
+    private static final String XLSX_CONTENT_TYPE = "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet";
+
     @Autowired
-    private GoogleAnalyticsService googleAnalyticsService;
+    private AnalyticsQueryService analyticsQueryService;
 
     @Autowired
     private PDFReportGenerator pdfReportGenerator;
@@ -34,62 +47,180 @@ public class ReportService {
     @Autowired
     private AnalyticsReportRepository reportRepository;
 
-    @Value("${files.service.base-url}")
-    private String filesServiceBaseUrl;
+    @Autowired
+    private FilesServiceClient filesServiceClient;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
 
     @Value("${reports.storage.base-path}")
     private String storageBasePath;
 
-    private final RestTemplate restTemplate = new RestTemplate();
+    @Value("${reports.cache.enabled:true}")
+    private boolean cacheEnabled;
+
+    @Value("${reports.cache.live-ttl:15m}")
+    private Duration liveRangeTtl;
+
+    /**
+     * Returns the owner's latest completed report rendered from the same type, format, days and
+     * stored analytics, or queues a new one in PENDING state that {@link ReportJobRunner} generates
+     * once the surrounding transaction has committed. Reports over days that are not settled yet
+     * (today, the last {@code reports.analytics.mutable-days}, or days last stored before they
+     * settled) are reused for {@code reports.cache.live-ttl} only, since their figures keep moving.
+     * {@code refresh} always queues a new report.
+     */
+    @Transactional
+    public AnalyticsReport requestReport(String ownerId, String reportType,
+                                         String fileFormat, LocalDateTime startDate,
+                                         LocalDateTime endDate, boolean refresh) {
+        if (!"PDF".equalsIgnoreCase(fileFormat) && !"XLSX".equalsIgnoreCase(fileFormat)) {
+            throw new IllegalArgumentException("Unsupported file format: " + fileFormat);
+        }
+
+        if (cacheEnabled && !refresh) {
+            Optional<AnalyticsReport> cached = findReusableReport(ownerId, reportType, fileFormat, startDate, endDate);
+            if (cached.isPresent()) {
+                log.info("Reusing report {} for owner {}", cached.get().getId(), ownerId);
+                return cached.get();
+            }
+        }
+
+        AnalyticsReport report = new AnalyticsReport();
+        report.setOwnerId(ownerId);
+        report.setReportType(reportType);
+        report.setFileFormat(fileFormat.toUpperCase());
+        report.setStartDate(startDate);
+        report.setEndDate(endDate);
+        report.setStatus(ReportStatus.PENDING);
+        AnalyticsReport saved = reportRepository.save(report);
+
+        eventPublisher.publishEvent(new ReportJobRequested(saved.getId()));
+        return saved;
+    }
+
+    /**
+     * Stops the owner's existing reports from being reused, so the next request of each is generated again.
+     */
+    @Transactional
+    public int invalidateCachedReports(String ownerId) {
+        return reportRepository.clearFingerprints(ownerId);
+    }
+
+    private Optional<AnalyticsReport> findReusableReport(String ownerId, String reportType, String fileFormat,
+                                                         LocalDateTime startDate, LocalDateTime endDate) {
+        String fingerprint = fingerprint(reportType, fileFormat, startDate, endDate,
+                analyticsQueryService.dataVersion(startDate, endDate));
+        // The stored copy of unsettled days is only downloaded again when a report is generated
+        boolean settled = analyticsQueryService.isSettled(startDate, endDate);
+        LocalDateTime freshAfter = LocalDateTime.now().minus(liveRangeTtl);
+
+        return reportRepository.findFirstByOwnerIdAndFingerprintAndStatusOrderByCompletedAtDesc(
+                        ownerId, fingerprint, ReportStatus.COMPLETED)
+                .filter(report -> settled || report.getCompletedAt().isAfter(freshAfter));
+    }
+
+    /**
+     * Hash of everything a rendered report depends on. Only the days of the range matter, so
+     * requests a few seconds apart for the same period match.
+     */
+    private String fingerprint(String reportType, String fileFormat, LocalDateTime startDate,
+                               LocalDateTime endDate, String dataVersion) {
+        String inputs = String.join("\n", reportType, fileFormat.toUpperCase(),
+                startDate.toLocalDate().toString(), endDate.toLocalDate().toString(), dataVersion);
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(inputs.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
 
-    public AnalyticsReport generateReport(String ownerId, String reportType,
-                                          String fileFormat, LocalDateTime startDate,
-                                          LocalDateTime endDate) {
+    /**
+     * Takes a PENDING job for the calling worker. Returns false when it is gone or already taken.
+     */
+    @Transactional
+    public boolean claimJob(UUID reportId) {
+        return reportRepository.claim(reportId, ReportStatus.PENDING, ReportStatus.RUNNING, LocalDateTime.now()) == 1;
+    }
+
+    /**
+     * Refreshes the heartbeat of jobs this instance is running.
+     */
+    @Transactional
+    public void recordHeartbeat(Collection<UUID> reportIds) {
+        if (!reportIds.isEmpty()) {
+            reportRepository.heartbeat(reportIds, ReportStatus.RUNNING, LocalDateTime.now());
+        }
+    }
+
+    /**
+     * Puts RUNNING jobs without a heartbeat for {@code staleAfter} back in the queue.
+     */
+    @Transactional
+    public int requeueStaleJobs(Duration staleAfter) {
+        return reportRepository.requeueStale(ReportStatus.PENDING, ReportStatus.RUNNING, LocalDateTime.now().minus(staleAfter));
+    }
 
-        // 1. Fetch data from Google Analytics
-        Map<String, Object> analyticsData = googleAnalyticsService.fetchAnalyticsData(startDate, endDate, reportType);
+    public List<UUID> findPendingJobIds(int limit) {
+        return reportRepository.findIdsByStatusOrderByCreatedAt(ReportStatus.PENDING, Limit.of(limit));
+    }
 
-        byte[] reportContent;
-        String contentType;
-        String fileExtension;
+    /**
+     * Generates, uploads and records a claimed job. Runs on a report worker without a surrounding
+     * transaction, so no connection is held while Google Analytics and the renderers do their work.
+     * The outcome is only recorded while the job is still this worker's claim, read back as its
+     * {@code startedAt}. Returns the finished report, or empty if it was deleted, or requeued and claimed
+     * by another worker, meanwhile.
+     */
+    public Optional<AnalyticsReport> runJob(UUID reportId) {
+        AnalyticsReport report = reportRepository.findById(reportId).orElse(null);
+        if (report == null || report.getStatus() != ReportStatus.RUNNING) {
+            return Optional.empty();
+        }
+        LocalDateTime claimedAt = report.getStartedAt();
 
+        String uploadedKey = null;
         try {
+            // 1. Fetch analytics data, noting which version of it the file is built from
+            Map<String, Object> analyticsData = analyticsQueryService.fetchAnalyticsData(
+                    report.getStartDate(), report.getEndDate(), report.getReportType());
+            String fingerprint = fingerprint(report.getReportType(), report.getFileFormat(), report.getStartDate(),
+                    report.getEndDate(), analyticsQueryService.dataVersion(report.getStartDate(), report.getEndDate()));
+
             // 2. Generate the physical file
-            if ("PDF".equalsIgnoreCase(fileFormat)) {
-                reportContent = pdfReportGenerator.generatePDFReport(analyticsData, startDate, endDate);
-                contentType = "application/pdf";
+            Flux<DataBuffer> reportContent;
+            String contentType;
+            String fileExtension;
+            if ("PDF".equalsIgnoreCase(report.getFileFormat())) {
+                reportContent = FilesServiceClient.contentOf(
+                        pdfReportGenerator.generatePDFReport(analyticsData, report.getStartDate(), report.getEndDate()));
+                contentType = PDF_CONTENT_TYPE;
                 fileExtension = "pdf";
-            } else if ("XLSX".equalsIgnoreCase(fileFormat)) {
-                reportContent = xlsxReportGenerator.generateXLSXReport(analyticsData, startDate, endDate);
-                contentType = "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet";
-                fileExtension = "xlsx";
             } else {
-                throw new IllegalArgumentException("Unsupported file format: " + fileFormat);
+                // Rendered while it uploads, so large workbooks never sit in memory whole
+                reportContent = xlsxReportGenerator.streamXLSXReport(analyticsData, report.getStartDate(), report.getEndDate());
+                contentType = XLSX_CONTENT_TYPE;
+                fileExtension = "xlsx";
             }
 
             // 3. Prepare storage path and upload to Go Service
             String fileName = String.format("%s_%s_%s.%s",
-                    reportType,
-                    UUID.randomUUID().toString(),
+                    report.getReportType(),
+                    report.getId(),
                     LocalDateTime.now().toString().replace(":", "-"),
                     fileExtension);
 
             String objectKey = storageBasePath + fileName;
-            String uploadedKey = uploadToStorage(reportContent, objectKey, contentType);
-
-            // 4. Create Database Record
-            AnalyticsReport report = new AnalyticsReport();
-            report.setOwnerId(ownerId);
-            report.setReportType(reportType);
-            report.setFileFormat(fileFormat);
-            report.setFileKey(uploadedKey);
-            report.setFileSize((long) reportContent.length);
-            report.setGenerationTimestamp(LocalDateTime.now());
-            report.setStartDate(startDate);
-            report.setEndDate(endDate);
-            report.setStatus("COMPLETED");
-
-            // 5. Build Metadata safely (Fixed TreeMap vs List casting issue)
+            AtomicLong fileSize = new AtomicLong();
+            uploadedKey = uploadToStorage(reportContent
+                    .doOnSubscribe(subscription -> fileSize.set(0))
+                    .doOnNext(buffer -> fileSize.addAndGet(buffer.readableByteCount())), objectKey, contentType);
+
+            // 4. Build Metadata safely (Fixed TreeMap vs List casting issue)
             Map<String, Object> metadata = new HashMap<>();
             metadata.put("summary", analyticsData.get("summary"));
 
@@ -101,70 +232,67 @@ public class ReportService {
             } else if (dailyMetricsObj instanceof Collection) {
                 recordCount = ((Collection<?>) dailyMetricsObj).size();
             }
-
             metadata.put("recordCount", recordCount);
-            report.setMetadata(metadata);
 
-            return reportRepository.save(report);
+            // 5. Complete the job, unless it is no longer this worker's
+            String fileKey = uploadedKey;
+            int completed = transactionTemplate.execute(status -> reportRepository.complete(reportId,
+                    ReportStatus.RUNNING, claimedAt, ReportStatus.COMPLETED, fileKey, fileSize.get(),
+                    metadata, fingerprint, LocalDateTime.now()));
+            if (completed == 0) {
+                log.warn("Report job {} was deleted or taken over while running; discarding its file", reportId);
+                discardUpload(fileKey, report.getOwnerId());
+                return Optional.empty();
+            }
+            return reportRepository.findById(reportId);
 
         } catch (Exception e) {
-            throw new RuntimeException("Failed to generate report");
+            log.error("Report job {} failed", reportId, e);
+            if (uploadedKey != null) {
+                discardUpload(uploadedKey, report.getOwnerId());
+            }
+            String errorMessage = truncate(e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName());
+            int failed = transactionTemplate.execute(status -> reportRepository.fail(reportId,
+                    ReportStatus.RUNNING, claimedAt, ReportStatus.FAILED, errorMessage, LocalDateTime.now()));
+            return failed == 0 ? Optional.empty() : reportRepository.findById(reportId);
         }
     }
 
-    private String uploadToStorage(byte[] content, String objectKey, String contentType) {
-        String uploadUrl = filesServiceBaseUrl + "/upload";
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.MULTIPART_FORM_DATA);
-
-        MultiValueMap<String, Object> body = new LinkedMultiValueMap<>();
-        body.add("file", new ByteArrayResource(content) {
-            @Override
-            public String getFilename() {
-                return objectKey.substring(objectKey.lastIndexOf("/") + 1);
-            }
-        });
-        body.add("objectKey", objectKey);
-        body.add("contentType", contentType);
-
-        HttpEntity<MultiValueMap<String, Object>> requestEntity = new HttpEntity<>(body, headers);
-
+    private void discardUpload(String fileKey, String ownerId) {
         try {
-            ResponseEntity<Map<String, Object>> response = restTemplate.exchange(
-                    uploadUrl,
-                    HttpMethod.POST,
-                    requestEntity,
-                    new ParameterizedTypeReference<Map<String, Object>>() {}
-            );
-
-            if (!response.getStatusCode().is2xxSuccessful() || response.getBody() == null) {
-                throw new RuntimeException("Go Service error: " + response.getStatusCode());
-            }
+            filesServiceClient.delete(fileKey, ownerId).block();
+        } catch (Exception e) {
+            log.warn("Could not remove orphaned report file {}: {}", fileKey, e.getMessage());
+        }
+    }
 
-            Object returnedKey = response.getBody().get("objectKey");
-            if (returnedKey == null) {
-                throw new RuntimeException("Go Service did not return an objectKey (UUID)");
-            }
+    private String truncate(String message) {
+        return message.length() > ERROR_MESSAGE_MAX_LENGTH ? message.substring(0, ERROR_MESSAGE_MAX_LENGTH) : message;
+    }
 
-            return returnedKey.toString();
+    private String uploadToStorage(Flux<DataBuffer> content, String objectKey, String contentType) {
+        try {
+            return filesServiceClient.uploadObject(content, objectKey, contentType).block();
         } catch (Exception e) {
             throw new RuntimeException("Communication with Go File Service failed: " + e.getMessage());
         }
     }
 
-    public byte[] downloadReport(UUID reportId, String ownerId) {
+    /**
+     * Checks the report can be downloaded by its owner and describes the file to stream.
+     */
+    public ReportDownload getReportForDownload(UUID reportId, String ownerId) {
         AnalyticsReport report = getReportById(reportId, ownerId);
-        String downloadUrl = filesServiceBaseUrl + "/files/" + report.getFileKey();
-
-        try {
-            ResponseEntity<byte[]> response = restTemplate.getForEntity(downloadUrl, byte[].class);
-            if (!response.getStatusCode().is2xxSuccessful() || response.getBody() == null) {
-                throw new RuntimeException("Go Service download failed: " + response.getStatusCode());
-            }
-            return response.getBody();
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to download report from storage: " + e.getMessage());
+        if (report.getStatus() != ReportStatus.COMPLETED) {
+            throw new InvalidInputException("Report " + reportId + " is not ready: " + report.getStatus());
         }
+
+        boolean pdf = "PDF".equalsIgnoreCase(report.getFileFormat());
+        String fileName = String.format("analytics_report_%s.%s",
+                report.getGenerationTimestamp().toString().replace(":", "-"),
+                report.getFileFormat().toLowerCase());
+        return new ReportDownload(report.getId(), report.getFileKey(), fileName,
+                pdf ? PDF_CONTENT_TYPE : XLSX_CONTENT_TYPE, report.getFileSize());
     }
 
     public Page<AnalyticsReport> getReportsByOwner(String ownerId, Pageable pageable) {
@@ -186,24 +314,12 @@ public class ReportService {
     public void deleteReport(UUID reportId, String ownerId) {
         AnalyticsReport report = getReportById(reportId, ownerId);
 
-        try {
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
-
-            Map<String, String> body = new HashMap<>();
-            body.put("deletedBy", ownerId);
-
-            HttpEntity<Map<String, String>> requestEntity = new HttpEntity<>(body, headers);
-            String goFileId = report.getFileKey();
-
-            restTemplate.exchange(
-                    filesServiceBaseUrl + "/files/" + goFileId,
-                    HttpMethod.DELETE,
-                    requestEntity,
-                    Void.class
-            );
-        } catch (Exception e) {
-            System.err.println("Storage cleanup failed for file ");
+        if (report.getFileKey() != null) {
+            try {
+                filesServiceClient.delete(report.getFileKey(), ownerId).block();
+            } catch (Exception e) {
+                log.warn("Could not remove report file {}: {}", report.getFileKey(), e.getMessage());
+            }
         }
 
         reportRepository.delete(report);
@@ -0,0 +1,119 @@
+package com.ecp.les_constructions_dominic_cyr.backend.ReportSubdomain.BusinessLayer;
+
+import com.ecp.les_constructions_dominic_cyr.backend.ReportSubdomain.DataAccessLayer.AnalyticsDailyRow;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Generated stand-in for Google Analytics, for running and load-testing reports without credentials.
+ *
+ * <p>Every day is generated from {@code seed} and the date alone, so the same day always has the
+ * same rows whatever range it is requested in. Traffic is skewed towards a few pages, sources and
+ * cities and dips on weekends, which keeps the rendered reports close to real ones in shape.
+ * {@code reports.analytics.synthetic.rows-per-day} sets the volume; a year at 10 000 rows a day
+ * is 3.65 million rows.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "reports.analytics.source", havingValue = SyntheticAnalyticsDataSource.NAME)
+public class SyntheticAnalyticsDataSource implements AnalyticsDataSource {
+
+    public static final String NAME = "synthetic";
+
+    private static final String[] SOURCES = {
+            "google", "(direct)", "facebook", "instagram", "bing", "kijiji", "newsletter", "houzz", "linkedin", "(not set)"
+    };
+    private static final String[] DEVICES = {"mobile", "desktop", "tablet"};
+    private static final String[] CITIES = {
+            "Montreal", "Laval", "Longueuil", "Brossard", "Saint-Jean-sur-Richelieu", "Granby", "Sherbrooke",
+            "Quebec City", "Gatineau", "Terrebonne", "Boucherville", "Chambly", "Toronto", "Ottawa", "(not set)"
+    };
+
+    private final long seed;
+    private final int rowsPerDay;
+    private final String[] pages;
+
+    public SyntheticAnalyticsDataSource(
+            @Value("${reports.analytics.synthetic.seed:42}") long seed,
+            @Value("${reports.analytics.synthetic.rows-per-day:500}") int rowsPerDay,
+            @Value("${reports.analytics.synthetic.pages:200}") int pageCount) {
+        if (rowsPerDay < 0 || pageCount < 1) {
+            throw new IllegalArgumentException("Synthetic analytics need rows-per-day >= 0 and pages >= 1");
+        }
+        this.seed = seed;
+        this.rowsPerDay = rowsPerDay;
+        this.pages = pagePaths(pageCount);
+        log.warn("Reports are built from synthetic analytics (seed {}, {} rows per day), not Google Analytics",
+                seed, rowsPerDay);
+    }
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public List<AnalyticsDailyRow> fetchDailyRows(LocalDate startDate, LocalDate endDate) {
+        List<AnalyticsDailyRow> rows = new ArrayList<>();
+        for (LocalDate day = startDate; !day.isAfter(endDate); day = day.plusDays(1)) {
+            generateDay(day, rows);
+        }
+        return rows;
+    }
+
+    private void generateDay(LocalDate day, List<AnalyticsDailyRow> rows) {
+        SplittableRandom random = new SplittableRandom(seed ^ (day.toEpochDay() * 0x9E3779B97F4A7C15L));
+        boolean weekend = day.getDayOfWeek() == DayOfWeek.SATURDAY || day.getDayOfWeek() == DayOfWeek.SUNDAY;
+        int dayRows = weekend ? rowsPerDay * 3 / 5 : rowsPerDay;
+
+        for (int i = 0; i < dayRows; i++) {
+            long activeUsers = 1 + (long) (-Math.log(1 - random.nextDouble()) * 4);
+            long sessions = activeUsers + random.nextInt((int) activeUsers + 1);
+            long pageViews = sessions + random.nextInt((int) sessions * 3 + 1);
+            double bounceRate = random.nextDouble(0.15, 0.85);
+
+            AnalyticsDailyRow row = new AnalyticsDailyRow();
+            row.setDate(day);
+            row.setPagePath(skewedPick(pages, random));
+            row.setSource(skewedPick(SOURCES, random));
+            row.setDevice(skewedPick(DEVICES, random));
+            row.setCity(skewedPick(CITIES, random));
+            row.setActiveUsers(activeUsers);
+            row.setSessions(sessions);
+            row.setPageViews(pageViews);
+            row.setBounceRate(bounceRate);
+            row.setAverageSessionDuration(random.nextDouble(5, 420));
+            row.setEngagementRate(1 - bounceRate);
+            row.setScrolledUsers(random.nextLong(activeUsers + 1));
+            rows.add(row);
+        }
+    }
+
+    // Earlier entries are picked far more often, roughly like real traffic
+    private static String skewedPick(String[] values, SplittableRandom random) {
+        double r = random.nextDouble();
+        return values[(int) (values.length * r * r * r)];
+    }
+
+    private static String[] pagePaths(int count) {
+        String[] paths = new String[count];
+        paths[0] = "/";
+        for (int i = 1; i < count; i++) {
+            paths[i] = switch (i % 4) {
+                case 1 -> "/projects/project-" + i;
+                case 2 -> "/residential-projects/lot-" + i;
+                case 3 -> "/renovations/renovation-" + i;
+                default -> i == 4 ? "/contact" : "/projects/project-" + i + "/gallery";
+            };
+        }
+        return paths;
+    }
+}
@@ -1,40 +1,111 @@
 package com.ecp.les_constructions_dominic_cyr.backend.ReportSubdomain.BusinessLayer;
 
 import org.apache.poi.ss.usermodel.*;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.Map;
 
+/**
+ * Renders the analytics workbook. By default it streams: only the last {@code reports.xlsx.row-window}
+ * rows of each sheet stay in memory, older rows are flushed to compressed temp files, and the finished
+ * workbook is written straight to the caller's stream. Set {@code reports.xlsx.streaming=false} to build
+ * the whole workbook in memory instead.
+ */
 @Service
 public class XLSXReportGenerator {
 
+    // Excel caps column widths at 255 characters
+    private static final int MAX_COLUMN_CHARS = 255;
+
+    private final boolean streaming;
+    private final int rowWindow;
+
+    public XLSXReportGenerator(@Value("${reports.xlsx.streaming:true}") boolean streaming,
+                               @Value("${reports.xlsx.row-window:100}") int rowWindow) {
+        this.streaming = streaming;
+        this.rowWindow = rowWindow;
+    }
+
     public byte[] generateXLSXReport(Map<String, Object> analyticsData,
                                      LocalDateTime startDate,
                                      LocalDateTime endDate) throws Exception {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        writeXLSXReport(analyticsData, startDate, endDate, baos);
+        return baos.toByteArray();
+    }
 
-        Workbook workbook = new XSSFWorkbook();
-
-        // Updated Sheet structure to match 5-page audit depth
-        createSummarySheet(workbook, analyticsData, startDate, endDate);
-        createProjectPerformanceSheet(workbook, analyticsData); // NEW
-        createTrafficSourceSheet(workbook, analyticsData);      // NEW
-        createGeographicSheet(workbook, analyticsData);        // UPDATED to City
-        createDeviceSheet(workbook, analyticsData);
+    /**
+     * The workbook as a stream of chunks, rendered on a worker thread as the subscriber consumes it,
+     * so it can be uploaded without ever being held in memory as a whole.
+     */
+    public Flux<DataBuffer> streamXLSXReport(Map<String, Object> analyticsData,
+                                             LocalDateTime startDate,
+                                             LocalDateTime endDate) {
+        return Flux.from(DataBufferUtils.outputStreamPublisher(out -> {
+            try {
+                writeXLSXReport(analyticsData, startDate, endDate, out);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, DefaultDataBufferFactory.sharedInstance, task -> Schedulers.boundedElastic().schedule(task)));
+    }
 
-        ByteArrayOutputStream baos = new ByteArrayOutputStream();
-        workbook.write(baos);
-        workbook.close();
+    /**
+     * Writes the workbook to {@code out}, which is left open.
+     */
+    public void writeXLSXReport(Map<String, Object> analyticsData,
+                                LocalDateTime startDate,
+                                LocalDateTime endDate,
+                                OutputStream out) throws IOException {
+        SXSSFWorkbook streamingWorkbook = null;
+        Workbook workbook;
+        if (streaming) {
+            streamingWorkbook = new SXSSFWorkbook(rowWindow);
+            streamingWorkbook.setCompressTempFiles(true);
+            workbook = streamingWorkbook;
+        } else {
+            workbook = new XSSFWorkbook();
+        }
 
-        return baos.toByteArray();
+        try {
+            // Updated Sheet structure to match 5-page audit depth
+            createSummarySheet(workbook, analyticsData, startDate, endDate);
+            createProjectPerformanceSheet(workbook, analyticsData); // NEW
+            createTrafficSourceSheet(workbook, analyticsData);      // NEW
+            createGeographicSheet(workbook, analyticsData);        // UPDATED to City
+            createDeviceSheet(workbook, analyticsData);
+
+            workbook.write(out);
+        } finally {
+            if (streamingWorkbook != null) {
+                streamingWorkbook.dispose();
+            }
+            workbook.close();
+        }
     }
 
     private void createSummarySheet(Workbook workbook, Map<String, Object> analyticsData,
                                     LocalDateTime startDate, LocalDateTime endDate) {
         Sheet sheet = workbook.createSheet("Executive Summary");
+        if (sheet instanceof SXSSFSheet streamingSheet) {
+            // The summary is short, so measuring each cell for auto-sizing is cheap
+            streamingSheet.trackAllColumnsForAutoSizing();
+        }
         CellStyle headerStyle = createHeaderStyle(workbook);
         int rowNum = 0;
 
@@ -109,6 +180,7 @@ public class XLSXReportGenerator {
             cell.setCellStyle(headerStyle);
         }
 
+        int[] widths = {headers[0].length(), headers[1].length()};
         int rowNum = 1;
         if (data != null) {
             List<? extends Map.Entry<String, ? extends Number>> sortedEntries = data.entrySet().stream()
@@ -119,10 +191,21 @@ public class XLSXReportGenerator {
                 Row row = sheet.createRow(rowNum++);
                 row.createCell(0).setCellValue(entry.getKey());
                 row.createCell(1).setCellValue(entry.getValue().doubleValue());
+                widths[0] = Math.max(widths[0], entry.getKey().length());
+                widths[1] = Math.max(widths[1], entry.getValue().toString().length());
             }
         }
-        sheet.autoSizeColumn(0);
-        sheet.autoSizeColumn(1);
+        setColumnWidths(sheet, widths);
+    }
+
+    /**
+     * Sizes columns from the longest value written to them. Used for data sheets, where measuring
+     * every cell with {@link Sheet#autoSizeColumn} would need the whole sheet in memory.
+     */
+    private void setColumnWidths(Sheet sheet, int[] widthsInChars) {
+        for (int i = 0; i < widthsInChars.length; i++) {
+            sheet.setColumnWidth(i, Math.min(widthsInChars[i] + 2, MAX_COLUMN_CHARS) * 256);
+        }
     }
 
     private void createDataRow(Sheet sheet, int rowNum, String label, Object value) {
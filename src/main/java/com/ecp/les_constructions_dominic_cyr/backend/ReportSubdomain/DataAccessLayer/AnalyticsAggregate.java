@@ -0,0 +1,64 @@
+package com.ecp.les_constructions_dominic_cyr.backend.ReportSubdomain.DataAccessLayer;
+
+import java.time.LocalDate;
+
+/**
+ * Aggregates over stored {@link AnalyticsDailyRow}s, computed by the database so a report never
+ * loads the rows themselves.
+ */
+public interface AnalyticsAggregate {
+
+    interface ByDate {
+        LocalDate getDate();
+
+        Long getActiveUsers();
+
+        Long getSessions();
+    }
+
+    interface ByDimension {
+        String getDimensionValue();
+
+        Long getTotal();
+    }
+
+    /**
+     * Sums over all rows; rate and duration are summed per row so callers can average them.
+     */
+    interface Totals {
+        Long getRowCount();
+
+        Long getActiveUsers();
+
+        Long getSessions();
+
+        Long getPageViews();
+
+        Long getScrolledUsers();
+
+        Double getBounceRate();
+
+        Double getSessionDuration();
+    }
+
+    /**
+     * Per-page sums, including the sum of squared sessions for the session spread across rows.
+     */
+    interface ByPage {
+        String getPagePath();
+
+        Long getRowCount();
+
+        Long getPageViews();
+
+        Long getActiveUsers();
+
+        Long getScrolledUsers();
+
+        Double getSessionDuration();
+
+        Long getSessions();
+
+        Long getSessionsSquared();
+    }
+}
@@ -0,0 +1,62 @@
+package com.ecp.les_constructions_dominic_cyr.backend.ReportSubdomain.DataAccessLayer;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+
+/**
+ * One Google Analytics row for a day, at the report's full dimension depth
+ * (page, source, device, city). Days are stored and replaced as a whole; see {@link AnalyticsDaySync}.
+ */
+@Entity
+@Table(name = "analytics_daily_rows", indexes = {
+        @Index(name = "idx_analytics_daily_rows_date", columnList = "metric_date")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+public class AnalyticsDailyRow {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "metric_date", nullable = false)
+    private LocalDate date;
+
+    @Column(name = "page_path", nullable = false, length = 2048)
+    private String pagePath;
+
+    @Column(name = "session_source", nullable = false, length = 512)
+    private String source;
+
+    @Column(name = "device_category", nullable = false, length = 64)
+    private String device;
+
+    @Column(name = "city", nullable = false)
+    private String city;
+
+    @Column(name = "active_users", nullable = false)
+    private long activeUsers;
+
+    @Column(name = "sessions", nullable = false)
+    private long sessions;
+
+    @Column(name = "page_views", nullable = false)
+    private long pageViews;
+
+    @Column(name = "bounce_rate", nullable = false)
+    private double bounceRate;
+
+    @Column(name = "average_session_duration", nullable = false)
+    private double averageSessionDuration;
+
+    @Column(name = "engagement_rate", nullable = false)
+    private double engagementRate;
+
+    @Column(name = "scrolled_users", nullable = false)
+    private long scrolledUsers;
+}
@@ -0,0 +1,55 @@
+package com.ecp.les_constructions_dominic_cyr.backend.ReportSubdomain.DataAccessLayer;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface AnalyticsDailyRowRepository extends JpaRepository<AnalyticsDailyRow, Long> {
+
+    @Modifying
+    @Query("DELETE FROM AnalyticsDailyRow r WHERE r.date BETWEEN :start AND :end")
+    int deleteByDateBetween(@Param("start") LocalDate start, @Param("end") LocalDate end);
+
+    @Query("SELECT r.date AS date, SUM(r.activeUsers) AS activeUsers, SUM(r.sessions) AS sessions " +
+           "FROM AnalyticsDailyRow r WHERE r.date BETWEEN :start AND :end " +
+           "GROUP BY r.date ORDER BY r.date")
+    List<AnalyticsAggregate.ByDate> sumByDate(@Param("start") LocalDate start, @Param("end") LocalDate end);
+
+    @Query("SELECT r.city AS dimensionValue, SUM(r.activeUsers) AS total " +
+           "FROM AnalyticsDailyRow r WHERE r.date BETWEEN :start AND :end GROUP BY r.city")
+    List<AnalyticsAggregate.ByDimension> sumUsersByCity(@Param("start") LocalDate start, @Param("end") LocalDate end);
+
+    @Query("SELECT r.source AS dimensionValue, SUM(r.activeUsers) AS total " +
+           "FROM AnalyticsDailyRow r WHERE r.date BETWEEN :start AND :end GROUP BY r.source")
+    List<AnalyticsAggregate.ByDimension> sumUsersBySource(@Param("start") LocalDate start, @Param("end") LocalDate end);
+
+    @Query("SELECT r.device AS dimensionValue, SUM(r.activeUsers) AS total " +
+           "FROM AnalyticsDailyRow r WHERE r.date BETWEEN :start AND :end GROUP BY r.device")
+    List<AnalyticsAggregate.ByDimension> sumUsersByDevice(@Param("start") LocalDate start, @Param("end") LocalDate end);
+
+    @Query("SELECT r.pagePath AS dimensionValue, SUM(r.pageViews) AS total " +
+           "FROM AnalyticsDailyRow r WHERE r.date BETWEEN :start AND :end GROUP BY r.pagePath")
+    List<AnalyticsAggregate.ByDimension> sumPageViewsByPath(@Param("start") LocalDate start, @Param("end") LocalDate end);
+
+    @Query("SELECT COUNT(r) AS rowCount, SUM(r.activeUsers) AS activeUsers, SUM(r.sessions) AS sessions, " +
+           "SUM(r.pageViews) AS pageViews, SUM(r.scrolledUsers) AS scrolledUsers, " +
+           "SUM(r.bounceRate) AS bounceRate, SUM(r.averageSessionDuration) AS sessionDuration " +
+           "FROM AnalyticsDailyRow r WHERE r.date BETWEEN :start AND :end")
+    AnalyticsAggregate.Totals totals(@Param("start") LocalDate start, @Param("end") LocalDate end);
+
+    // Project pages and the home page, as scored by the project interest analysis
+    @Query("SELECT r.pagePath AS pagePath, COUNT(r) AS rowCount, SUM(r.pageViews) AS pageViews, " +
+           "SUM(r.activeUsers) AS activeUsers, SUM(r.scrolledUsers) AS scrolledUsers, " +
+           "SUM(r.averageSessionDuration) AS sessionDuration, SUM(r.sessions) AS sessions, " +
+           "SUM(r.sessions * r.sessions) AS sessionsSquared " +
+           "FROM AnalyticsDailyRow r WHERE r.date BETWEEN :start AND :end " +
+           "AND (r.pagePath LIKE '%/projects%' OR r.pagePath = '/') " +
+           "GROUP BY r.pagePath")
+    List<AnalyticsAggregate.ByPage> sumProjectPages(@Param("start") LocalDate start, @Param("end") LocalDate end);
+}
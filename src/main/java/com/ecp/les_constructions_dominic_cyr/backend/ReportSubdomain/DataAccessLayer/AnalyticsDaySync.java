@@ -0,0 +1,40 @@
+package com.ecp.les_constructions_dominic_cyr.backend.ReportSubdomain.DataAccessLayer;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Records when and from which data source the rows of a day were last downloaded. A day without a
+ * record has never been fetched; Google Analytics keeps revising recent days, so those are fetched
+ * again until a download happens after they have settled.
+ */
+@Entity
+@Table(name = "analytics_day_syncs")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class AnalyticsDaySync {
+
+    @Id
+    @Column(name = "metric_date")
+    private LocalDate date;
+
+    @Column(name = "fetched_at", nullable = false)
+    private LocalDateTime fetchedAt;
+
+    @Column(name = "row_count", nullable = false)
+    private int rowCount;
+
+    @Column(name = "data_source", length = 32)
+    private String source;
+}
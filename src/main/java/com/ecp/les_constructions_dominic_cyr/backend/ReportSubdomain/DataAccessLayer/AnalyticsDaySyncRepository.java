@@ -0,0 +1,35 @@
+package com.ecp.les_constructions_dominic_cyr.backend.ReportSubdomain.DataAccessLayer;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface AnalyticsDaySyncRepository extends JpaRepository<AnalyticsDaySync, LocalDate> {
+    List<AnalyticsDaySync> findByDateBetween(LocalDate start, LocalDate end);
+
+    @Query("SELECT COUNT(s) AS dayCount, SUM(s.rowCount) AS rowCount, MAX(s.fetchedAt) AS lastFetchedAt, " +
+           "MIN(s.source) AS firstSource, MAX(s.source) AS lastSource " +
+           "FROM AnalyticsDaySync s WHERE s.date BETWEEN :start AND :end")
+    RangeState summarize(@Param("start") LocalDate start, @Param("end") LocalDate end);
+
+    /**
+     * What is stored for a range of days; it changes whenever any of them is downloaded again.
+     */
+    interface RangeState {
+        Long getDayCount();
+
+        Long getRowCount();
+
+        LocalDateTime getLastFetchedAt();
+
+        String getFirstSource();
+
+        String getLastSource();
+    }
+}
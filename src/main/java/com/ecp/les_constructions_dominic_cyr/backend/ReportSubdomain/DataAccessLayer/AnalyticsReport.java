@@ -8,7 +8,10 @@ import java.util.Map;
 import java.util.UUID;
 
 @Entity
-@Table(name = "analytics_reports")
+@Table(name = "analytics_reports", indexes = {
+        @Index(name = "idx_analytics_reports_status_created", columnList = "status, created_at"),
+        @Index(name = "idx_analytics_reports_owner_fingerprint", columnList = "owner_id, fingerprint")
+})
 public class AnalyticsReport {
 
     @Id
@@ -24,10 +27,10 @@ public class AnalyticsReport {
     @Column(name = "file_format", nullable = false, length = 10)
     private String fileFormat;
 
-    @Column(name = "file_key", nullable = false, length = 500)
+    @Column(name = "file_key", length = 500)
     private String fileKey;
 
-    @Column(name = "file_size", nullable = false)
+    @Column(name = "file_size")
     private Long fileSize;
 
     @Column(name = "generation_timestamp", nullable = false)
@@ -39,8 +42,26 @@ public class AnalyticsReport {
     @Column(name = "end_date")
     private LocalDateTime endDate;
 
+    @Enumerated(EnumType.STRING)
     @Column(name = "status", nullable = false, length = 50)
-    private String status;
+    private ReportStatus status;
+
+    @Column(name = "error_message", length = 1000)
+    private String errorMessage;
+
+    // Hash of the inputs the file was rendered from; completed reports with the same one are reused
+    @Column(name = "fingerprint", length = 64)
+    private String fingerprint;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    // Refreshed by the worker while the job runs; a RUNNING job whose heartbeat stops is requeued
+    @Column(name = "heartbeat_at")
+    private LocalDateTime heartbeatAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
 
     @JdbcTypeCode(SqlTypes.JSON)
     @Column(name = "metadata", columnDefinition = "jsonb")
@@ -60,7 +81,7 @@ public class AnalyticsReport {
             generationTimestamp = LocalDateTime.now();
         }
         if (status == null) {
-            status = "COMPLETED";
+            status = ReportStatus.PENDING;
         }
     }
 
@@ -100,8 +121,23 @@ public class AnalyticsReport {
     public LocalDateTime getEndDate() { return endDate; }
     public void setEndDate(LocalDateTime endDate) { this.endDate = endDate; }
 
-    public String getStatus() { return status; }
-    public void setStatus(String status) { this.status = status; }
+    public ReportStatus getStatus() { return status; }
+    public void setStatus(ReportStatus status) { this.status = status; }
+
+    public String getErrorMessage() { return errorMessage; }
+    public void setErrorMessage(String errorMessage) { this.errorMessage = errorMessage; }
+
+    public String getFingerprint() { return fingerprint; }
+    public void setFingerprint(String fingerprint) { this.fingerprint = fingerprint; }
+
+    public LocalDateTime getStartedAt() { return startedAt; }
+    public void setStartedAt(LocalDateTime startedAt) { this.startedAt = startedAt; }
+
+    public LocalDateTime getHeartbeatAt() { return heartbeatAt; }
+    public void setHeartbeatAt(LocalDateTime heartbeatAt) { this.heartbeatAt = heartbeatAt; }
+
+    public LocalDateTime getCompletedAt() { return completedAt; }
+    public void setCompletedAt(LocalDateTime completedAt) { this.completedAt = completedAt; }
 
     public Map<String, Object> getMetadata() { return metadata; }
     public void setMetadata(Map<String, Object> metadata) { this.metadata = metadata; }
@@ -1,14 +1,101 @@
 package com.ecp.les_constructions_dominic_cyr.backend.ReportSubdomain.DataAccessLayer;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.UUID;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 @Repository
 public interface AnalyticsReportRepository extends JpaRepository<AnalyticsReport, UUID> {
     Page<AnalyticsReport> findByOwnerIdOrderByGenerationTimestampDesc(String ownerId, Pageable pageable);
     List<AnalyticsReport> findByOwnerIdOrderByGenerationTimestampDesc(String ownerId);
-}
\ No newline at end of file
+
+    Optional<AnalyticsReport> findFirstByOwnerIdAndFingerprintAndStatusOrderByCompletedAtDesc(
+            String ownerId, String fingerprint, ReportStatus status);
+
+    /**
+     * Stops an owner's finished reports from being reused; they stay downloadable.
+     */
+    @Modifying
+    @Query("UPDATE AnalyticsReport r SET r.fingerprint = null WHERE r.ownerId = :ownerId AND r.fingerprint IS NOT NULL")
+    int clearFingerprints(@Param("ownerId") String ownerId);
+
+    @Query("SELECT r.id FROM AnalyticsReport r WHERE r.status = :status ORDER BY r.createdAt")
+    List<UUID> findIdsByStatusOrderByCreatedAt(@Param("status") ReportStatus status, Limit limit);
+
+    /**
+     * Moves a job from PENDING to RUNNING. Returns 0 when another worker already took it.
+     */
+    @Modifying
+    @Query("UPDATE AnalyticsReport r SET r.status = :running, r.startedAt = :now, r.heartbeatAt = :now, " +
+           "r.updatedAt = :now WHERE r.id = :id AND r.status = :pending")
+    int claim(@Param("id") UUID id,
+              @Param("pending") ReportStatus pending,
+              @Param("running") ReportStatus running,
+              @Param("now") LocalDateTime now);
+
+    /**
+     * Records a job's file and marks it COMPLETED, provided it is still the run claimed at {@code claimedAt}.
+     * Returns 0 when the job was deleted, or requeued and claimed again, meanwhile.
+     */
+    @Modifying
+    @Query("UPDATE AnalyticsReport r SET r.status = :completed, r.fileKey = :fileKey, r.fileSize = :fileSize, " +
+           "r.generationTimestamp = :now, r.metadata = :metadata, r.fingerprint = :fingerprint, " +
+           "r.errorMessage = null, r.completedAt = :now, r.updatedAt = :now " +
+           "WHERE r.id = :id AND r.status = :running AND r.startedAt = :claimedAt")
+    int complete(@Param("id") UUID id,
+                 @Param("running") ReportStatus running,
+                 @Param("claimedAt") LocalDateTime claimedAt,
+                 @Param("completed") ReportStatus completed,
+                 @Param("fileKey") String fileKey,
+                 @Param("fileSize") Long fileSize,
+                 @Param("metadata") Map<String, Object> metadata,
+                 @Param("fingerprint") String fingerprint,
+                 @Param("now") LocalDateTime now);
+
+    /**
+     * Marks a job FAILED, provided it is still the run claimed at {@code claimedAt}.
+     */
+    @Modifying
+    @Query("UPDATE AnalyticsReport r SET r.status = :failed, r.errorMessage = :errorMessage, " +
+           "r.completedAt = :now, r.updatedAt = :now " +
+           "WHERE r.id = :id AND r.status = :running AND r.startedAt = :claimedAt")
+    int fail(@Param("id") UUID id,
+             @Param("running") ReportStatus running,
+             @Param("claimedAt") LocalDateTime claimedAt,
+             @Param("failed") ReportStatus failed,
+             @Param("errorMessage") String errorMessage,
+             @Param("now") LocalDateTime now);
+
+    /**
+     * Records that the workers running these jobs are still alive.
+     */
+    @Modifying
+    @Query("UPDATE AnalyticsReport r SET r.heartbeatAt = :now WHERE r.id IN :ids AND r.status = :running")
+    int heartbeat(@Param("ids") Collection<UUID> ids,
+                  @Param("running") ReportStatus running,
+                  @Param("now") LocalDateTime now);
+
+    /**
+     * Puts RUNNING jobs whose worker went away (e.g. a restart) back in the queue: those whose heartbeat
+     * stopped before {@code cutoff}, or that never had one and started before it.
+     */
+    @Modifying
+    @Query("UPDATE AnalyticsReport r SET r.status = :pending, r.startedAt = null, r.heartbeatAt = null " +
+           "WHERE r.status = :running AND (r.heartbeatAt < :cutoff " +
+           "OR (r.heartbeatAt IS NULL AND r.startedAt < :cutoff))")
+    int requeueStale(@Param("pending") ReportStatus pending,
+                     @Param("running") ReportStatus running,
+                     @Param("cutoff") LocalDateTime cutoff);
+}
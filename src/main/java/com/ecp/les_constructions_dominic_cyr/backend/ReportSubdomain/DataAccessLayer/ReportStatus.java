@@ -0,0 +1,15 @@
+package com.ecp.les_constructions_dominic_cyr.backend.ReportSubdomain.DataAccessLayer;
+
+/**
+ * Lifecycle of a report generation job. PENDING rows are the job queue; only COMPLETED reports have a file.
+ */
+public enum ReportStatus {
+    PENDING,
+    RUNNING,
+    COMPLETED,
+    FAILED;
+
+    public boolean isFinished() {
+        return this == COMPLETED || this == FAILED;
+    }
+}
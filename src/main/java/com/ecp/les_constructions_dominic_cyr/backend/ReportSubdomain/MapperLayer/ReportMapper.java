@@ -16,12 +16,17 @@ public class ReportMapper {
         dto.setId(report.getId());
         dto.setReportType(report.getReportType());
         dto.setFileFormat(report.getFileFormat());
-        dto.setDownloadUrl(filesServiceBaseUrl + "/download/" + report.getFileKey());
+        if (report.getFileKey() != null) {
+            dto.setDownloadUrl(filesServiceBaseUrl + "/download/" + report.getFileKey());
+        }
         dto.setFileSize(report.getFileSize());
         dto.setGenerationTimestamp(report.getGenerationTimestamp());
         dto.setStartDate(report.getStartDate());
         dto.setEndDate(report.getEndDate());
-        dto.setStatus(report.getStatus());
+        dto.setStatus(report.getStatus() != null ? report.getStatus().name() : null);
+        dto.setErrorMessage(report.getErrorMessage());
+        dto.setStartedAt(report.getStartedAt());
+        dto.setCompletedAt(report.getCompletedAt());
         dto.setMetadata(report.getMetadata());
         return dto;
     }
@@ -1,7 +1,10 @@
 package com.ecp.les_constructions_dominic_cyr.backend.ReportSubdomain.PresentationLayer;
 
+import com.ecp.les_constructions_dominic_cyr.backend.FilesSubdomain.RangedFileDownload;
+import com.ecp.les_constructions_dominic_cyr.backend.ReportSubdomain.BusinessLayer.ReportDownload;
 import com.ecp.les_constructions_dominic_cyr.backend.ReportSubdomain.BusinessLayer.ReportService;
 import com.ecp.les_constructions_dominic_cyr.backend.ReportSubdomain.DataAccessLayer.AnalyticsReport;
+import com.ecp.les_constructions_dominic_cyr.backend.ReportSubdomain.DataAccessLayer.ReportStatus;
 import com.ecp.les_constructions_dominic_cyr.backend.ReportSubdomain.MapperLayer.ReportMapper;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -11,6 +14,8 @@ import org.springframework.http.*;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import java.net.URI;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
@@ -24,9 +29,13 @@ public class ReportController {
     @Autowired
     private ReportMapper reportMapper;
 
+    @Autowired
+    private RangedFileDownload rangedFileDownload;
+
     @PostMapping("/generate")
     public ResponseEntity<ReportResponseDTO> generateReport(
             @Valid @RequestBody ReportRequestDTO request,
+            @RequestParam(defaultValue = "false") boolean refresh,
             @AuthenticationPrincipal Jwt jwt) {
 
         // FIXED: Using String for Auth0 ID instead of UUID
@@ -37,18 +46,33 @@ public class ReportController {
         LocalDateTime endDate = request.getEndDate() != null ?
                 request.getEndDate() : LocalDateTime.now();
 
-        AnalyticsReport report = reportService.generateReport(
+        AnalyticsReport report = reportService.requestReport(
                 ownerId,
                 request.getReportType(),
                 request.getFileFormat(),
                 startDate,
-                endDate
+                endDate,
+                refresh
         );
 
-        return ResponseEntity.status(HttpStatus.CREATED)
+        // An identical report that is already stored comes back as is
+        URI location = URI.create("/api/v1/reports/" + report.getId());
+        if (report.getStatus() == ReportStatus.COMPLETED) {
+            return ResponseEntity.ok().location(location).body(reportMapper.toDTO(report));
+        }
+
+        // Generation runs in the background; poll the report at its Location until it has finished
+        return ResponseEntity.accepted()
+                .location(location)
                 .body(reportMapper.toDTO(report));
     }
 
+    @DeleteMapping("/cache")
+    public ResponseEntity<Void> invalidateCachedReports(@AuthenticationPrincipal Jwt jwt) {
+        reportService.invalidateCachedReports(jwt.getSubject());
+        return ResponseEntity.noContent().build();
+    }
+
     @GetMapping
     public ResponseEntity<Page<ReportResponseDTO>> getReports(
             @RequestParam(defaultValue = "0") int page,
@@ -78,29 +102,20 @@ public class ReportController {
         return ResponseEntity.ok(reportMapper.toDTO(report));
     }
 
+    /**
+     * Streams the report file from files-service, resuming interrupted downloads of large exports
+     * through single byte ranges.
+     */
     @GetMapping("/{reportId}/download")
-    public ResponseEntity<byte[]> downloadReport(
+    public ResponseEntity<StreamingResponseBody> downloadReport(
             @PathVariable UUID reportId,
+            @RequestHeader HttpHeaders headers,
             @AuthenticationPrincipal Jwt jwt) {
 
-        // FIXED: Using String for Auth0 ID instead of UUID
         String ownerId = jwt.getSubject();
-        AnalyticsReport report = reportService.getReportById(reportId, ownerId);
-        byte[] content = reportService.downloadReport(reportId, ownerId);
-
-        String contentType = report.getFileFormat().equalsIgnoreCase("PDF") ?
-                "application/pdf" :
-                "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet";
-
-        String fileName = String.format("analytics_report_%s.%s",
-                report.getGenerationTimestamp().toString().replace(":", "-"),
-                report.getFileFormat().toLowerCase());
-
-        return ResponseEntity.ok()
-                .contentType(MediaType.parseMediaType(contentType))
-                .header(HttpHeaders.CONTENT_DISPOSITION,
-                        "attachment; filename=\"" + fileName + "\"")
-                .body(content);
+        ReportDownload download = reportService.getReportForDownload(reportId, ownerId);
+        return rangedFileDownload.respond(headers, download.fileKey(), download.fileName(), download.contentType(),
+                download.eTag(), download.sizeBytes());
     }
 
     @DeleteMapping("/{reportId}")
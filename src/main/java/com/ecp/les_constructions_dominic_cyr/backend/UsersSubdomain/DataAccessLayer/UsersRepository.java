@@ -2,6 +2,7 @@ package com.ecp.les_constructions_dominic_cyr.backend.UsersSubdomain.DataAccessL
 
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -16,6 +17,8 @@ public interface UsersRepository extends JpaRepository<Users, UserIdentifier> {
 
     Optional<Users> findByUserIdentifier_UserId(UUID userId);
 
+    List<Users> findByUserIdentifier_UserIdIn(Collection<UUID> userIds);
+
     List<Users> findByUserStatus(UserStatus userStatus);
 
     List<Users> findByUserStatusIn(List<UserStatus> statuses);
@@ -0,0 +1,40 @@
+package com.ecp.les_constructions_dominic_cyr.backend.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Runs once after the application context is up and drops the NOT NULL constraints
+ * on {@code analytics_reports.file_key} and {@code file_size}, which queued report jobs
+ * leave empty until they complete. Hibernate's schema update only adds columns, so
+ * databases created before report jobs still carry them.
+ * Safe to run on every startup (idempotent).
+ */
+@Component
+@Order(Integer.MAX_VALUE) // Run after other startup logic
+public class AnalyticsReportsSchemaFixRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(AnalyticsReportsSchemaFixRunner.class);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public AnalyticsReportsSchemaFixRunner(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        try {
+            jdbcTemplate.execute("ALTER TABLE analytics_reports ALTER COLUMN file_key DROP NOT NULL");
+            jdbcTemplate.execute("ALTER TABLE analytics_reports ALTER COLUMN file_size DROP NOT NULL");
+            log.debug("analytics_reports file columns are nullable");
+        } catch (Exception e) {
+            log.warn("Could not relax analytics_reports file columns (non-fatal): {}", e.getMessage());
+        }
+    }
+}
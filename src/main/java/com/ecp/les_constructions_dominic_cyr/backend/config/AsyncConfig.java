@@ -0,0 +1,13 @@
+package com.ecp.les_constructions_dominic_cyr.backend.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+
+/**
+ * Enables {@code @Async} methods; they run on Spring Boot's application task executor,
+ * sized through the {@code spring.task.execution} properties.
+ */
+@Configuration
+@EnableAsync
+public class AsyncConfig {
+}
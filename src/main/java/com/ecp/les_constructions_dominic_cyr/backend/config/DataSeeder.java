@@ -2,6 +2,7 @@ package com.ecp.les_constructions_dominic_cyr.backend.config;
 
 import com.ecp.les_constructions_dominic_cyr.backend.ProjectSubdomain.DataAccessLayer.Realization.Realization;
 import com.ecp.les_constructions_dominic_cyr.backend.ProjectSubdomain.DataAccessLayer.Realization.RealizationRepository;
+import com.ecp.les_constructions_dominic_cyr.backend.ProjectSubdomain.DataAccessLayer.Project.Project;
 import com.ecp.les_constructions_dominic_cyr.backend.ProjectSubdomain.DataAccessLayer.Project.ProjectRepository;
 import com.ecp.les_constructions_dominic_cyr.backend.ProjectSubdomain.DataAccessLayer.Renovation.Renovation;
 import com.ecp.les_constructions_dominic_cyr.backend.ProjectSubdomain.DataAccessLayer.Renovation.RenovationRepository;
@@ -9,8 +10,11 @@ import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Component;
 
+import java.time.LocalDateTime;
 import java.util.Map;
 
 @Component
@@ -30,6 +34,9 @@ public class DataSeeder {
     @Autowired
     private RenovationRepository renovationRepository;
 
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     private static final Map<String, String> PROJECT_IMAGES = Map.of(
             "proj-001-foresta", "473f9e87-3415-491c-98a9-9d017c251911",
             "proj-002-naturest", "6c8127f5-4529-4118-9ab1-cbcb38c4266a"
@@ -39,6 +46,7 @@ public class DataSeeder {
     public void init() {
         log.info("Running data seeder...");
         seedProjectImages();
+        seedFeaturedProjects();
         seedRealizationImages();
         seedRenovationImages();
     }
@@ -55,6 +63,53 @@ public class DataSeeder {
         });
     }
 
+    // Name of the data_seeds row recording that FEATURED_PROJECTS was applied
+    private static final String FEATURED_PROJECTS_SEED = "featured-projects";
+
+    private static final Map<String, Integer> FEATURED_PROJECTS = Map.of(
+            "proj-001-foresta", 1
+    );
+
+    // Featured once: a project the owner un-features later must stay that way across restarts
+    private void seedFeaturedProjects() {
+        if (isSeeded(FEATURED_PROJECTS_SEED)) {
+            return;
+        }
+        boolean found = false;
+        for (Map.Entry<String, Integer> entry : FEATURED_PROJECTS.entrySet()) {
+            Project project = projectRepository.findByProjectIdentifier(entry.getKey()).orElse(null);
+            if (project == null) {
+                continue;
+            }
+            found = true;
+            if (project.getFeaturedRank() == null || project.getFeaturedRank() == 0) {
+                project.setFeaturedRank(entry.getValue());
+                projectRepository.save(project);
+                log.info("Featured project: {} (rank {})", entry.getKey(), entry.getValue());
+            }
+        }
+        // Not marked until the projects exist, so a database filled after the first startup is still seeded
+        if (found) {
+            markSeeded(FEATURED_PROJECTS_SEED);
+        }
+    }
+
+    private boolean isSeeded(String seed) {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS data_seeds (" +
+                "name VARCHAR(100) PRIMARY KEY, applied_at TIMESTAMP NOT NULL)");
+        Integer applied = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM data_seeds WHERE name = ?", Integer.class, seed);
+        return applied != null && applied > 0;
+    }
+
+    private void markSeeded(String seed) {
+        try {
+            jdbcTemplate.update("INSERT INTO data_seeds (name, applied_at) VALUES (?, ?)", seed, LocalDateTime.now());
+        } catch (DuplicateKeyException e) {
+            // Another instance seeded it at the same time
+        }
+    }
+
     private static final Map<String, String> REALIZATION_IMAGES = Map.of(
             "a3f1c0f1-8f2b-4c3d-9d5a-1b2a3c4d5e6f", "c15dc19e-bab3-478c-b0f7-4696acccb69d",
             "b7d2e1a4-2c6f-4b8e-9f3c-7a9b0c1d2e3f", "b4cbbd58-722a-4117-89bd-57c0bbb94970",
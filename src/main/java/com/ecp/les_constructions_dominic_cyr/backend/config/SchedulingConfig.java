@@ -0,0 +1,13 @@
+package com.ecp.les_constructions_dominic_cyr.backend.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables {@code @Scheduled} methods; they run on Spring Boot's task scheduler,
+ * sized through the {@code spring.task.scheduling} properties.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -118,7 +118,9 @@ public class SecurityConfig {
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
                         // --- 1. PUBLIC ENDPOINTS (Originals + New Public Lots) ---
+                        .requestMatchers("/actuator/metrics/**").hasAuthority("ROLE_OWNER")
                         .requestMatchers("/actuator/**", "/api/theme").permitAll()
+                        .requestMatchers("/api/v1/translations/cache/**").hasAuthority("ROLE_OWNER")
                         .requestMatchers("/api/v1/translations/**").permitAll()
                         .requestMatchers("/api/v1/residential-projects/**").permitAll()
                         .requestMatchers("/api/v1/renovations/**").permitAll()
@@ -2,16 +2,15 @@ package com.ecp.les_constructions_dominic_cyr.backend.utils.translation.business
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.buffer.DataBuffer;
-import org.springframework.core.io.buffer.DataBufferUtils;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.client.MultipartBodyBuilder;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.BodyInserters;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
-import java.time.Duration;
 import java.util.Map;
 
 
@@ -23,8 +22,6 @@ public class DeepLService {
     private final String apiUrl;
     private static final String DEEPL_FREE_API = "https://api-free.deepl.com/v2";
     private static final String DEEPL_PAID_API = "https://api.deepl.com/v2";
-    private static final Duration POLL_INTERVAL = Duration.ofSeconds(2);
-    private static final Duration MAX_WAIT_TIME = Duration.ofMinutes(5);
 
     public DeepLService(
             @Value("${deepl.api.key:}") String apiKey,
@@ -42,47 +39,27 @@ public class DeepLService {
     }
 
     /**
-     * Translates a PDF document from one language to another.
+     * A document held by DeepL. The key is needed for every later call about it.
+     */
+    public record Document(String documentId, String documentKey) {
+    }
+
+    /**
+     * Uploads a PDF document for translation from one language to another.
+     * The document is passed through as it is read, never held in memory whole.
      * 
-     * @param pdfData the PDF file data as a byte array
+     * @param pdfData the PDF file content; subscribed once
      * @param sourceLanguage the source language code (e.g., "EN", "FR")
      * @param targetLanguage the target language code (e.g., "EN", "FR")
-     * @return Mono containing the translated PDF as a byte array
+     * @return Mono containing the document DeepL is translating
      */
-    public Mono<byte[]> translatePdf(byte[] pdfData, String sourceLanguage, String targetLanguage) {
+    public Mono<Document> uploadDocument(Flux<DataBuffer> pdfData, String sourceLanguage, String targetLanguage) {
         if (apiKey == null || apiKey.isEmpty()) {
             return Mono.error(new IllegalStateException("DeepL API key is not configured. Please set deepl.api.key in application.properties"));
         }
 
-        // Step 1: Upload document and get document ID and key
-        return uploadDocument(pdfData, sourceLanguage, targetLanguage)
-                .flatMap(response -> {
-                    String documentId = response.get("document_id");
-                    String documentKey = response.get("document_key");
-                    
-                    if (documentId == null || documentKey == null) {
-                        return Mono.error(new IllegalStateException("Failed to upload document to DeepL"));
-                    }
-                    
-                    // Step 2: Poll for translation status
-                    return pollTranslationStatus(documentId, documentKey)
-                            .flatMap(status -> {
-                                if ("done".equals(status)) {
-                                    // Step 3: Download translated document
-                                    return downloadTranslatedDocument(documentId, documentKey);
-                                } else if ("error".equals(status)) {
-                                    return Mono.error(new IllegalStateException("Translation failed on DeepL side"));
-                                } else {
-                                    return Mono.error(new IllegalStateException("Translation timed out or failed"));
-                                }
-                            });
-                });
-    }
-
-
-    private Mono<Map<String, String>> uploadDocument(byte[] pdfData, String sourceLanguage, String targetLanguage) {
         MultipartBodyBuilder builder = new MultipartBodyBuilder();
-        builder.part("file", pdfData)
+        builder.asyncPart("file", pdfData, DataBuffer.class)
                 .contentType(MediaType.APPLICATION_PDF)
                 .filename("document.pdf");
         builder.part("target_lang", targetLanguage.toUpperCase());
@@ -96,78 +73,61 @@ public class DeepLService {
                 .body(BodyInserters.fromMultipartData(builder.build()))
                 .retrieve()
                 .bodyToMono(Map.class)
-                .cast(Map.class)
-                .map(response -> {
+                .flatMap(response -> {
                     // DeepL returns document_id and document_key
-                    Map<String, String> result = new java.util.HashMap<>();
-                    result.put("document_id", (String) response.get("document_id"));
-                    result.put("document_key", (String) response.get("document_key"));
-                    return result;
+                    String documentId = (String) response.get("document_id");
+                    String documentKey = (String) response.get("document_key");
+                    if (documentId == null || documentKey == null) {
+                        return Mono.error(new IllegalStateException("Failed to upload document to DeepL"));
+                    }
+                    return Mono.just(new Document(documentId, documentKey));
                 });
     }
 
     /**
-     * Polls the translation status until it's done or an error occurs.
+     * Status of a document as reported by DeepL: "queued", "translating", "done" or "error".
+     * {@code secondsRemaining} is DeepL's estimate while translating, and may be absent.
      */
-    private Mono<String> pollTranslationStatus(String documentId, String documentKey) {
-        return checkTranslationStatus(documentId, documentKey)
-                .expand(status -> {
-                    if ("done".equals(status) || "error".equals(status)) {
-                        return Mono.empty();
-                    }
-                    return checkTranslationStatus(documentId, documentKey);
-                })
-                .take(Duration.ofSeconds(MAX_WAIT_TIME.getSeconds()))
-                .last()
-                .timeout(MAX_WAIT_TIME)
-                .onErrorReturn("error");
+    public record DocumentStatus(String status, Integer secondsRemaining, String errorMessage) {
+
+        public boolean isFinished() {
+            return "done".equals(status) || "error".equals(status);
+        }
     }
 
     /**
-     * Checks the current translation status.
+     * Checks the current translation status of a document, with one request. Waiting for a document
+     * is {@link DeepLStatusScheduler}'s job, so that all documents share one polling loop.
      */
-    private Mono<String> checkTranslationStatus(String documentId, String documentKey) {
+    public Mono<DocumentStatus> checkStatus(Document document) {
         return webClient.get()
                 .uri(uriBuilder -> uriBuilder
                         .path("/document/{documentId}")
-                        .queryParam("document_key", documentKey)
-                        .build(documentId))
+                        .queryParam("document_key", document.documentKey())
+                        .build(document.documentId()))
                 .retrieve()
                 .bodyToMono(Map.class)
                 .map(response -> {
                     String status = (String) response.get("status");
-                    return status != null ? status : "unknown";
+                    Object secondsRemaining = response.get("seconds_remaining");
+                    return new DocumentStatus(status != null ? status : "unknown",
+                            secondsRemaining instanceof Number seconds ? seconds.intValue() : null,
+                            (String) response.get("error_message"));
                 })
-                .defaultIfEmpty("unknown")
-                .delayElement(POLL_INTERVAL);
+                .defaultIfEmpty(new DocumentStatus("unknown", null, null));
     }
 
     /**
-     * Downloads the translated document.
+     * Downloads a translated document, passing it on chunk by chunk as it is received.
      */
-    private Mono<byte[]> downloadTranslatedDocument(String documentId, String documentKey) {
+    public Flux<DataBuffer> downloadTranslatedDocument(Document document) {
         return webClient.get()
                 .uri(uriBuilder -> uriBuilder
                         .path("/document/{documentId}/result")
-                        .queryParam("document_key", documentKey)
-                        .build(documentId))
+                        .queryParam("document_key", document.documentKey())
+                        .build(document.documentId()))
                 .retrieve()
-                .bodyToFlux(DataBuffer.class)
-                .collectList()
-                .map(dataBuffers -> {
-                    int totalSize = dataBuffers.stream()
-                            .mapToInt(DataBuffer::readableByteCount)
-                            .sum();
-                    byte[] result = new byte[totalSize];
-                    int offset = 0;
-                    for (DataBuffer buffer : dataBuffers) {
-                        int length = buffer.readableByteCount();
-                        buffer.read(result, offset, length);
-                        DataBufferUtils.release(buffer);
-                        offset += length;
-                    }
-                    return result;
-                });
+                .bodyToFlux(DataBuffer.class);
     }
 
     /**
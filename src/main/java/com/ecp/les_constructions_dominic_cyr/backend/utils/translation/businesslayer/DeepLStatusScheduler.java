@@ -0,0 +1,186 @@
+package com.ecp.les_constructions_dominic_cyr.backend.utils.translation.businesslayer;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Waits for DeepL to finish translating documents, for all documents at once.
+ *
+ * <p>Instead of a polling loop per document, documents are registered here and a single tick checks
+ * the ones that are due, never more than {@code deepl.status.max-concurrent} at a time. After each
+ * check the next one is scheduled from DeepL's {@code seconds_remaining} estimate when it gives one,
+ * otherwise with exponential backoff from {@code initial-delay} up to {@code max-delay}. A burst of
+ * documents therefore costs a few status requests each rather than one every couple of seconds.
+ */
+@Slf4j
+@Component
+public class DeepLStatusScheduler {
+
+    private final DeepLService deepLService;
+    private final Duration initialDelay;
+    private final Duration maxDelay;
+    private final Duration maxWait;
+    private final int maxConcurrent;
+    private final Map<String, Watch> watches = new ConcurrentHashMap<>();
+    private final AtomicInteger checking = new AtomicInteger();
+    private final Counter statusChecks;
+
+    public DeepLStatusScheduler(DeepLService deepLService,
+                                MeterRegistry meterRegistry,
+                                @Value("${deepl.status.initial-delay:1s}") Duration initialDelay,
+                                @Value("${deepl.status.max-delay:30s}") Duration maxDelay,
+                                @Value("${deepl.status.max-wait:5m}") Duration maxWait,
+                                @Value("${deepl.status.max-concurrent:4}") int maxConcurrent) {
+        this.deepLService = deepLService;
+        this.initialDelay = initialDelay;
+        this.maxDelay = maxDelay;
+        this.maxWait = maxWait;
+        this.maxConcurrent = maxConcurrent;
+        this.statusChecks = meterRegistry.counter("deepl.status.checks");
+        Gauge.builder("deepl.documents.waiting", watches, Map::size).register(meterRegistry);
+    }
+
+    /**
+     * Completes once DeepL has translated the document; fails if DeepL reports an error, no longer
+     * knows the document, or has not finished within {@code deepl.status.max-wait}.
+     */
+    public Mono<Void> awaitTranslation(DeepLService.Document document) {
+        Watch watch = watches.computeIfAbsent(document.documentId(), id -> new Watch(document,
+                System.nanoTime() + initialDelay.toNanos(), System.nanoTime() + maxWait.toNanos()));
+        return watch.result.asMono().then();
+    }
+
+    /**
+     * Checks the documents that are due, as many as the concurrency cap leaves room for. Checks run
+     * asynchronously; one still running when the next tick comes is not started again.
+     */
+    @Scheduled(fixedDelayString = "${deepl.status.tick:500ms}")
+    public void checkDueDocuments() {
+        int free = maxConcurrent - checking.get();
+        if (free <= 0 || watches.isEmpty()) {
+            return;
+        }
+
+        long now = System.nanoTime();
+        List<Watch> due = watches.values().stream()
+                .filter(watch -> !watch.checking && watch.nextCheckAt - now <= 0)
+                .sorted(Comparator.comparingLong(watch -> watch.nextCheckAt))
+                .limit(free)
+                .toList();
+        if (due.isEmpty()) {
+            return;
+        }
+
+        due.forEach(watch -> {
+            watch.checking = true;
+            checking.incrementAndGet();
+        });
+        Flux.fromIterable(due)
+                .flatMap(this::check)
+                .subscribe();
+    }
+
+    private Mono<DeepLService.DocumentStatus> check(Watch watch) {
+        statusChecks.increment();
+        return deepLService.checkStatus(watch.document)
+                .doOnNext(status -> onStatus(watch, status))
+                .doOnError(error -> onCheckFailed(watch, error))
+                .onErrorResume(error -> Mono.empty())
+                .doFinally(signal -> {
+                    watch.checking = false;
+                    checking.decrementAndGet();
+                });
+    }
+
+    private void onStatus(Watch watch, DeepLService.DocumentStatus status) {
+        if ("done".equals(status.status())) {
+            finish(watch, null);
+        } else if ("error".equals(status.status())) {
+            finish(watch, new IllegalStateException("Translation failed on DeepL side"
+                    + (status.errorMessage() != null ? ": " + status.errorMessage() : "")));
+        } else {
+            watch.attempts++;
+            Duration delay = status.secondsRemaining() != null
+                    ? clamp(Duration.ofSeconds(status.secondsRemaining()))
+                    : backoff(watch.attempts);
+            scheduleNext(watch, delay);
+        }
+    }
+
+    private void onCheckFailed(Watch watch, Throwable error) {
+        if (error instanceof WebClientResponseException.NotFound) {
+            finish(watch, new IllegalStateException("DeepL no longer has document " + watch.document.documentId()));
+            return;
+        }
+        watch.attempts++;
+        log.debug("Status check for DeepL document {} failed: {}", watch.document.documentId(), error.getMessage());
+        scheduleNext(watch, backoff(watch.attempts));
+    }
+
+    private void scheduleNext(Watch watch, Duration delay) {
+        long now = System.nanoTime();
+        if (now - watch.deadline >= 0) {
+            finish(watch, new IllegalStateException("Translation timed out after " + maxWait));
+            return;
+        }
+        // Up to 10% jitter, so documents submitted together do not stay in lockstep
+        long jittered = delay.toNanos() + ThreadLocalRandom.current().nextLong(delay.toNanos() / 10 + 1);
+        watch.nextCheckAt = Math.min(now + jittered, watch.deadline);
+    }
+
+    private void finish(Watch watch, Throwable error) {
+        watches.remove(watch.document.documentId(), watch);
+        if (error == null) {
+            watch.result.tryEmitEmpty();
+        } else {
+            watch.result.tryEmitError(error);
+        }
+    }
+
+    private Duration backoff(int attempts) {
+        Duration delay = initialDelay.multipliedBy(1L << Math.min(attempts - 1, 20));
+        return delay.compareTo(maxDelay) > 0 ? maxDelay : delay;
+    }
+
+    private Duration clamp(Duration delay) {
+        if (delay.compareTo(initialDelay) < 0) {
+            return initialDelay;
+        }
+        return delay.compareTo(maxDelay) > 0 ? maxDelay : delay;
+    }
+
+    /**
+     * A document being waited for. Only the one check running on it at a time updates it.
+     */
+    private static final class Watch {
+        private final DeepLService.Document document;
+        private final long deadline;
+        private final Sinks.Empty<Void> result = Sinks.empty();
+        private volatile long nextCheckAt;
+        private volatile boolean checking;
+        private int attempts;
+
+        private Watch(DeepLService.Document document, long firstCheckAt, long deadline) {
+            this.document = document;
+            this.nextCheckAt = firstCheckAt;
+            this.deadline = deadline;
+        }
+    }
+}
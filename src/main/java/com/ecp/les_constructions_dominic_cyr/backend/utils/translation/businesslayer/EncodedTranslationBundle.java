@@ -0,0 +1,59 @@
+package com.ecp.les_constructions_dominic_cyr.backend.utils.translation.businesslayer;
+
+import org.springframework.util.DigestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * A translation response serialized once, ready to be written as is.
+ *
+ * <p>{@code gzip} is null when compressing would not make the body smaller. Both encodings share
+ * the content hash; the gzip one gets its own ETag so caches never mix them up.
+ */
+public record EncodedTranslationBundle(byte[] json, byte[] gzip, String hash) {
+
+    // Below this gzip's header and trailer outweigh what it saves
+    private static final int MIN_GZIP_BYTES = 256;
+
+    public static EncodedTranslationBundle of(byte[] json) {
+        return new EncodedTranslationBundle(json, json.length >= MIN_GZIP_BYTES ? gzip(json) : null,
+                DigestUtils.md5DigestAsHex(json));
+    }
+
+    public String eTag(boolean gzipped) {
+        return "\"" + hash + (gzipped ? "-gzip" : "") + "\"";
+    }
+
+    /**
+     * Whether an If-None-Match header names this bundle, in either encoding.
+     */
+    public boolean matches(String ifNoneMatch) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String tag : ifNoneMatch.split(",")) {
+            String value = tag.trim();
+            if (value.equals("*") || value.equals(eTag(false)) || value.equals(eTag(true))
+                    || value.equals("W/" + eTag(false)) || value.equals("W/" + eTag(true))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 4);
+        // Compressed once per change, so the slowest level costs nothing per request
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out) {{ def.setLevel(Deflater.BEST_COMPRESSION); }}) {
+            gzip.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        byte[] compressed = out.toByteArray();
+        return compressed.length < json.length ? compressed : null;
+    }
+}
@@ -0,0 +1,320 @@
+package com.ecp.les_constructions_dominic_cyr.backend.utils.translation.businesslayer;
+
+import com.itextpdf.kernel.geom.Rectangle;
+import com.itextpdf.kernel.pdf.PdfArray;
+import com.itextpdf.kernel.pdf.PdfDictionary;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfIndirectReference;
+import com.itextpdf.kernel.pdf.PdfName;
+import com.itextpdf.kernel.pdf.PdfObject;
+import com.itextpdf.kernel.pdf.PdfPage;
+import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.kernel.pdf.PdfStream;
+import com.itextpdf.kernel.pdf.PdfString;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.kernel.pdf.WriterProperties;
+import com.itextpdf.kernel.utils.PdfMerger;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Translated PDF pages, cached by the hash of the source page, so a revised document only sends
+ * DeepL the pages that changed.
+ *
+ * <p>A page's hash covers everything it draws: its content streams and the fonts, images and forms
+ * its resources point to, but not its position in the document or links to other pages. Translated
+ * pages are single-page PDFs stored in {@link TranslationCacheService} under {@code page-<hash>_<lang>},
+ * sharing its size limit. DeepL reflows text, so a translation can have a different page count than
+ * its source; pages are only cached when the counts match, otherwise the document is translated whole.
+ */
+@Slf4j
+@Component
+public class PDFPageCache {
+
+    private static final String KEY_PREFIX = "page-";
+    private static final Set<PdfName> IGNORED_KEYS = Set.of(PdfName.Parent, PdfName.P, PdfName.StructParent, PdfName.StructParents);
+
+    private final TranslationCacheService cacheService;
+
+    public PDFPageCache(TranslationCacheService cacheService) {
+        this.cacheService = cacheService;
+    }
+
+    /**
+     * How a PDF will be translated. {@code pageHashes} is null when the PDF could not be split into
+     * pages; {@code missingPages} are the 1-based pages with no cached translation.
+     */
+    public record PagePlan(List<String> pageHashes, List<Integer> missingPages) {
+
+        public boolean paged() {
+            return pageHashes != null;
+        }
+
+        public boolean wholeDocument() {
+            return !paged() || missingPages.size() == pageHashes.size();
+        }
+    }
+
+    /**
+     * Writes a PDF to a work file in the cache directory, where it can be split into pages.
+     *
+     * @return Mono containing the file, which the caller deletes
+     */
+    public Mono<Path> spool(Flux<DataBuffer> pdf) {
+        return Mono.fromCallable(cacheService::createTempFile)
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(file -> DataBufferUtils.write(pdf, file)
+                        .thenReturn(file)
+                        .doOnError(error -> deleteQuietly(file))
+                        .doOnCancel(() -> deleteQuietly(file)));
+    }
+
+    /**
+     * Hashes each page of a PDF and finds the pages with no cached translation. A PDF iText cannot
+     * read (damaged, encrypted) gets an unpaged plan and is translated whole.
+     */
+    public Mono<PagePlan> plan(Path sourcePdf, String targetLanguage) {
+        return Mono.fromCallable(() -> {
+                    List<String> pageHashes;
+                    try {
+                        pageHashes = pageHashes(sourcePdf);
+                    } catch (Exception e) {
+                        log.info("PDF cannot be split into pages, translating it whole: {}", e.getMessage());
+                        return new PagePlan(null, List.of());
+                    }
+                    List<Integer> missingPages = new ArrayList<>();
+                    for (int page = 1; page <= pageHashes.size(); page++) {
+                        if (cacheService.getCachedTranslation(keyOf(pageHashes.get(page - 1), targetLanguage)).isEmpty()) {
+                            missingPages.add(page);
+                        }
+                    }
+                    return new PagePlan(pageHashes, missingPages);
+                })
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /**
+     * Copies some pages of a PDF into a new PDF, to be translated on their own.
+     *
+     * @param pages 1-based page numbers, in order
+     * @return Mono containing a work file, which the caller deletes
+     */
+    public Mono<Path> extractPages(Path sourcePdf, List<Integer> pages) {
+        return Mono.fromCallable(() -> {
+                    Path extract = cacheService.createTempFile();
+                    try (PdfDocument source = new PdfDocument(new PdfReader(sourcePdf.toFile()));
+                         PdfDocument target = new PdfDocument(new PdfWriter(extract.toFile()))) {
+                        source.copyPagesTo(pages, target);
+                    } catch (Exception e) {
+                        deleteQuietly(extract);
+                        throw e;
+                    }
+                    return extract;
+                })
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /**
+     * Caches each page of a translation under the hash of the source page it translates.
+     *
+     * @param translatedPdf the translation of the pages hashed to {@code pageHashes}, in order
+     * @return Mono containing false, with nothing cached, if the translation has a different page count
+     */
+    public Mono<Boolean> storePages(Path translatedPdf, List<String> pageHashes, String targetLanguage) {
+        return Flux.using(() -> new PdfDocument(new PdfReader(translatedPdf.toFile())),
+                        translated -> {
+                            if (translated.getNumberOfPages() != pageHashes.size()) {
+                                log.info("Translation has {} pages for {} source pages, not caching its pages",
+                                        translated.getNumberOfPages(), pageHashes.size());
+                                return Flux.just(false);
+                            }
+                            // One page in memory at a time
+                            return Flux.range(1, pageHashes.size())
+                                    .concatMap(page -> Mono.fromCallable(() -> singlePage(translated, page))
+                                            .flatMap(pdf -> cacheService.saveTranslation(
+                                                    keyOf(pageHashes.get(page - 1), targetLanguage),
+                                                    Flux.just(DefaultDataBufferFactory.sharedInstance.wrap(pdf)))))
+                                    .then(Mono.just(true));
+                        },
+                        PdfDocument::close)
+                .subscribeOn(Schedulers.boundedElastic())
+                .single();
+    }
+
+    /**
+     * Puts a translated document together from cached pages and caches it.
+     *
+     * @param cacheKey the key the document is cached under
+     * @param pageHashes the hashes of the source document's pages, in order
+     * @return Mono containing the cached document, or empty if a page has been evicted from the cache
+     */
+    public Mono<Path> assemble(String cacheKey, List<String> pageHashes, String targetLanguage) {
+        return Mono.fromCallable(() -> {
+                    List<Path> pages = new ArrayList<>();
+                    for (String pageHash : pageHashes) {
+                        Optional<Path> page = cacheService.getCachedTranslation(keyOf(pageHash, targetLanguage));
+                        if (page.isEmpty()) {
+                            log.info("Translated page {} was evicted from the cache", pageHash);
+                            return null;
+                        }
+                        pages.add(page.get());
+                    }
+
+                    Path assembled = cacheService.createTempFile();
+                    try (PdfDocument target = new PdfDocument(new PdfWriter(assembled.toString(),
+                            new WriterProperties().useSmartMode()))) {
+                        PdfMerger merger = new PdfMerger(target);
+                        for (Path page : pages) {
+                            try (PdfDocument source = new PdfDocument(new PdfReader(page.toFile()))) {
+                                merger.merge(source, 1, source.getNumberOfPages());
+                            }
+                        }
+                    } catch (Exception e) {
+                        deleteQuietly(assembled);
+                        if (pages.stream().anyMatch(Files::notExists)) {
+                            log.info("A translated page was evicted from the cache while assembling {}", cacheKey);
+                            return null;
+                        }
+                        throw e;
+                    }
+                    return assembled;
+                })
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(assembled -> cacheService.saveTranslation(cacheKey, cacheService.read(assembled))
+                        .doFinally(signal -> deleteQuietly(assembled)));
+    }
+
+    private static String keyOf(String pageHash, String targetLanguage) {
+        return KEY_PREFIX + pageHash + "_" + targetLanguage.toLowerCase();
+    }
+
+    private static byte[] singlePage(PdfDocument document, int page) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (PdfDocument single = new PdfDocument(new PdfWriter(out))) {
+            document.copyPagesTo(page, page, single);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Hashes each page of a PDF; equal pages hash alike in any document and at any position.
+     */
+    static List<String> pageHashes(Path pdf) throws IOException {
+        List<String> hashes = new ArrayList<>();
+        try (PdfDocument document = new PdfDocument(new PdfReader(pdf.toFile()))) {
+            for (int number = 1; number <= document.getNumberOfPages(); number++) {
+                PdfPage page = document.getPage(number);
+                MessageDigest digest = sha256();
+                Map<PdfIndirectReference, Integer> visited = new HashMap<>();
+                digest(page.getPdfObject(), page.getPdfObject(), digest, visited);
+                // Inheritable from the page tree, so not necessarily in the page's own dictionary
+                digest(page.getResources().getPdfObject(), page.getPdfObject(), digest, visited);
+                Rectangle mediaBox = page.getMediaBox();
+                update(digest, 'b', (mediaBox.getX() + " " + mediaBox.getY() + " " + mediaBox.getWidth() + " "
+                        + mediaBox.getHeight()).getBytes(StandardCharsets.US_ASCII));
+                update(digest, 'r', Integer.toString(page.getRotation()).getBytes(StandardCharsets.US_ASCII));
+                hashes.add(HexFormat.of().formatHex(digest.digest()));
+            }
+        }
+        return hashes;
+    }
+
+    // Canonical form of a PDF object graph: dictionary keys sorted, shared objects visited once
+    private static void digest(PdfObject object, PdfDictionary page, MessageDigest digest,
+                               Map<PdfIndirectReference, Integer> visited) {
+        if (object == null) {
+            update(digest, 'n', new byte[0]);
+            return;
+        }
+        if (object.getType() == PdfObject.INDIRECT_REFERENCE) {
+            digest(((PdfIndirectReference) object).getRefersTo(), page, digest, visited);
+            return;
+        }
+        PdfIndirectReference reference = object.getIndirectReference();
+        if (reference != null) {
+            Integer seen = visited.putIfAbsent(reference, visited.size());
+            if (seen != null) {
+                update(digest, '@', Integer.toString(seen).getBytes(StandardCharsets.US_ASCII));
+                return;
+            }
+        }
+
+        switch (object.getType()) {
+            case PdfObject.DICTIONARY, PdfObject.STREAM -> {
+                PdfDictionary dictionary = (PdfDictionary) object;
+                PdfName type = dictionary.getAsName(PdfName.Type);
+                if (dictionary != page && (PdfName.Page.equals(type) || PdfName.Pages.equals(type))) {
+                    // Links to other pages; what those pages hold is not part of this one
+                    update(digest, 'p', new byte[0]);
+                    return;
+                }
+                update(digest, '<', new byte[0]);
+                dictionary.keySet().stream()
+                        .filter(key -> !IGNORED_KEYS.contains(key))
+                        .sorted()
+                        .forEach(key -> {
+                            update(digest, '/', key.getValue().getBytes(StandardCharsets.UTF_8));
+                            digest(dictionary.get(key), page, digest, visited);
+                        });
+                update(digest, '>', new byte[0]);
+                if (object.getType() == PdfObject.STREAM) {
+                    update(digest, 's', ((PdfStream) object).getBytes(false));
+                }
+            }
+            case PdfObject.ARRAY -> {
+                PdfArray array = (PdfArray) object;
+                update(digest, '[', new byte[0]);
+                for (int i = 0; i < array.size(); i++) {
+                    digest(array.get(i), page, digest, visited);
+                }
+                update(digest, ']', new byte[0]);
+            }
+            case PdfObject.STRING -> update(digest, '(', ((PdfString) object).getValueBytes());
+            default -> update(digest, 'v', object.toString().getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private static void update(MessageDigest digest, char tag, byte[] bytes) {
+        digest.update((byte) tag);
+        digest.update(ByteBuffer.allocate(4).putInt(bytes.length).array());
+        digest.update(bytes);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete {}: {}", file, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,276 @@
+package com.ecp.les_constructions_dominic_cyr.backend.utils.translation.businesslayer;
+
+import com.ecp.les_constructions_dominic_cyr.backend.utils.translation.dataaccesslayer.PDFTranslationJob;
+import com.ecp.les_constructions_dominic_cyr.backend.utils.translation.dataaccesslayer.PDFTranslationJobRepository;
+import com.ecp.les_constructions_dominic_cyr.backend.utils.translation.dataaccesslayer.PDFTranslationJobStatus;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Runs each PDF translation once however many requests ask for it at the same time.
+ *
+ * <p>Jobs are keyed by their translation's cache key, so a request for a PDF and language already
+ * being translated joins that job instead of uploading to DeepL again, and only that job writes the
+ * cache. Job state is kept in {@code pdf_translation_jobs}: once DeepL has the document, its ID and
+ * key are stored, and a job interrupted by a restart resumes waiting for the result on startup.
+ *
+ * <p>Through {@link PDFPageCache}, a job for a revised PDF only sends DeepL the pages it has not
+ * translated before, then puts the document back together from cached pages.
+ */
+@Slf4j
+@Component
+public class PDFTranslationJobRegistry {
+
+    private final DeepLService deepLService;
+    private final DeepLStatusScheduler statusScheduler;
+    private final TranslationCacheService cacheService;
+    private final PDFPageCache pageCache;
+    private final FileServiceUploader fileServiceUploader;
+    private final PDFTranslationJobRepository jobRepository;
+    private final Map<String, InFlight> inFlight = new ConcurrentHashMap<>();
+
+    public PDFTranslationJobRegistry(DeepLService deepLService,
+                                     DeepLStatusScheduler statusScheduler,
+                                     TranslationCacheService cacheService,
+                                     PDFPageCache pageCache,
+                                     FileServiceUploader fileServiceUploader,
+                                     PDFTranslationJobRepository jobRepository) {
+        this.deepLService = deepLService;
+        this.statusScheduler = statusScheduler;
+        this.cacheService = cacheService;
+        this.pageCache = pageCache;
+        this.fileServiceUploader = fileServiceUploader;
+        this.jobRepository = jobRepository;
+    }
+
+    /**
+     * A job in progress. {@code uploaded} completes once DeepL has the document, after which the
+     * source PDF is no longer needed; {@code result} once the translation is in the cache. Both are
+     * shared by every request on the job and keep running if those requests go away.
+     */
+    public record InFlight(Mono<DeepLService.Document> uploaded, Mono<Path> result) {
+    }
+
+    /**
+     * Joins the job translating {@code jobId}, starting it if there is none and the translation is
+     * not cached. The job runs to the end whether or not the caller subscribes.
+     *
+     * @param jobId the translation's cache key
+     * @param pdfContent the source PDF, read only if this call starts the job
+     * @param sourceLanguage the source language (e.g., "en"), or null to let DeepL detect it
+     * @param targetLanguage the target language (e.g., "fr")
+     * @param filename the name the translation is stored under in files-service
+     * @return the job, already complete when the translation was cached
+     */
+    public InFlight submit(String jobId, Supplier<Flux<DataBuffer>> pdfContent,
+                           String sourceLanguage, String targetLanguage, String filename) {
+        Path[] cached = new Path[1];
+        InFlight job = inFlight.computeIfAbsent(jobId, id -> {
+            // Checked under the map's lock: a job that just finished has already filled the cache
+            Optional<Path> translated = cacheService.getCachedTranslation(id);
+            if (translated.isPresent()) {
+                cached[0] = translated.get();
+                return null;
+            }
+
+            log.info("Starting PDF translation job {}", id);
+            PDFTranslationJob newJob = new PDFTranslationJob();
+            newJob.setJobId(id);
+            newJob.setSourceLanguage(sourceLanguage);
+            newJob.setTargetLanguage(targetLanguage);
+            newJob.setFilename(filename);
+            newJob.setCreatedAt(LocalDateTime.now());
+
+            // Spooled to a work file so it can be split into pages, and kept until the job ends
+            AtomicReference<Path> spooled = new AtomicReference<>();
+            Mono<Path> source = Mono.defer(() -> pageCache.spool(pdfContent.get()))
+                    .doOnNext(spooled::set)
+                    .cache();
+            Mono<DeepLService.Document> uploaded = save(newJob, PDFTranslationJobStatus.UPLOADING)
+                    .then(source)
+                    .flatMap(file -> pageCache.plan(file, targetLanguage))
+                    .flatMap(plan -> {
+                        newJob.setPageHashes(plan.paged() ? String.join(",", plan.pageHashes()) : null);
+                        if (plan.wholeDocument()) {
+                            return source.flatMap(file -> upload(newJob, cacheService.read(file)));
+                        }
+                        if (plan.missingPages().isEmpty()) {
+                            log.info("Every page of PDF translation job {} is already translated", id);
+                            newJob.setTranslatedPages("");
+                            return Mono.empty();
+                        }
+                        log.info("PDF translation job {}: translating {} of {} pages", id,
+                                plan.missingPages().size(), plan.pageHashes().size());
+                        newJob.setTranslatedPages(plan.missingPages().stream()
+                                .map(String::valueOf)
+                                .collect(Collectors.joining(",")));
+                        return source.flatMap(file -> pageCache.extractPages(file, plan.missingPages()))
+                                .flatMap(extract -> upload(newJob, cacheService.read(extract))
+                                        .doFinally(signal -> PDFPageCache.deleteQuietly(extract)));
+                    })
+                    .cache();
+            return start(newJob, uploaded, source, spooled);
+        });
+
+        if (job == null) {
+            return new InFlight(Mono.empty(), Mono.just(cached[0]));
+        }
+        job.result().subscribe(path -> { }, error -> { });
+        return job;
+    }
+
+    /**
+     * Resumes jobs DeepL was still translating when the application stopped. Jobs that had not
+     * finished uploading cannot be resumed and are marked failed.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterruptedJobs() {
+        for (PDFTranslationJob job : jobRepository.findByStatus(PDFTranslationJobStatus.UPLOADING)) {
+            job.setStatus(PDFTranslationJobStatus.FAILED);
+            job.setErrorMessage("Interrupted before DeepL received the document");
+            jobRepository.save(job);
+        }
+        for (PDFTranslationJob job : jobRepository.findByStatus(PDFTranslationJobStatus.TRANSLATING)) {
+            log.info("Resuming PDF translation job {}", job.getJobId());
+            inFlight.computeIfAbsent(job.getJobId(), id -> start(job,
+                            Mono.just(new DeepLService.Document(job.getDeeplDocumentId(), job.getDeeplDocumentKey())),
+                            null, new AtomicReference<>()))
+                    .result()
+                    .subscribe(path -> { }, error -> { });
+        }
+    }
+
+    /**
+     * Runs a job from the upload to DeepL to the cached translation. {@code uploaded} is empty when
+     * every page was already translated; {@code source} is null for a job resumed after a restart.
+     */
+    private InFlight start(PDFTranslationJob job, Mono<DeepLService.Document> uploaded,
+                           Mono<Path> source, AtomicReference<Path> spooled) {
+        String jobId = job.getJobId();
+        Mono<Path> result = uploaded
+                .flatMap(document -> receive(job, document, source))
+                .switchIfEmpty(Mono.defer(() -> assemble(job, source)))
+                .flatMap(translated -> save(job, PDFTranslationJobStatus.DONE)
+                        .doOnSuccess(saved -> copyToFilesService(jobId, translated, job.getFilename()))
+                        .thenReturn(translated))
+                .onErrorResume(error -> {
+                    log.warn("PDF translation job {} failed: {}", jobId, error.getMessage());
+                    job.setErrorMessage(error.getMessage() != null && error.getMessage().length() > 1000
+                            ? error.getMessage().substring(0, 1000)
+                            : error.getMessage());
+                    return save(job, PDFTranslationJobStatus.FAILED).then(Mono.error(error));
+                })
+                .doFinally(signal -> {
+                    inFlight.remove(jobId);
+                    Path file = spooled.get();
+                    if (file != null) {
+                        PDFPageCache.deleteQuietly(file);
+                    }
+                })
+                .cache();
+        return new InFlight(uploaded, result);
+    }
+
+    private Mono<DeepLService.Document> upload(PDFTranslationJob job, Flux<DataBuffer> pdf) {
+        return deepLService.uploadDocument(pdf,
+                        deepLService.toDeepLLanguageCode(job.getSourceLanguage()),
+                        deepLService.toDeepLLanguageCode(job.getTargetLanguage()))
+                .flatMap(document -> {
+                    job.setDeeplDocumentId(document.documentId());
+                    job.setDeeplDocumentKey(document.documentKey());
+                    return save(job, PDFTranslationJobStatus.TRANSLATING).thenReturn(document);
+                });
+    }
+
+    // Waits for DeepL and caches the translated document, and its pages when they line up with the source's
+    private Mono<Path> receive(PDFTranslationJob job, DeepLService.Document document, Mono<Path> source) {
+        String jobId = job.getJobId();
+        String targetLanguage = job.getTargetLanguage();
+        List<String> pageHashes = pageHashesOf(job);
+        Flux<DataBuffer> translation = statusScheduler.awaitTranslation(document)
+                .thenMany(deepLService.downloadTranslatedDocument(document));
+
+        if (job.getTranslatedPages() == null) {
+            return cacheService.saveTranslation(jobId, translation)
+                    .flatMap(translated -> pageHashes.isEmpty()
+                            ? Mono.just(translated)
+                            : pageCache.storePages(translated, pageHashes, targetLanguage)
+                                    .onErrorResume(error -> {
+                                        log.warn("Pages of PDF translation job {} were not cached: {}", jobId, error.getMessage());
+                                        return Mono.just(false);
+                                    })
+                                    .thenReturn(translated));
+        }
+
+        List<String> translatedHashes = Arrays.stream(job.getTranslatedPages().split(","))
+                .map(page -> pageHashes.get(Integer.parseInt(page) - 1))
+                .toList();
+        return pageCache.spool(translation)
+                .flatMap(file -> pageCache.storePages(file, translatedHashes, targetLanguage)
+                        .doFinally(signal -> PDFPageCache.deleteQuietly(file)))
+                .flatMap(stored -> stored
+                        ? assemble(job, source)
+                        // The translated pages cannot be matched to the source's, so translate it all
+                        : translateWhole(job, source, "DeepL returned a different number of pages than it was sent"));
+    }
+
+    // Puts the translation together from cached pages, or translates it all if one was evicted meanwhile
+    private Mono<Path> assemble(PDFTranslationJob job, Mono<Path> source) {
+        return pageCache.assemble(job.getJobId(), pageHashesOf(job), job.getTargetLanguage())
+                .switchIfEmpty(Mono.defer(() -> translateWhole(job, source,
+                        "A translated page was evicted from the cache")));
+    }
+
+    private Mono<Path> translateWhole(PDFTranslationJob job, Mono<Path> source, String reason) {
+        if (source == null) {
+            // Resumed after a restart, so the source PDF is gone
+            return Mono.error(new IllegalStateException(reason));
+        }
+        log.info("PDF translation job {}: {}, translating the whole document instead", job.getJobId(), reason);
+        job.setTranslatedPages(null);
+        return source.flatMap(file -> upload(job, cacheService.read(file)))
+                .flatMap(wholeDocument -> receive(job, wholeDocument, source));
+    }
+
+    private static List<String> pageHashesOf(PDFTranslationJob job) {
+        return job.getPageHashes() == null || job.getPageHashes().isEmpty()
+                ? List.of()
+                : List.of(job.getPageHashes().split(","));
+    }
+
+    private void copyToFilesService(String jobId, Path translated, String filename) {
+        fileServiceUploader.uploadTranslatedPdf(cacheService.read(translated), filename, "system")
+                // Requests are served from the cache file meanwhile; a failed copy is only logged
+                .subscribe(fileId -> log.info("Translated PDF {} uploaded to file service with ID: {}", jobId, fileId),
+                        error -> log.warn("Translated PDF {} was not copied to file service: {}", jobId, error.getMessage()));
+    }
+
+    private Mono<Void> save(PDFTranslationJob job, PDFTranslationJobStatus status) {
+        return Mono.fromRunnable(() -> {
+                    job.setStatus(status);
+                    if (status.isFinished()) {
+                        job.setCompletedAt(LocalDateTime.now());
+                    }
+                    jobRepository.save(job);
+                })
+                .subscribeOn(Schedulers.boundedElastic())
+                .then();
+    }
+}
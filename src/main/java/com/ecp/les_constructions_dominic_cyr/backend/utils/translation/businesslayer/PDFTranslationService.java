@@ -0,0 +1,91 @@
+package com.ecp.les_constructions_dominic_cyr.backend.utils.translation.businesslayer;
+
+import com.ecp.les_constructions_dominic_cyr.backend.FilesSubdomain.FilesServiceClient;
+import com.ecp.les_constructions_dominic_cyr.backend.utils.translation.dataaccesslayer.PDFTranslationJob;
+import com.ecp.les_constructions_dominic_cyr.backend.utils.translation.dataaccesslayer.PDFTranslationJobRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.Optional;
+
+/**
+ * Translates uploaded PDFs through DeepL without holding a whole document in memory.
+ *
+ * <p>The upload, which the servlet container has already spooled to disk, is hashed and sent to
+ * DeepL in chunks. The translation is written straight into {@link TranslationCacheService} as it
+ * downloads, and that file is what both the client and files-service read from, so memory use per
+ * request stays a few buffers whatever the size of the PDF. Identical requests share one job
+ * through {@link PDFTranslationJobRegistry}.
+ */
+@Service
+@RequiredArgsConstructor
+public class PDFTranslationService {
+
+    private final TranslationCacheService cacheService;
+    private final PDFTranslationJobRegistry jobRegistry;
+    private final PDFTranslationJobRepository jobRepository;
+
+    /**
+     * Translates a PDF, or returns the cached translation of the same content.
+     *
+     * @param pdf the uploaded PDF
+     * @param sourceLanguage the source language (e.g., "en"), or null to let DeepL detect it
+     * @param targetLanguage the target language (e.g., "fr")
+     * @param downloadFilename the name the translation is stored under in files-service
+     * @return Mono containing the translated PDF file, readable until it is evicted from the cache
+     */
+    public Mono<Path> translate(MultipartFile pdf, String sourceLanguage, String targetLanguage, String downloadFilename) {
+        return jobIdOf(pdf, targetLanguage)
+                .flatMap(jobId -> submit(jobId, pdf, sourceLanguage, targetLanguage, downloadFilename).result());
+    }
+
+    /**
+     * Starts translating a PDF, or joins the job already translating the same content, without
+     * waiting for the translation.
+     *
+     * @return Mono containing the job ID once DeepL has the document (or the translation is cached)
+     */
+    public Mono<String> startTranslation(MultipartFile pdf, String sourceLanguage, String targetLanguage, String downloadFilename) {
+        return jobIdOf(pdf, targetLanguage)
+                .flatMap(jobId -> submit(jobId, pdf, sourceLanguage, targetLanguage, downloadFilename)
+                        .uploaded()
+                        .then(Mono.just(jobId)));
+    }
+
+    /**
+     * The recorded state of a translation job.
+     */
+    public Optional<PDFTranslationJob> getJob(String jobId) {
+        return jobRepository.findById(jobId);
+    }
+
+    /**
+     * The translation a job produced, while it is still cached.
+     *
+     * @throws IllegalArgumentException if {@code jobId} is not a valid job ID
+     */
+    public Optional<Path> getJobResult(String jobId) {
+        return cacheService.getCachedTranslation(jobId);
+    }
+
+    private PDFTranslationJobRegistry.InFlight submit(String jobId, MultipartFile pdf, String sourceLanguage,
+                                                      String targetLanguage, String downloadFilename) {
+        return jobRegistry.submit(jobId, () -> FilesServiceClient.contentOf(pdf),
+                sourceLanguage, targetLanguage, downloadFilename);
+    }
+
+    // The job ID is the translation's cache key
+    private Mono<String> jobIdOf(MultipartFile pdf, String targetLanguage) {
+        return Mono.fromCallable(() -> {
+                    try (InputStream content = pdf.getInputStream()) {
+                        return cacheService.cacheKey(content, targetLanguage);
+                    }
+                })
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+}
@@ -0,0 +1,199 @@
+package com.ecp.les_constructions_dominic_cyr.backend.utils.translation.businesslayer;
+
+import com.ecp.les_constructions_dominic_cyr.backend.FilesSubdomain.FilesServiceClient;
+import com.ecp.les_constructions_dominic_cyr.backend.utils.translation.dataaccesslayer.TranslationRegistry;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.AsyncCacheLoader;
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Parsed translation files, kept in memory per language and page.
+ *
+ * <p>A file is downloaded once however many requests ask for it at the same time. After
+ * {@code translations.cache.refresh-after} the next request still gets the cached content while it
+ * is revalidated in the background with If-None-Match / If-Modified-Since, so an unchanged file is
+ * not downloaded again. If revalidation fails the cached content is kept.
+ *
+ * <p>Each file is also flattened when it is loaded into an immutable index from full dotted key
+ * ({@code page.section.key}) to value, so looking up a key is a single hash probe.
+ */
+@Slf4j
+@Component
+public class TranslationBundleCache {
+
+    private static final TypeReference<Map<String, Object>> JSON_OBJECT = new TypeReference<>() {};
+
+    private final FilesServiceClient filesServiceClient;
+    private final TranslationRegistry registry;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AsyncLoadingCache<String, TranslationFile> files;
+
+    public TranslationBundleCache(FilesServiceClient filesServiceClient,
+                                  TranslationRegistry registry,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${translations.cache.refresh-after:5m}") Duration refreshAfter,
+                                  @Value("${translations.cache.max-files:500}") long maxFiles) {
+        this.filesServiceClient = filesServiceClient;
+        this.registry = registry;
+        this.files = Caffeine.newBuilder()
+                .maximumSize(maxFiles)
+                .refreshAfterWrite(refreshAfter)
+                .recordStats()
+                .buildAsync(new FileLoader());
+        CaffeineCacheMetrics.monitor(meterRegistry, files, "translation-files");
+    }
+
+    /**
+     * The translations of one page, empty when the page has no file for the language.
+     */
+    public Mono<Map<String, Object>> get(String language, String page) {
+        // suppressCancel: the load is shared, one caller going away must not cancel it for the others
+        return Mono.fromFuture(files.get(key(language, page)), true)
+                .map(TranslationFile::content);
+    }
+
+    /**
+     * Leaf values of one page by full dotted key, e.g. {@code home.hero.title}.
+     */
+    public Mono<Map<String, String>> index(String language, String page) {
+        return Mono.fromFuture(files.get(key(language, page)), true)
+                .map(TranslationFile::index);
+    }
+
+    /**
+     * Drops one page of a language, e.g. after its file ID was registered again.
+     */
+    public void evict(String language, String page) {
+        files.synchronous().invalidate(key(language, page));
+    }
+
+    /**
+     * Drops every page of a language.
+     */
+    public void evictLanguage(String language) {
+        String prefix = language.toLowerCase() + ".";
+        List<String> keys = files.synchronous().asMap().keySet().stream()
+                .filter(key -> key.startsWith(prefix))
+                .toList();
+        files.synchronous().invalidateAll(keys);
+    }
+
+    public void evictAll() {
+        files.synchronous().invalidateAll();
+    }
+
+    /**
+     * Revalidates every cached page of a language now instead of waiting for the refresh interval.
+     */
+    public Mono<Void> refreshLanguage(String language) {
+        String prefix = language.toLowerCase() + ".";
+        List<CompletableFuture<TranslationFile>> refreshes = files.synchronous().asMap().keySet().stream()
+                .filter(key -> key.startsWith(prefix))
+                .map(key -> files.synchronous().refresh(key))
+                .toList();
+        return Mono.fromFuture(CompletableFuture.allOf(refreshes.toArray(CompletableFuture[]::new)), true);
+    }
+
+    private static String key(String language, String page) {
+        return language.toLowerCase() + "." + page.toLowerCase();
+    }
+
+    private Map<String, Object> parse(String fileId, byte[] json) {
+        if (json == null || json.length == 0) {
+            return Map.of();
+        }
+        try {
+            Map<String, Object> content = objectMapper.readValue(json, JSON_OBJECT);
+            return content != null ? Collections.unmodifiableMap(content) : Map.of();
+        } catch (IOException e) {
+            log.warn("Translation file {} is not valid JSON: {}", fileId, e.getMessage());
+            return Map.of();
+        }
+    }
+
+    /**
+     * Flattens nested objects into dotted keys under {@code page}. Arrays and scalars are leaves, as
+     * they were for the nested lookups this index replaces. Keys are interned: the same keys appear
+     * in every language.
+     */
+    private static Map<String, String> flatten(String page, Map<String, Object> content) {
+        Map<String, String> index = new HashMap<>();
+        flattenInto(page, content, index);
+        return Map.copyOf(index);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void flattenInto(String prefix, Map<String, Object> node, Map<String, String> index) {
+        for (Map.Entry<String, Object> entry : node.entrySet()) {
+            String key = prefix + "." + entry.getKey();
+            Object value = entry.getValue();
+            if (value instanceof Map<?, ?> child) {
+                flattenInto(key, (Map<String, Object>) child, index);
+            } else if (value != null) {
+                index.put(key.intern(), value.toString());
+            }
+        }
+    }
+
+    /**
+     * Content of a translation file, its flat key index and the validators it was downloaded with.
+     * {@code fileId} is null when the registry has no file for the page.
+     */
+    private record TranslationFile(String fileId, Map<String, Object> content, Map<String, String> index,
+                                   String eTag, String lastModified) {
+
+        TranslationFile(String page, String fileId, Map<String, Object> content, String eTag, String lastModified) {
+            this(fileId, content, flatten(page, content), eTag, lastModified);
+        }
+    }
+
+    private class FileLoader implements AsyncCacheLoader<String, TranslationFile> {
+
+        @Override
+        public CompletableFuture<TranslationFile> asyncLoad(String key, Executor executor) {
+            return download(key, null).toFuture();
+        }
+
+        @Override
+        public CompletableFuture<TranslationFile> asyncReload(String key, TranslationFile oldValue, Executor executor) {
+            return download(key, oldValue).toFuture();
+        }
+
+        private Mono<TranslationFile> download(String key, TranslationFile cached) {
+            int dot = key.indexOf('.');
+            String page = key.substring(dot + 1);
+            String fileId = registry.getFileId(key.substring(0, dot), page);
+            if (fileId == null) {
+                return Mono.just(new TranslationFile(null, Map.of(), Map.of(), null, null));
+            }
+
+            // Validators only apply to the same file; a page pointed at a new file is downloaded in full
+            boolean sameFile = cached != null && fileId.equals(cached.fileId());
+            return filesServiceClient.downloadIfChanged(fileId,
+                            sameFile ? cached.eTag() : null,
+                            sameFile ? cached.lastModified() : null)
+                    .map(download -> sameFile && !download.modified()
+                            ? cached
+                            : new TranslationFile(page, fileId, parse(fileId, download.content()), download.eTag(), download.lastModified()))
+                    .doOnNext(file -> log.debug("Translation file {} ({}) {}", key, fileId,
+                            file == cached ? "unchanged" : "loaded"));
+        }
+    }
+}
@@ -1,21 +1,97 @@
 package com.ecp.les_constructions_dominic_cyr.backend.utils.translation.businesslayer;
 
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Service for caching translated PDF files to avoid redundant DeepL API calls.
- * Saves translated files to resources/translations folder.
+ *
+ * <p>Translations are stored on disk under the SHA-256 of the source PDF and the target language,
+ * so two documents with the same name never share an entry and the same document uploaded under
+ * another name is still a hit. Files are written to a temporary file and moved into place, so a
+ * reader never sees a partial PDF. Once the directory grows past
+ * {@code translations.pdf-cache.max-size} the least recently used translations are deleted.
  */
+@Slf4j
 @Service
 public class TranslationCacheService {
 
-    private static final String CACHE_DIR = "src/main/resources/translations";
-    private static final String CACHE_DIR_ALT = "translations";
+    private static final String EXTENSION = ".pdf";
+    private static final String TEMP_EXTENSION = ".tmp";
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+
+    private final Path cacheDir;
+    private final long maxBytes;
+
+    // Cache key -> file size, least recently used first
+    private final LinkedHashMap<String, Long> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalBytes;
+
+    public TranslationCacheService(
+            @Value("${translations.pdf-cache.directory:translations}") String directory,
+            @Value("${translations.pdf-cache.max-size:512MB}") DataSize maxSize) {
+        this.cacheDir = Paths.get(directory);
+        this.maxBytes = maxSize.toBytes();
+    }
+
+    /**
+     * Indexes translations left by a previous run, oldest use first, and removes interrupted writes.
+     */
+    @PostConstruct
+    void loadIndex() throws IOException {
+        Files.createDirectories(cacheDir);
+        List<Path> cached = new ArrayList<>();
+        try (Stream<Path> files = Files.list(cacheDir)) {
+            files.filter(Files::isRegularFile).forEach(file -> {
+                String name = file.getFileName().toString();
+                if (name.endsWith(TEMP_EXTENSION)) {
+                    deleteQuietly(file);
+                } else if (name.endsWith(EXTENSION)) {
+                    cached.add(file);
+                }
+            });
+        }
+        cached.sort((a, b) -> lastModified(a).compareTo(lastModified(b)));
+
+        synchronized (this) {
+            for (Path file : cached) {
+                String name = file.getFileName().toString();
+                long size = sizeOf(file);
+                entries.put(name.substring(0, name.length() - EXTENSION.length()), size);
+                totalBytes += size;
+            }
+            evictOverLimit(null);
+        }
+        log.info("Translated PDF cache at {}: {} files, {} bytes", cacheDir.toAbsolutePath(), entries.size(), totalBytes);
+    }
 
     /**
      * Checks that a provided string is a safe file path component (no separators or parent references).
@@ -34,12 +110,36 @@ public class TranslationCacheService {
     }
 
     /**
-     * Generates a cache filename based on original filename and target language.
+     * Key of the translation of a PDF into a language: the SHA-256 of its content and the language.
+     * The PDF is read in chunks, never held whole.
+     *
+     * @param sourcePdf the original PDF; read to the end but not closed
+     * @param targetLanguage the target language code (e.g., "fr" or "en")
+     * @return the cache key (e.g., "9f86d0…_fr")
+     * @throws IOException if the PDF cannot be read
+     */
+    public String cacheKey(InputStream sourcePdf, String targetLanguage) throws IOException {
+        validatePathComponent(targetLanguage, "targetLanguage");
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+        byte[] buffer = new byte[READ_BUFFER_SIZE];
+        for (int read; (read = sourcePdf.read(buffer)) != -1; ) {
+            digest.update(buffer, 0, read);
+        }
+        return HexFormat.of().formatHex(digest.digest()) + "_" + targetLanguage.toLowerCase();
+    }
+
+    /**
+     * Generates the filename a translation is downloaded as, based on original filename and target language.
      * Removes existing language suffix (_fr or _en) and adds target language suffix.
-     * 
+     *
      * @param originalFilename the original filename (e.g., "car.pdf" or "car_fr.pdf")
      * @param targetLanguage the target language code (e.g., "fr" or "en")
-     * @return the cache filename (e.g., "car_fr.pdf" or "car_en.pdf")
+     * @return the download filename (e.g., "car_fr.pdf" or "car_en.pdf")
      */
     public String generateCacheFilename(String originalFilename, String targetLanguage) {
         validatePathComponent(targetLanguage, "targetLanguage");
@@ -52,14 +152,14 @@ public class TranslationCacheService {
 
         // Normalize target language to lowercase
         String targetLang = targetLanguage.toLowerCase();
-        
+
         // Extract base name and extension
         int lastDotIndex = originalFilename.lastIndexOf('.');
-        String baseName = lastDotIndex > 0 
-            ? originalFilename.substring(0, lastDotIndex) 
+        String baseName = lastDotIndex > 0
+            ? originalFilename.substring(0, lastDotIndex)
             : originalFilename;
-        String extension = lastDotIndex > 0 
-            ? originalFilename.substring(lastDotIndex) 
+        String extension = lastDotIndex > 0
+            ? originalFilename.substring(lastDotIndex)
             : ".pdf";
 
         // Remove existing language suffix (_fr or _en)
@@ -74,97 +174,152 @@ public class TranslationCacheService {
     }
 
     /**
-     * Gets the cache file path for a given filename and target language.
-     * 
-     * @param filename the cache filename
-     * @return the full path to the cache file
+     * Looks up a cached translation and marks it as recently used.
+     *
+     * @param cacheKey the key from {@link #cacheKey}
+     * @return the cached PDF file, or empty if not cached
      */
-    public Path getCacheFilePath(String filename) {
-        // Try resources/translations first
-        Path cacheDir = Paths.get(CACHE_DIR);
-        if (!Files.exists(cacheDir)) {
-            // Try alternative path (for runtime)
-            cacheDir = Paths.get(CACHE_DIR_ALT);
-        }
-        
-        // Create directory if it doesn't exist
+    public Optional<Path> getCachedTranslation(String cacheKey) {
+        Path path = pathOf(cacheKey);
+        synchronized (this) {
+            if (entries.get(cacheKey) == null) {
+                return Optional.empty();
+            }
+        }
+        if (!Files.isRegularFile(path)) {
+            // Deleted behind our back
+            forget(cacheKey);
+            return Optional.empty();
+        }
         try {
-            Files.createDirectories(cacheDir);
+            // Keeps the use order across restarts
+            Files.setLastModifiedTime(path, FileTime.fromMillis(System.currentTimeMillis()));
         } catch (IOException e) {
-            System.err.println("Failed to create cache directory: " + e.getMessage());
+            log.debug("Could not touch cached translation {}: {}", path, e.getMessage());
         }
-        
-        return cacheDir.resolve(filename);
+        return Optional.of(path);
+    }
+
+    /**
+     * Streams a cached PDF in chunks instead of loading it whole.
+     *
+     * @param cachedPdf a path returned by {@link #getCachedTranslation}
+     * @return the file content
+     */
+    public Flux<DataBuffer> read(Path cachedPdf) {
+        return DataBufferUtils.read(cachedPdf, DefaultDataBufferFactory.sharedInstance, READ_BUFFER_SIZE);
     }
 
     /**
-     * Checks if a cached translation exists for the given filename and target language.
-     * 
-     * @param originalFilename the original filename
-     * @param targetLanguage the target language
-     * @return true if cached file exists, false otherwise
+     * Saves a translated PDF to the cache as it arrives, evicting the least recently used translations
+     * if the cache is over its size limit afterwards. The translation just saved is never evicted by
+     * its own save, so it can always be served; a single oversized PDF goes on the next save.
+     *
+     * @param cacheKey the key from {@link #cacheKey}
+     * @param translatedPdf the translated PDF's content
+     * @return Mono containing the cached file once it is complete
      */
-    public boolean isCached(String originalFilename, String targetLanguage) {
-        String cacheFilename = generateCacheFilename(originalFilename, targetLanguage);
-        Path cachePath = getCacheFilePath(cacheFilename);
-        return Files.exists(cachePath) && Files.isRegularFile(cachePath);
+    public Mono<Path> saveTranslation(String cacheKey, Flux<DataBuffer> translatedPdf) {
+        Path path = pathOf(cacheKey);
+        return Mono.fromCallable(() -> {
+                    Files.createDirectories(cacheDir);
+                    return Files.createTempFile(cacheDir, cacheKey, TEMP_EXTENSION);
+                })
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(temp -> DataBufferUtils.write(translatedPdf, temp)
+                        .then(Mono.fromCallable(() -> {
+                            try {
+                                Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                            } catch (AtomicMoveNotSupportedException e) {
+                                Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING);
+                            }
+                            return path;
+                        }).subscribeOn(Schedulers.boundedElastic()))
+                        .doOnError(error -> {
+                            log.error("Error saving translation {} to cache: {}", cacheKey, error.getMessage());
+                            deleteQuietly(temp);
+                        })
+                        .doOnCancel(() -> deleteQuietly(temp)))
+                .doOnNext(saved -> {
+                    long size = sizeOf(saved);
+                    synchronized (this) {
+                        Long previous = entries.put(cacheKey, size);
+                        totalBytes += size - (previous != null ? previous : 0);
+                        evictOverLimit(cacheKey);
+                    }
+                    log.info("Saved translated PDF to cache: {}", saved);
+                });
     }
 
     /**
-     * Retrieves a cached translated PDF file.
-     * 
-     * @param originalFilename the original filename
-     * @param targetLanguage the target language
-     * @return the cached PDF file as byte array, or null if not found
+     * Creates a work file in the cache directory. The caller deletes it; one left behind by a crash
+     * is removed on the next startup.
+     *
+     * @return the new, empty file
+     * @throws IOException if the file cannot be created
      */
-    public byte[] getCachedTranslation(String originalFilename, String targetLanguage) {
-        if (!isCached(originalFilename, targetLanguage)) {
-            return null;
+    public Path createTempFile() throws IOException {
+        Files.createDirectories(cacheDir);
+        return Files.createTempFile(cacheDir, "work", TEMP_EXTENSION);
+    }
+
+    /**
+     * Gets the cache directory path.
+     *
+     * @return the cache directory path
+     */
+    public Path getCacheDirectory() {
+        return cacheDir;
+    }
+
+    private Path pathOf(String cacheKey) {
+        validatePathComponent(cacheKey, "cacheKey");
+        return cacheDir.resolve(cacheKey + EXTENSION);
+    }
+
+    private synchronized void forget(String cacheKey) {
+        Long size = entries.remove(cacheKey);
+        if (size != null) {
+            totalBytes -= size;
         }
+    }
 
+    // Callers hold the lock. A file being streamed stays readable after it is deleted.
+    private void evictOverLimit(String keep) {
+        Iterator<Map.Entry<String, Long>> eldest = entries.entrySet().iterator();
+        while (totalBytes > maxBytes && eldest.hasNext()) {
+            Map.Entry<String, Long> entry = eldest.next();
+            if (entry.getKey().equals(keep)) {
+                continue;
+            }
+            deleteQuietly(cacheDir.resolve(entry.getKey() + EXTENSION));
+            totalBytes -= entry.getValue();
+            eldest.remove();
+            log.debug("Evicted translated PDF {} from cache", entry.getKey());
+        }
+    }
+
+    private static long sizeOf(Path file) {
         try {
-            String cacheFilename = generateCacheFilename(originalFilename, targetLanguage);
-            Path cachePath = getCacheFilePath(cacheFilename);
-            return Files.readAllBytes(cachePath);
+            return Files.size(file);
         } catch (IOException e) {
-            System.err.println("Error reading cached translation: " + e.getMessage());
-            return null;
+            return 0;
         }
     }
 
-    /**
-     * Saves a translated PDF to the cache.
-     * 
-     * @param originalFilename the original filename
-     * @param targetLanguage the target language
-     * @param translatedPdf the translated PDF as byte array
-     * @return true if saved successfully, false otherwise
-     */
-    public boolean saveTranslation(String originalFilename, String targetLanguage, byte[] translatedPdf) {
+    private static FileTime lastModified(Path file) {
         try {
-            String cacheFilename = generateCacheFilename(originalFilename, targetLanguage);
-            Path cachePath = getCacheFilePath(cacheFilename);
-            Files.write(cachePath, translatedPdf);
-            System.out.println("Saved translated PDF to cache: " + cachePath);
-            return true;
+            return Files.getLastModifiedTime(file);
         } catch (IOException e) {
-            System.err.println("Error saving translation to cache: " + e.getMessage());
-            e.printStackTrace();
-            return false;
+            return FileTime.fromMillis(0);
         }
     }
 
-    /**
-     * Gets the cache directory path.
-     * 
-     * @return the cache directory path
-     */
-    public Path getCacheDirectory() {
-        Path cacheDir = Paths.get(CACHE_DIR);
-        if (!Files.exists(cacheDir)) {
-            cacheDir = Paths.get(CACHE_DIR_ALT);
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete {}: {}", file, e.getMessage());
         }
-        return cacheDir;
     }
 }
-
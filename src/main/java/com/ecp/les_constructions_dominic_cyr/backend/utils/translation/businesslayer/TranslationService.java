@@ -1,39 +1,44 @@
 package com.ecp.les_constructions_dominic_cyr.backend.utils.translation.businesslayer;
 
 import com.ecp.les_constructions_dominic_cyr.backend.utils.translation.dataaccesslayer.TranslationRegistry;
-import com.fasterxml.jackson.core.type.TypeReference;
+import com.ecp.les_constructions_dominic_cyr.backend.utils.translation.mapperlayer.TranslationResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.MediaType;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
-import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.io.UncheckedIOException;
 import java.util.*;
-import java.util.AbstractMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 
 /**
  * Service for handling translation operations.
- * Fetches translation JSON files from the file service and provides them to the frontend.
+ * Serves translation JSON files from the file service, cached in memory by {@link TranslationBundleCache}.
  */
+@Slf4j
 @Service
 public class TranslationService {
 
-    private final WebClient webClient;
+    private final TranslationBundleCache bundleCache;
     private final TranslationRegistry registry;
     private final ObjectMapper objectMapper;
+    // Serialized responses by language (and page), with the cached files they were built from
+    private final Map<String, EncodedEntry> encodedBundles = new ConcurrentHashMap<>();
     private static final List<String> SUPPORTED_LANGUAGES = Arrays.asList("en", "fr");
     private static final String DEFAULT_LANGUAGE = "en";
+    // Namespaces served by getAllTranslations and searched by key lookups
+    private static final List<String> BUNDLE_PAGES = List.of("home", "projects", "lots", "nav", "footer", "messages");
 
     public TranslationService(
-            @Value("${files.service.base-url}") String fileServiceBaseUrl,
-            TranslationRegistry registry) {
+            TranslationBundleCache bundleCache,
+            TranslationRegistry registry,
+            ObjectMapper objectMapper) {
         this.registry = registry;
-        this.objectMapper = new ObjectMapper();
-        this.webClient = WebClient.builder()
-                .baseUrl(fileServiceBaseUrl) // e.g. http://localhost:8082 (dev) or http://files-service:8080 (docker)
-                .build();
+        this.bundleCache = bundleCache;
+        this.objectMapper = objectMapper;
     }
 
     /**
@@ -46,30 +51,27 @@ public class TranslationService {
     public Mono<Map<String, Object>> getAllTranslations(String language) {
         String lang = normalizeLanguage(language);
         
-        // Get all available pages for this language from registry
-        List<String> pages = Arrays.asList("home", "projects", "lots", "nav", "footer", "messages");
-        
         // Fetch all translation files in parallel
         List<Mono<Map.Entry<String, Map<String, Object>>>> translationMonos = new ArrayList<>();
         
-        for (String page : pages) {
+        for (String page : BUNDLE_PAGES) {
             String fileId = registry.getFileId(lang, page);
             if (fileId != null) {
-                Mono<Map.Entry<String, Map<String, Object>>> pageMono = fetchTranslationFile(fileId)
+                Mono<Map.Entry<String, Map<String, Object>>> pageMono = fetchTranslationFile(lang, page)
                         .map(translations -> {
                             AbstractMap.SimpleEntry<String, Map<String, Object>> entry = 
                                 new AbstractMap.SimpleEntry<>(page, translations);
                             return (Map.Entry<String, Map<String, Object>>) entry;
                         })
                         .doOnError(error -> {
-                            System.err.println("Error loading translations for page " + page + " (" + lang + "): " + error.getMessage());
+                            log.warn("Error loading translations for page {} ({}): {}", page, lang, error.getMessage());
                         });
                 translationMonos.add(pageMono);
             }
         }
         
         if (translationMonos.isEmpty()) {
-            System.out.println("No translation files found for language: " + lang);
+            log.info("No translation files found for language: {}", lang);
             return Mono.just(new HashMap<String, Object>());
         }
         
@@ -92,17 +94,98 @@ public class TranslationService {
                 })
         .doOnSuccess(translations -> {
             if (translations.isEmpty()) {
-                System.out.println("No translations loaded for language: " + lang);
+                log.info("No translations loaded for language: {}", lang);
             } else {
-                System.out.println("Loaded translations for " + lang + " with namespaces: " + translations.keySet());
+                log.debug("Loaded translations for {} with namespaces: {}", lang, translations.keySet());
             }
         })
         .onErrorResume(error -> {
-            System.err.println("Error loading translations for language " + lang + ": " + error.getMessage());
+            log.warn("Error loading translations for language {}: {}", lang, error.getMessage());
             return Mono.just(new HashMap<String, Object>());
         });
     }
 
+    /**
+     * Same response as {@link #getAllTranslations}, already serialized and compressed. It is only
+     * encoded again once one of its translation files has changed.
+     *
+     * @param language the language code (e.g., "en", "fr")
+     * @return Mono containing the encoded TranslationResponse
+     */
+    public Mono<EncodedTranslationBundle> getEncodedTranslations(String language) {
+        String lang = normalizeLanguage(language);
+        List<String> pages = BUNDLE_PAGES.stream()
+                .filter(page -> registry.getFileId(lang, page) != null)
+                .toList();
+
+        return Flux.fromIterable(pages)
+                .flatMapSequential(page -> fetchTranslationFile(lang, page))
+                .collectList()
+                .map(contents -> encoded(lang, lang, contents, () -> {
+                    Map<String, Object> allTranslations = new LinkedHashMap<>();
+                    for (int i = 0; i < pages.size(); i++) {
+                        if (!contents.get(i).isEmpty()) {
+                            allTranslations.put(pages.get(i), contents.get(i));
+                        }
+                    }
+                    return allTranslations;
+                }));
+    }
+
+    /**
+     * Same response as {@link #getPageTranslations}, already serialized and compressed.
+     *
+     * @param pageName the page name (e.g., "home", "projects")
+     * @param language the language code (e.g., "en", "fr")
+     * @return Mono containing the encoded TranslationResponse
+     */
+    public Mono<EncodedTranslationBundle> getEncodedPageTranslations(String pageName, String language) {
+        String lang = normalizeLanguage(language);
+        if (registry.getFileId(lang, pageName) == null) {
+            // Not kept: page names come from the URL
+            return Mono.fromSupplier(() -> encode(lang, Map.of()));
+        }
+        return fetchTranslationFile(lang, pageName)
+                .map(content -> encoded(lang + "." + pageName.toLowerCase(), lang, List.of(content), () -> content));
+    }
+
+    /**
+     * Reuses the bundle stored under {@code key} while it was built from the very same cached files.
+     * The bundle cache hands out the same map until a file actually changes, so identity is enough.
+     */
+    private EncodedTranslationBundle encoded(String key, String language, List<Map<String, Object>> sources,
+                                             Supplier<Map<String, Object>> translations) {
+        return encodedBundles.compute(key, (k, entry) -> entry != null && entry.builtFrom(sources)
+                ? entry
+                : new EncodedEntry(sources, encode(language, translations.get()))).bundle();
+    }
+
+    private EncodedTranslationBundle encode(String language, Map<String, Object> translations) {
+        try {
+            return EncodedTranslationBundle.of(objectMapper.writeValueAsBytes(TranslationResponse.builder()
+                    .language(language)
+                    .translations(translations)
+                    .build()));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private record EncodedEntry(List<Map<String, Object>> sources, EncodedTranslationBundle bundle) {
+
+        boolean builtFrom(List<Map<String, Object>> current) {
+            if (current.size() != sources.size()) {
+                return false;
+            }
+            for (int i = 0; i < current.size(); i++) {
+                if (current.get(i) != sources.get(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
     /**
      * Retrieves translations for a specific page/namespace.
      *
@@ -115,13 +198,13 @@ public class TranslationService {
         String fileId = registry.getFileId(lang, pageName);
         
         if (fileId == null) {
-            System.out.println("No translation file found for page: " + pageName + " in language: " + lang);
+            log.info("No translation file found for page: {} in language: {}", pageName, lang);
             return Mono.just(new HashMap<String, Object>());
         }
         
-        return fetchTranslationFile(fileId)
+        return fetchTranslationFile(lang, pageName)
                 .onErrorResume(error -> {
-                    System.err.println("Error loading page translations for " + pageName + " (" + language + "): " + error.getMessage());
+                    log.warn("Error loading page translations for {} ({}): {}", pageName, language, error.getMessage());
                     return Mono.just(new HashMap<String, Object>());
                 });
     }
@@ -140,30 +223,15 @@ public class TranslationService {
 
     /**
      * Retrieves a specific translation by key for a given language.
-     * This searches across all loaded namespaces.
+     * The first part of the key is the namespace; the rest is looked up in its flat key index.
      *
      * @param key the translation key (e.g., "app.title" or "home.welcome")
      * @param language the language code
-     * @return Mono containing the translated value
+     * @return Mono containing the translated value, or the key itself when it has none
      */
     public Mono<String> getTranslation(String key, String language) {
-        return getAllTranslations(language)
-                .map(translations -> {
-                    // Search for key in nested structure
-                    String[] keyParts = key.split("\\.");
-                    Object current = translations;
-                    
-                    for (String part : keyParts) {
-                        if (current instanceof Map) {
-                            current = ((Map<String, Object>) current).get(part);
-                        } else {
-                            return key; // Key not found, return key as fallback
-                        }
-                    }
-                    
-                    return current != null ? current.toString() : key;
-                })
-                .defaultIfEmpty(key);
+        return resolveTranslations(List.of(key), language)
+                .map(found -> found.getOrDefault(key, key));
     }
 
     /**
@@ -171,63 +239,102 @@ public class TranslationService {
      *
      * @param keys list of translation keys
      * @param language the language code
-     * @return Mono containing a map of keys and their translated values
+     * @return Mono containing a map of keys and their translated values; keys without one map to themselves
      */
     public Mono<Map<String, String>> getTranslations(List<String> keys, String language) {
-        return getAllTranslations(language)
-                .map(translations -> {
-                    Map<String, String> result = new HashMap<>();
+        return resolveTranslations(keys, language)
+                .map(found -> {
+                    Map<String, String> result = new LinkedHashMap<>();
                     for (String key : keys) {
-                        String[] keyParts = key.split("\\.");
-                        Object current = translations;
-                        
-                        for (String part : keyParts) {
-                            if (current instanceof Map) {
-                                current = ((Map<String, Object>) current).get(part);
-                            } else {
-                                result.put(key, key);
-                                break;
-                            }
-                        }
-                        
-                        if (current != null && !(current instanceof Map)) {
-                            result.put(key, current.toString());
-                        } else {
-                            result.put(key, key);
-                        }
+                        result.put(key, found.getOrDefault(key, key));
                     }
                     return result;
                 });
     }
 
     /**
-     * Fetches a translation JSON file from the file service.
+     * Looks up many keys at once, loading each namespace they use once.
      *
-     * @param fileId the file ID from the file service
-     * @return Mono containing the parsed JSON as a Map
+     * @param keys list of translation keys
+     * @param language the language code
+     * @return Mono containing the keys that have a translation, with their values, in request order
      */
-    private Mono<Map<String, Object>> fetchTranslationFile(String fileId) {
-        return webClient.get()
-                .uri("/files/{id}", fileId)
-                .accept(MediaType.APPLICATION_JSON)
-                .retrieve()
-                .bodyToMono(String.class)
-                .map(json -> {
-                    try {
-                        TypeReference<Map<String, Object>> typeRef = new TypeReference<Map<String, Object>>() {};
-                        Map<String, Object> result = objectMapper.readValue(json, typeRef);
-                        return result != null ? result : new HashMap<String, Object>();
-                    } catch (Exception e) {
-                        System.err.println("Error parsing translation JSON for file " + fileId + ": " + e.getMessage());
-                        return new HashMap<String, Object>();
+    public Mono<Map<String, String>> resolveTranslations(List<String> keys, String language) {
+        String lang = normalizeLanguage(language);
+        Set<String> namespaces = new LinkedHashSet<>();
+        for (String key : keys) {
+            String namespace = namespaceOf(key);
+            if (BUNDLE_PAGES.contains(namespace)) {
+                namespaces.add(namespace);
+            }
+        }
+
+        return Flux.fromIterable(namespaces)
+                .flatMap(namespace -> bundleCache.index(lang, namespace)
+                        .onErrorResume(error -> {
+                            log.warn("Error loading translations for {}.{}: {}", lang, namespace, error.getMessage());
+                            return Mono.just(Map.of());
+                        })
+                        .map(index -> Map.entry(namespace, index)))
+                .collectMap(Map.Entry::getKey, Map.Entry::getValue)
+                .map(indexes -> {
+                    Map<String, String> found = new LinkedHashMap<>();
+                    for (String key : keys) {
+                        Map<String, String> index = indexes.get(namespaceOf(key));
+                        String value = index != null ? index.get(key) : null;
+                        if (value != null) {
+                            found.put(key, value);
+                        }
                     }
-                })
+                    return found;
+                });
+    }
+
+    private static String namespaceOf(String key) {
+        int dot = key.indexOf('.');
+        return dot > 0 ? key.substring(0, dot) : key;
+    }
+
+    /**
+     * Returns a translation file through the bundle cache, which downloads it from the file service
+     * at most once at a time and revalidates it periodically.
+     *
+     * @param language the normalized language code
+     * @param page the page name
+     * @return Mono containing the parsed JSON as a Map
+     */
+    private Mono<Map<String, Object>> fetchTranslationFile(String language, String page) {
+        return bundleCache.get(language, page)
                 .onErrorResume(error -> {
-                    System.err.println("Error fetching translation file " + fileId + ": " + error.getMessage());
-                    return Mono.just((Map<String, Object>) new HashMap<String, Object>());
+                    log.warn("Error fetching translation file {}.{}: {}", language, page, error.getMessage());
+                    return Mono.just(Map.<String, Object>of());
                 });
     }
 
+    /**
+     * Drops cached translations so they are downloaded again on next use.
+     *
+     * @param language the language code, or null for every language
+     */
+    public void evictCachedTranslations(String language) {
+        if (language == null) {
+            bundleCache.evictAll();
+            encodedBundles.clear();
+        } else {
+            bundleCache.evictLanguage(normalizeLanguage(language));
+        }
+    }
+
+    /**
+     * Revalidates a language's cached translations against the file service now.
+     *
+     * @param language the language code
+     * @return Mono completing once every cached page has been checked
+     */
+    public Mono<Void> refreshCachedTranslations(String language) {
+        return bundleCache.refreshLanguage(normalizeLanguage(language));
+    }
+
     /**
      * Validates if a language is supported.
      *
@@ -0,0 +1,80 @@
+package com.ecp.les_constructions_dominic_cyr.backend.utils.translation.dataaccesslayer;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * A translation of one PDF content into one language through DeepL. The ID is the translation's
+ * cache key (SHA-256 of the source PDF and the target language), so identical requests share a job.
+ * When only some pages needed translating, the page hashes put the document back together.
+ */
+@Entity
+@Table(name = "pdf_translation_jobs", indexes = {
+        @Index(name = "idx_pdf_translation_jobs_status", columnList = "status")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+public class PDFTranslationJob {
+
+    @Id
+    @Column(name = "job_id", length = 100)
+    private String jobId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private PDFTranslationJobStatus status;
+
+    @Column(name = "source_language", length = 10)
+    private String sourceLanguage;
+
+    @Column(name = "target_language", nullable = false, length = 10)
+    private String targetLanguage;
+
+    // Name the translation is downloaded and stored in files-service as
+    @Column(name = "filename", nullable = false)
+    private String filename;
+
+    @Column(name = "deepl_document_id", length = 100)
+    private String deeplDocumentId;
+
+    @Column(name = "deepl_document_key", length = 200)
+    private String deeplDocumentKey;
+
+    // Comma-separated hashes of the source pages, or null if the PDF was not split into pages
+    @Column(name = "page_hashes", columnDefinition = "TEXT")
+    private String pageHashes;
+
+    // Comma-separated 1-based pages sent to DeepL (empty if none), or null if the whole document was
+    @Column(name = "translated_pages", columnDefinition = "TEXT")
+    private String translatedPages;
+
+    @Column(name = "error_message", length = 1000)
+    private String errorMessage;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        if (createdAt == null) {
+            createdAt = LocalDateTime.now();
+        }
+        updatedAt = LocalDateTime.now();
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+}
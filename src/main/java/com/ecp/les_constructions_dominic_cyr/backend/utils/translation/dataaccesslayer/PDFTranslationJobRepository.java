@@ -0,0 +1,12 @@
+package com.ecp.les_constructions_dominic_cyr.backend.utils.translation.dataaccesslayer;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface PDFTranslationJobRepository extends JpaRepository<PDFTranslationJob, String> {
+
+    List<PDFTranslationJob> findByStatus(PDFTranslationJobStatus status);
+}
@@ -0,0 +1,16 @@
+package com.ecp.les_constructions_dominic_cyr.backend.utils.translation.dataaccesslayer;
+
+/**
+ * Lifecycle of a PDF translation job. UPLOADING jobs cannot survive a restart, the source PDF is
+ * gone; TRANSLATING jobs can, DeepL holds the document and only the result is left to fetch.
+ */
+public enum PDFTranslationJobStatus {
+    UPLOADING,
+    TRANSLATING,
+    DONE,
+    FAILED;
+
+    public boolean isFinished() {
+        return this == DONE || this == FAILED;
+    }
+}
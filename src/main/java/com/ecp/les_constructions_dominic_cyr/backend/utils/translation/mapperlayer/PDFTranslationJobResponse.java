@@ -0,0 +1,55 @@
+package com.ecp.les_constructions_dominic_cyr.backend.utils.translation.mapperlayer;
+
+import com.ecp.les_constructions_dominic_cyr.backend.utils.translation.dataaccesslayer.PDFTranslationJobStatus;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO for the state of a PDF translation job.
+ * resultAvailable tells whether the translation can still be downloaded from the job.
+ * translatedPageCount is how many of the pageCount pages were sent to DeepL; the rest were already translated.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PDFTranslationJobResponse {
+
+    @JsonProperty("jobId")
+    private String jobId;
+
+    @JsonProperty("status")
+    private PDFTranslationJobStatus status;
+
+    @JsonProperty("sourceLanguage")
+    private String sourceLanguage;
+
+    @JsonProperty("targetLanguage")
+    private String targetLanguage;
+
+    @JsonProperty("filename")
+    private String filename;
+
+    @JsonProperty("pageCount")
+    private Integer pageCount;
+
+    @JsonProperty("translatedPageCount")
+    private Integer translatedPageCount;
+
+    @JsonProperty("errorMessage")
+    private String errorMessage;
+
+    @JsonProperty("createdAt")
+    private LocalDateTime createdAt;
+
+    @JsonProperty("completedAt")
+    private LocalDateTime completedAt;
+
+    @JsonProperty("resultAvailable")
+    private boolean resultAvailable;
+}
@@ -0,0 +1,27 @@
+package com.ecp.les_constructions_dominic_cyr.backend.utils.translation.mapperlayer;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TranslationLookupResponse {
+
+    @JsonProperty("language")
+    private String language;
+
+    @JsonProperty("translations")
+    private Map<String, String> translations;
+
+    @JsonProperty("missing")
+    private List<String> missing;
+}
@@ -1,21 +1,28 @@
 package com.ecp.les_constructions_dominic_cyr.backend.utils.translation.presentationlayer;
 
 import com.ecp.les_constructions_dominic_cyr.backend.utils.translation.businesslayer.DeepLService;
-import com.ecp.les_constructions_dominic_cyr.backend.utils.translation.businesslayer.FileServiceUploader;
+import com.ecp.les_constructions_dominic_cyr.backend.utils.translation.businesslayer.PDFTranslationService;
 import com.ecp.les_constructions_dominic_cyr.backend.utils.translation.businesslayer.TranslationCacheService;
+import com.ecp.les_constructions_dominic_cyr.backend.utils.translation.dataaccesslayer.PDFTranslationJob;
+import com.ecp.les_constructions_dominic_cyr.backend.utils.translation.dataaccesslayer.PDFTranslationJobStatus;
+import com.ecp.les_constructions_dominic_cyr.backend.utils.translation.mapperlayer.PDFTranslationJobResponse;
 import lombok.RequiredArgsConstructor;
-import org.springframework.core.io.buffer.DataBuffer;
-import org.springframework.core.io.buffer.DataBufferUtils;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.codec.multipart.FilePart;
 import org.springframework.web.bind.annotation.*;
-import reactor.core.publisher.Flux;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import reactor.core.publisher.Mono;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
 
+
+@Slf4j
 @RestController
 @RequestMapping("/api/v1/pdf-translation")
 @RequiredArgsConstructor
@@ -24,11 +31,12 @@ public class PDFTranslationController {
 
     private final DeepLService deepLService;
     private final TranslationCacheService cacheService;
-    private final FileServiceUploader fileServiceUploader;
+    private final PDFTranslationService pdfTranslationService;
 
     /**
      * Translates a PDF document from one language to another.
      * Automatically detects source language and translates to the opposite (EN <-> FR).
+     * The document is streamed to DeepL and the translation back to the client, never held in memory whole.
      * 
      * @param file the PDF file to translate
      * @param sourceLanguage optional source language (EN or FR). If not provided, will be auto-detected.
@@ -36,98 +44,189 @@ public class PDFTranslationController {
      * @return Mono containing the translated PDF file
      */
     @PostMapping(value = "/translate", consumes = MediaType.MULTIPART_FORM_DATA_VALUE, produces = MediaType.APPLICATION_PDF_VALUE)
-    public Mono<ResponseEntity<Flux<DataBuffer>>> translatePdf(
-            @RequestPart("file") Mono<FilePart> file,
+    public Mono<ResponseEntity<StreamingResponseBody>> translatePdf(
+            @RequestPart("file") MultipartFile file,
             @RequestParam(value = "sourceLanguage", required = false) String sourceLanguage,
             @RequestParam(value = "targetLanguage", required = false) String targetLanguage) {
         
-        return file.flatMap(filePart -> {
-            // Validate file type
-            String filename = filePart.filename();
-            String contentType = filePart.headers().getFirst(HttpHeaders.CONTENT_TYPE);
-            boolean isValidPdf = (contentType != null && contentType.contains("pdf")) 
-                    || (filename != null && filename.toLowerCase().endsWith(".pdf"));
-            
-            if (!isValidPdf) {
-                return Mono.just(ResponseEntity.status(HttpStatus.BAD_REQUEST)
-                        .body(Flux.empty()));
-            }
-
-            // Read file content
-            return DataBufferUtils.join(filePart.content())
-                    .flatMap(dataBuffer -> {
-                        byte[] pdfBytes = new byte[dataBuffer.readableByteCount()];
-                        dataBuffer.read(pdfBytes);
-                        DataBufferUtils.release(dataBuffer);
-
-                        // Determine source and target languages (normalize to lowercase for cache)
-                        String sourceLangInput = (sourceLanguage != null && !sourceLanguage.isEmpty())
-                                ? sourceLanguage.toLowerCase()
-                                : null;
-                        
-                        String targetLangInput;
-                        if (targetLanguage != null && !targetLanguage.isEmpty()) {
-                            targetLangInput = targetLanguage.toLowerCase();
-                        } else if (sourceLangInput != null) {
-                            // If source is specified but target is not, translate to opposite
-                            targetLangInput = "en".equals(sourceLangInput) ? "fr" : "en";
-                        } else {
-                            // Default: translate to French if source is unknown
-                            targetLangInput = "fr";
-                        }
-
-                        // Check cache first
-                        String originalFilename = filename != null ? filename : "document.pdf";
-                        byte[] cachedPdf = cacheService.getCachedTranslation(originalFilename, targetLangInput);
-                        
-                        if (cachedPdf != null) {
-                            System.out.println("Returning cached translation for: " + originalFilename + " -> " + targetLangInput);
-                            String cacheFilename = cacheService.generateCacheFilename(originalFilename, targetLangInput);
-                            DataBuffer buffer = org.springframework.core.io.buffer.DefaultDataBufferFactory.sharedInstance
-                                    .wrap(cachedPdf);
-                            
-                            return Mono.just(ResponseEntity.ok()
-                                    .header(HttpHeaders.CONTENT_DISPOSITION, 
-                                            "attachment; filename=\"" + cacheFilename + "\"")
-                                    .contentType(MediaType.APPLICATION_PDF)
-                                    .body(Flux.just(buffer)));
-                        }
-
-                        // Not in cache, translate via DeepL (convert to uppercase for DeepL API)
-                        String sourceLang = sourceLangInput != null 
-                                ? deepLService.toDeepLLanguageCode(sourceLangInput) 
-                                : null;
-                        String targetLang = deepLService.toDeepLLanguageCode(targetLangInput);
-
-                        // Translate PDF
-                        return deepLService.translatePdf(pdfBytes, sourceLang, targetLang)
-                                .flatMap(translatedPdf -> {
-                                    // Generate cache filename for the response
-                                    String cacheFilename = cacheService.generateCacheFilename(originalFilename, targetLangInput);
-                                    
-                                    // Upload to file service
-                                    return fileServiceUploader.uploadTranslatedPdf(translatedPdf, cacheFilename, "system")
-                                            .map(fileId -> {
-                                                System.out.println("Translated PDF uploaded to file service with ID: " + fileId);
-                                                
-                                                DataBuffer buffer = org.springframework.core.io.buffer.DefaultDataBufferFactory.sharedInstance
-                                                        .wrap(translatedPdf);
-                                                
-                                                return ResponseEntity.ok()
-                                                        .header(HttpHeaders.CONTENT_DISPOSITION, 
-                                                                "attachment; filename=\"" + cacheFilename + "\"")
-                                                        .contentType(MediaType.APPLICATION_PDF)
-                                                        .body(Flux.just(buffer));
-                                            });
-                                })
-                                .onErrorResume(error -> {
-                                    System.err.println("Error translating PDF or uploading to file service: " + error.getMessage());
-                                    error.printStackTrace();
-                                    return Mono.just(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                                            .body(Flux.empty()));
-                                });
-                    });
-        });
+        if (!isPdf(file)) {
+            return Mono.just(ResponseEntity.status(HttpStatus.BAD_REQUEST).build());
+        }
+
+        String sourceLangInput = sourceLanguageOf(sourceLanguage);
+        String targetLangInput = targetLanguageOf(sourceLangInput, targetLanguage);
+        String cacheFilename = downloadFilenameOf(file, targetLangInput);
+        if (cacheFilename == null) {
+            return Mono.just(ResponseEntity.status(HttpStatus.BAD_REQUEST).build());
+        }
+
+        return pdfTranslationService.translate(file, sourceLangInput, targetLangInput, cacheFilename)
+                .map(translated -> pdfResponse(translated, cacheFilename))
+                .onErrorResume(error -> {
+                    log.error("Error translating PDF {}", file.getOriginalFilename(), error);
+                    return Mono.just(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build());
+                });
+    }
+
+    /**
+     * Starts translating a PDF without waiting for the result. Submitting a PDF and language that
+     * are already being translated joins that job instead of starting another.
+     *
+     * @param file the PDF file to translate
+     * @param sourceLanguage optional source language (EN or FR). If not provided, will be auto-detected.
+     * @param targetLanguage optional target language (EN or FR). If not provided, will be opposite of source.
+     * @return Mono containing the job, 202 once DeepL has the document, 200 if the translation is ready,
+     *         or 404 if the job was cleaned up before it could be read back
+     */
+    @PostMapping(value = "/jobs", consumes = MediaType.MULTIPART_FORM_DATA_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<PDFTranslationJobResponse>> startTranslationJob(
+            @RequestPart("file") MultipartFile file,
+            @RequestParam(value = "sourceLanguage", required = false) String sourceLanguage,
+            @RequestParam(value = "targetLanguage", required = false) String targetLanguage) {
+
+        if (!isPdf(file)) {
+            return Mono.just(ResponseEntity.status(HttpStatus.BAD_REQUEST).build());
+        }
+
+        String sourceLangInput = sourceLanguageOf(sourceLanguage);
+        String targetLangInput = targetLanguageOf(sourceLangInput, targetLanguage);
+        String cacheFilename = downloadFilenameOf(file, targetLangInput);
+        if (cacheFilename == null) {
+            return Mono.just(ResponseEntity.status(HttpStatus.BAD_REQUEST).build());
+        }
+
+        return pdfTranslationService.startTranslation(file, sourceLangInput, targetLangInput, cacheFilename)
+                .map(jobId -> {
+                    PDFTranslationJobResponse job = jobResponse(jobId);
+                    if (job == null) {
+                        // The joined job's record and cached result were both removed before it could be read
+                        log.warn("PDF translation job {} disappeared right after it was started", jobId);
+                        return ResponseEntity.status(HttpStatus.NOT_FOUND).<PDFTranslationJobResponse>build();
+                    }
+                    return ResponseEntity.status(job.isResultAvailable() ? HttpStatus.OK : HttpStatus.ACCEPTED)
+                            .body(job);
+                })
+                .onErrorResume(error -> {
+                    log.error("Error starting PDF translation of {}", file.getOriginalFilename(), error);
+                    return Mono.just(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build());
+                });
+    }
+
+    /**
+     * Retrieves the state of a translation job.
+     *
+     * @param jobId the job ID returned when the job was started
+     * @return the job, or 404 if there is no such job
+     */
+    @GetMapping(value = "/jobs/{jobId}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<PDFTranslationJobResponse> getTranslationJob(@PathVariable String jobId) {
+        try {
+            PDFTranslationJobResponse job = jobResponse(jobId);
+            return job != null ? ResponseEntity.ok(job) : ResponseEntity.notFound().build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    /**
+     * Downloads the translation a job produced.
+     *
+     * @param jobId the job ID returned when the job was started
+     * @return the translated PDF, 409 while the job is running, or 404 if there is no translation
+     */
+    @GetMapping(value = "/jobs/{jobId}/result", produces = MediaType.APPLICATION_PDF_VALUE)
+    public ResponseEntity<StreamingResponseBody> getTranslationJobResult(@PathVariable String jobId) {
+        Optional<Path> translated;
+        try {
+            translated = pdfTranslationService.getJobResult(jobId);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        }
+        Optional<PDFTranslationJob> job = pdfTranslationService.getJob(jobId);
+        if (translated.isPresent()) {
+            return pdfResponse(translated.get(), job.map(PDFTranslationJob::getFilename).orElse("translated.pdf"));
+        }
+        if (job.isPresent() && !job.get().getStatus().isFinished()) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+        return ResponseEntity.notFound().build();
+    }
+
+    private PDFTranslationJobResponse jobResponse(String jobId) {
+        boolean resultAvailable = pdfTranslationService.getJobResult(jobId).isPresent();
+        return pdfTranslationService.getJob(jobId)
+                .map(job -> PDFTranslationJobResponse.builder()
+                        .jobId(job.getJobId())
+                        .status(job.getStatus())
+                        .sourceLanguage(job.getSourceLanguage())
+                        .targetLanguage(job.getTargetLanguage())
+                        .filename(job.getFilename())
+                        .pageCount(countOf(job.getPageHashes()))
+                        .translatedPageCount(job.getTranslatedPages() == null
+                                ? countOf(job.getPageHashes())
+                                : job.getTranslatedPages().isEmpty() ? Integer.valueOf(0) : countOf(job.getTranslatedPages()))
+                        .errorMessage(job.getErrorMessage())
+                        .createdAt(job.getCreatedAt())
+                        .completedAt(job.getCompletedAt())
+                        .resultAvailable(resultAvailable)
+                        .build())
+                // Cached by a job whose record is gone
+                .orElseGet(() -> resultAvailable
+                        ? PDFTranslationJobResponse.builder()
+                                .jobId(jobId)
+                                .status(PDFTranslationJobStatus.DONE)
+                                .resultAvailable(true)
+                                .build()
+                        : null);
+    }
+
+    // Entries in a comma-separated job column, or null if it is not set
+    private static Integer countOf(String commaSeparated) {
+        return commaSeparated == null || commaSeparated.isEmpty() ? null : commaSeparated.split(",").length;
+    }
+
+    private static ResponseEntity<StreamingResponseBody> pdfResponse(Path translated, String filename) {
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, 
+                        "attachment; filename=\"" + filename + "\"")
+                .contentType(MediaType.APPLICATION_PDF)
+                .body(out -> Files.copy(translated, out));
+    }
+
+    private static boolean isPdf(MultipartFile file) {
+        String filename = file.getOriginalFilename();
+        String contentType = file.getContentType();
+        return !file.isEmpty() && ((contentType != null && contentType.contains("pdf"))
+                || (filename != null && filename.toLowerCase().endsWith(".pdf")));
+    }
+
+    // Languages are normalized to lowercase for the cache
+    private static String sourceLanguageOf(String sourceLanguage) {
+        return (sourceLanguage != null && !sourceLanguage.isEmpty())
+                ? sourceLanguage.toLowerCase()
+                : null;
+    }
+
+    private static String targetLanguageOf(String sourceLangInput, String targetLanguage) {
+        if (targetLanguage != null && !targetLanguage.isEmpty()) {
+            return targetLanguage.toLowerCase();
+        } else if (sourceLangInput != null) {
+            // If source is specified but target is not, translate to opposite
+            return "en".equals(sourceLangInput) ? "fr" : "en";
+        }
+        // Default: translate to French if source is unknown
+        return "fr";
+    }
+
+    // Null when the file name or language cannot be used in a file name
+    private String downloadFilenameOf(MultipartFile file, String targetLangInput) {
+        String filename = file.getOriginalFilename();
+        String originalFilename = filename != null && !filename.isEmpty() ? filename : "document.pdf";
+        try {
+            return cacheService.generateCacheFilename(originalFilename, targetLangInput);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
     }
 
 
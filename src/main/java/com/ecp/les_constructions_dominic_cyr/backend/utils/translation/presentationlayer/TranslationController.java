@@ -1,15 +1,21 @@
 package com.ecp.les_constructions_dominic_cyr.backend.utils.translation.presentationlayer;
 
+import com.ecp.les_constructions_dominic_cyr.backend.utils.translation.businesslayer.EncodedTranslationBundle;
 import com.ecp.les_constructions_dominic_cyr.backend.utils.translation.businesslayer.TranslationService;
 import com.ecp.les_constructions_dominic_cyr.backend.utils.translation.mapperlayer.TranslationKeyResponse;
-import com.ecp.les_constructions_dominic_cyr.backend.utils.translation.mapperlayer.TranslationResponse;
+import com.ecp.les_constructions_dominic_cyr.backend.utils.translation.mapperlayer.TranslationLookupResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import reactor.core.publisher.Mono;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
 
@@ -23,49 +29,54 @@ import java.util.Map;
 @CrossOrigin(origins = "http://localhost:3000")
 public class TranslationController {
 
+    private static final int MAX_LOOKUP_KEYS = 1000;
+
     private final TranslationService translationService;
 
+    @Value("${translations.bundles.max-age:5m}")
+    private Duration bundleMaxAge;
+
+    @Value("${translations.bundles.stale-while-revalidate:1d}")
+    private Duration bundleStaleWhileRevalidate;
+
     /**
      * Retrieves all translations for a specific language.
      * Returns translations in a nested structure compatible with i18next.
+     * The body is serialized ahead of time and sent gzip-compressed when the client accepts it;
+     * a request carrying the current ETag gets a 304.
      *
      * @param language the language code (e.g., "en", "fr"). Defaults to "en" if not provided.
-     * @return Mono containing TranslationResponse with all translations
+     * @return Mono containing the serialized TranslationResponse with all translations
      */
     @GetMapping(value = "/{language}", produces = MediaType.APPLICATION_JSON_VALUE)
-    public Mono<ResponseEntity<TranslationResponse>> getAllTranslations(
-            @PathVariable String language) {
+    public Mono<ResponseEntity<byte[]>> getAllTranslations(
+            @PathVariable String language,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         
         String lang = (language != null && translationService.isLanguageSupported(language)) 
                 ? language.toLowerCase() 
                 : translationService.getDefaultLanguage();
         
-        return translationService.getAllTranslations(lang)
-                .map(translations -> TranslationResponse.builder()
-                        .language(lang)
-                        .translations(translations)
-                        .build())
-                .map(ResponseEntity::ok)
+        return translationService.getEncodedTranslations(lang)
+                .map(bundle -> bundleResponse(bundle, acceptEncoding, ifNoneMatch))
                 .onErrorResume(error -> {
                     System.err.println("Error in TranslationController.getAllTranslations: " + error.getMessage());
                     error.printStackTrace();
-                    return Mono.just(
-                            ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                                    .body(TranslationResponse.builder()
-                                            .language(lang)
-                                            .translations(Map.of())
-                                            .build()));
+                    return Mono.just(emptyTranslations(lang));
                 });
     }
 
     /**
      * Retrieves all translations for the default language (English).
      *
-     * @return Mono containing TranslationResponse with all translations
+     * @return Mono containing the serialized TranslationResponse with all translations
      */
     @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
-    public Mono<ResponseEntity<TranslationResponse>> getDefaultTranslations() {
-        return getAllTranslations(translationService.getDefaultLanguage());
+    public Mono<ResponseEntity<byte[]>> getDefaultTranslations(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return getAllTranslations(translationService.getDefaultLanguage(), acceptEncoding, ifNoneMatch);
     }
 
     /**
@@ -118,38 +129,63 @@ public class TranslationController {
                         ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build()));
     }
 
+    /**
+     * Resolves many keys in one call, e.g. every key a page renders. Unlike the batch endpoint,
+     * keys without a translation are listed under "missing" instead of being echoed back.
+     *
+     * @param language the language code
+     * @param keys list of translation keys, at most 1000
+     * @return Mono containing TranslationLookupResponse with the found values and missing keys
+     */
+    @PostMapping(value = "/{language}/lookup", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<TranslationLookupResponse>> lookupTranslations(
+            @PathVariable String language,
+            @RequestBody List<String> keys) {
+
+        if (keys.size() > MAX_LOOKUP_KEYS || keys.contains(null)) {
+            return Mono.just(ResponseEntity.badRequest().build());
+        }
+
+        String lang = (language != null && translationService.isLanguageSupported(language))
+                ? language.toLowerCase()
+                : translationService.getDefaultLanguage();
+
+        return translationService.resolveTranslations(keys, lang)
+                .map(found -> TranslationLookupResponse.builder()
+                        .language(lang)
+                        .translations(found)
+                        .missing(keys.stream().filter(key -> !found.containsKey(key)).distinct().toList())
+                        .build())
+                .map(ResponseEntity::ok)
+                .onErrorResume(error -> Mono.just(
+                        ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build()));
+    }
+
     /**
      * Retrieves translations for a specific page/namespace.
      * Returns translations for a single page (e.g., "home", "projects").
      *
      * @param pageName the page name (e.g., "home", "projects")
      * @param language the language code (e.g., "en", "fr"). Defaults to "en" if not provided.
-     * @return Mono containing TranslationResponse with page translations
+     * @return Mono containing the serialized TranslationResponse with page translations
      */
     @GetMapping(value = "/{language}/page/{pageName}", produces = MediaType.APPLICATION_JSON_VALUE)
-    public Mono<ResponseEntity<TranslationResponse>> getPageTranslations(
+    public Mono<ResponseEntity<byte[]>> getPageTranslations(
             @PathVariable String pageName,
-            @PathVariable String language) {
+            @PathVariable String language,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         
         String lang = (language != null && translationService.isLanguageSupported(language))
                 ? language.toLowerCase()
                 : translationService.getDefaultLanguage();
         
-        return translationService.getPageTranslations(pageName, lang)
-                .map(translations -> TranslationResponse.builder()
-                        .language(lang)
-                        .translations(translations)
-                        .build())
-                .map(ResponseEntity::ok)
+        return translationService.getEncodedPageTranslations(pageName, lang)
+                .map(bundle -> bundleResponse(bundle, acceptEncoding, ifNoneMatch))
                 .onErrorResume(error -> {
                     System.err.println("Error in TranslationController.getPageTranslations: " + error.getMessage());
                     error.printStackTrace();
-                    return Mono.just(
-                            ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                                    .body(TranslationResponse.builder()
-                                            .language(lang)
-                                            .translations(Map.of())
-                                            .build()));
+                    return Mono.just(emptyTranslations(lang));
                 });
     }
 
@@ -159,35 +195,63 @@ public class TranslationController {
      *
      * @param namespace the namespace (e.g., "home", "messages")
      * @param language the language code (e.g., "en", "fr"). Defaults to "en" if not provided.
-     * @return Mono containing TranslationResponse with namespace translations
+     * @return Mono containing the serialized TranslationResponse with namespace translations
      */
     @GetMapping(value = "/{language}/namespace/{namespace}", produces = MediaType.APPLICATION_JSON_VALUE)
-    public Mono<ResponseEntity<TranslationResponse>> getTranslationsByNamespace(
+    public Mono<ResponseEntity<byte[]>> getTranslationsByNamespace(
             @PathVariable String namespace,
-            @PathVariable String language) {
+            @PathVariable String language,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         
         String lang = (language != null && translationService.isLanguageSupported(language))
                 ? language.toLowerCase()
                 : translationService.getDefaultLanguage();
         
-        return translationService.getTranslationsByNamespace(namespace, lang)
-                .map(translations -> TranslationResponse.builder()
-                        .language(lang)
-                        .translations(translations)
-                        .build())
-                .map(ResponseEntity::ok)
+        return translationService.getEncodedPageTranslations(namespace, lang)
+                .map(bundle -> bundleResponse(bundle, acceptEncoding, ifNoneMatch))
                 .onErrorResume(error -> {
                     System.err.println("Error in TranslationController.getTranslationsByNamespace: " + error.getMessage());
                     error.printStackTrace();
-                    return Mono.just(
-                            ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                                    .body(TranslationResponse.builder()
-                                            .language(lang)
-                                            .translations(Map.of())
-                                            .build()));
+                    return Mono.just(emptyTranslations(lang));
                 });
     }
 
+    /**
+     * Drops all cached translations so they are downloaded again on next use.
+     *
+     * @return 204 once evicted
+     */
+    @DeleteMapping("/cache")
+    public Mono<ResponseEntity<Void>> evictAllCachedTranslations() {
+        translationService.evictCachedTranslations(null);
+        return Mono.just(ResponseEntity.noContent().build());
+    }
+
+    /**
+     * Drops the cached translations of one language.
+     *
+     * @param language the language code
+     * @return 204 once evicted
+     */
+    @DeleteMapping("/cache/{language}")
+    public Mono<ResponseEntity<Void>> evictCachedTranslations(@PathVariable String language) {
+        translationService.evictCachedTranslations(language);
+        return Mono.just(ResponseEntity.noContent().build());
+    }
+
+    /**
+     * Revalidates the cached translations of one language against the file service now.
+     *
+     * @param language the language code
+     * @return 204 once every cached page has been checked
+     */
+    @PostMapping("/cache/{language}/refresh")
+    public Mono<ResponseEntity<Void>> refreshCachedTranslations(@PathVariable String language) {
+        return translationService.refreshCachedTranslations(language)
+                .thenReturn(ResponseEntity.noContent().<Void>build());
+    }
+
     /**
      * Retrieves list of supported languages.
      *
@@ -197,5 +261,51 @@ public class TranslationController {
     public Mono<ResponseEntity<List<String>>> getSupportedLanguages() {
         return Mono.just(ResponseEntity.ok(translationService.getSupportedLanguages()));
     }
-}
 
+    private ResponseEntity<byte[]> bundleResponse(EncodedTranslationBundle bundle, String acceptEncoding, String ifNoneMatch) {
+        boolean gzipped = bundle.gzip() != null && acceptsGzip(acceptEncoding);
+        CacheControl cacheControl = CacheControl.maxAge(bundleMaxAge).cachePublic()
+                .staleWhileRevalidate(bundleStaleWhileRevalidate);
+
+        if (bundle.matches(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(bundle.eTag(gzipped))
+                    .cacheControl(cacheControl)
+                    .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                    .build();
+        }
+
+        byte[] body = gzipped ? bundle.gzip() : bundle.json();
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .eTag(bundle.eTag(gzipped))
+                .cacheControl(cacheControl)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                .contentType(MediaType.APPLICATION_JSON)
+                .contentLength(body.length);
+        if (gzipped) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            String name = parts[0].trim();
+            boolean refused = parts.length > 1 && parts[1].trim().matches("q=0(\\.0*)?");
+            if ((name.equalsIgnoreCase("gzip") || name.equals("*")) && !refused) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static ResponseEntity<byte[]> emptyTranslations(String language) {
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(("{\"language\":\"" + language + "\",\"translations\":{}}").getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -1,5 +1,6 @@
 package com.ecp.les_constructions_dominic_cyr.backend.utils.translation.presentationlayer;
 
+import com.ecp.les_constructions_dominic_cyr.backend.utils.translation.businesslayer.TranslationBundleCache;
 import com.ecp.les_constructions_dominic_cyr.backend.utils.translation.dataaccesslayer.TranslationRegistry;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -16,6 +17,7 @@ import org.springframework.web.bind.annotation.*;
 public class TranslationRegistryController {
 
     private final TranslationRegistry registry;
+    private final TranslationBundleCache bundleCache;
 
     /**
      * Registers a translation file ID for a language and page.
@@ -32,6 +34,8 @@ public class TranslationRegistryController {
             @RequestBody String fileId) {
         
         registry.registerFileId(language, page, fileId.trim());
+        // Serve the newly registered file from the next request on
+        bundleCache.evict(language, page);
         return ResponseEntity.ok("File ID registered successfully for " + language + "." + page);
     }
 
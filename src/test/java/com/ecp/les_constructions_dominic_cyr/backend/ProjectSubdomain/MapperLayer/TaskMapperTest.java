@@ -0,0 +1,132 @@
+package com.ecp.les_constructions_dominic_cyr.backend.ProjectSubdomain.MapperLayer;
+
+import com.ecp.les_constructions_dominic_cyr.backend.ProjectSubdomain.DataAccessLayer.Lot.Lot;
+import com.ecp.les_constructions_dominic_cyr.backend.ProjectSubdomain.DataAccessLayer.Lot.LotIdentifier;
+import com.ecp.les_constructions_dominic_cyr.backend.ProjectSubdomain.DataAccessLayer.Lot.LotStatus;
+import com.ecp.les_constructions_dominic_cyr.backend.ProjectSubdomain.DataAccessLayer.Project.Project;
+import com.ecp.les_constructions_dominic_cyr.backend.ProjectSubdomain.DataAccessLayer.Project.ProjectStatus;
+import com.ecp.les_constructions_dominic_cyr.backend.ProjectSubdomain.DataAccessLayer.Schedule.Schedule;
+import com.ecp.les_constructions_dominic_cyr.backend.ProjectSubdomain.DataAccessLayer.Schedule.Task;
+import com.ecp.les_constructions_dominic_cyr.backend.ProjectSubdomain.DataAccessLayer.Schedule.TaskIdentifier;
+import com.ecp.les_constructions_dominic_cyr.backend.ProjectSubdomain.DataAccessLayer.Schedule.TaskPriority;
+import com.ecp.les_constructions_dominic_cyr.backend.ProjectSubdomain.DataAccessLayer.Schedule.TaskRepository;
+import com.ecp.les_constructions_dominic_cyr.backend.ProjectSubdomain.DataAccessLayer.Schedule.TaskStatus;
+import com.ecp.les_constructions_dominic_cyr.backend.ProjectSubdomain.PresentationLayer.Schedule.TaskDetailResponseDTO;
+import com.ecp.les_constructions_dominic_cyr.backend.UsersSubdomain.DataAccessLayer.UserIdentifier;
+import com.ecp.les_constructions_dominic_cyr.backend.UsersSubdomain.DataAccessLayer.UserRole;
+import com.ecp.les_constructions_dominic_cyr.backend.UsersSubdomain.DataAccessLayer.UserStatus;
+import com.ecp.les_constructions_dominic_cyr.backend.UsersSubdomain.DataAccessLayer.Users;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:task-mapper;MODE=PostgreSQL",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import(TaskMapper.class)
+class TaskMapperTest {
+
+    @Autowired
+    private TaskMapper taskMapper;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void entitiesToResponseDTOs_statementCountDoesNotGrowWithTaskCount() {
+        long fewTasksStatements = statementsToMap(3);
+        long manyTasksStatements = statementsToMap(30);
+
+        assertEquals(fewTasksStatements, manyTasksStatements);
+    }
+
+    @Test
+    void entitiesToResponseDTOs_resolvesProjectLotAndAssignee() {
+        persistTasks(2);
+        entityManager.clear();
+
+        List<TaskDetailResponseDTO> dtos = taskMapper.entitiesToResponseDTOs(taskRepository.findAll());
+
+        assertEquals(2, dtos.size());
+        dtos.forEach(dto -> {
+            assertEquals("Project", dto.getProjectName());
+            assertTrue(dto.getLotNumber().startsWith("Lot "));
+            assertEquals("Jane Doe", dto.getAssignedToUserName());
+        });
+    }
+
+    private long statementsToMap(int taskCount) {
+        taskRepository.deleteAll();
+        persistTasks(taskCount);
+        entityManager.clear();
+
+        List<Task> tasks = taskRepository.findAll();
+        statistics.clear();
+        taskMapper.entitiesToResponseDTOs(tasks);
+        return statistics.getPrepareStatementCount();
+    }
+
+    // Each task gets its own schedule, lot and assignee so that per-task lookups would show up
+    private void persistTasks(int count) {
+        Project project = new Project();
+        project.setProjectIdentifier("proj-" + System.nanoTime());
+        project.setProjectName("Project");
+        project.setStatus(ProjectStatus.IN_PROGRESS);
+        project.setStartDate(LocalDate.now());
+        project.setPrimaryColor("#000000");
+        project.setTertiaryColor("#000000");
+        project.setBuyerColor("#000000");
+        project.setImageIdentifier("");
+        entityManager.persist(project);
+
+        for (int i = 0; i < count; i++) {
+            Lot lot = new Lot(new LotIdentifier(), "Lot " + i, "Address " + i, 1f, "1", "1", LotStatus.AVAILABLE);
+            lot.setProject(project);
+            entityManager.persist(lot);
+
+            Schedule schedule = new Schedule("schedule-" + System.nanoTime(), LocalDate.now(), LocalDate.now(),
+                    "Schedule " + i, lot.getLotIdentifier().getLotId());
+            schedule.setProject(project);
+            entityManager.persist(schedule);
+
+            Users contractor = new Users(UserIdentifier.newId(), "Jane", "Doe", "jane" + i + "@example.com",
+                    null, null, UserRole.CONTRACTOR, null, UserStatus.ACTIVE);
+            entityManager.persist(contractor);
+
+            entityManager.persist(Task.builder()
+                    .taskIdentifier(new TaskIdentifier())
+                    .taskStatus(TaskStatus.TO_DO)
+                    .taskTitle("Task " + i)
+                    .taskPriority(TaskPriority.MEDIUM)
+                    .assignedTo(contractor)
+                    .scheduleId(schedule.getScheduleIdentifier())
+                    .lotId(lot.getLotIdentifier().getLotId())
+                    .build());
+        }
+        entityManager.flush();
+    }
+}
@@ -0,0 +1,76 @@
+package com.ecp.les_constructions_dominic_cyr.backend.ReportSubdomain.BusinessLayer;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Wall-clock time to render the audit with its sections built on the caller's thread and on the
+ * render pool. Each mode is warmed up, then timed over several runs; the median is reported.
+ * Excluded from {@code test}; run with {@code ./gradlew benchmark}.
+ */
+@Tag("benchmark")
+class PDFReportGeneratorBenchmark {
+
+    private static final int WARMUP_RUNS = 5;
+    private static final int MEASURED_RUNS = 15;
+    private static final int RENDER_THREADS = 4;
+    private static final int ROWS_PER_DAY = 200;
+    private static final int PAGES = 500;
+
+    @ParameterizedTest(name = "{0} days")
+    @ValueSource(ints = {30, 365})
+    void sequentialVersusParallelSections(int days) throws Exception {
+        LocalDateTime end = LocalDate.now().atStartOfDay();
+        LocalDateTime start = end.minusDays(days - 1);
+        Map<String, Object> analyticsData = SyntheticAnalyticsFixture.analyticsData(
+                start.toLocalDate(), end.toLocalDate(), ROWS_PER_DAY, PAGES);
+
+        PDFReportGenerator sequential = new PDFReportGenerator(1);
+        PDFReportGenerator parallel = new PDFReportGenerator(RENDER_THREADS);
+        try {
+            Timing sequentialTiming = measure(sequential, analyticsData, start, end);
+            Timing parallelTiming = measure(parallel, analyticsData, start, end);
+
+            System.out.printf("PDF %3d days | sequential %s | %d render threads %s | %.2fx%n",
+                    days, sequentialTiming, RENDER_THREADS, parallelTiming,
+                    sequentialTiming.medianMillis() / parallelTiming.medianMillis());
+        } finally {
+            sequential.shutdown();
+            parallel.shutdown();
+        }
+    }
+
+    private Timing measure(PDFReportGenerator generator, Map<String, Object> analyticsData,
+                                LocalDateTime start, LocalDateTime end) throws Exception {
+        for (int i = 0; i < WARMUP_RUNS; i++) {
+            generator.generatePDFReport(analyticsData, start, end);
+        }
+
+        double[] millis = new double[MEASURED_RUNS];
+        int size = 0;
+        for (int i = 0; i < MEASURED_RUNS; i++) {
+            long startedAt = System.nanoTime();
+            byte[] pdf = generator.generatePDFReport(analyticsData, start, end);
+            millis[i] = (System.nanoTime() - startedAt) / 1_000_000.0;
+            assertThat(pdf).isNotEmpty();
+            size = pdf.length;
+        }
+        Arrays.sort(millis);
+        return new Timing(millis[MEASURED_RUNS / 2], size);
+    }
+
+    private record Timing(double medianMillis, int pdfBytes) {
+        @Override
+        public String toString() {
+            return String.format("%,7.1f ms (%,d KB)", medianMillis, pdfBytes / 1024);
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.ecp.les_constructions_dominic_cyr.backend.ReportSubdomain.BusinessLayer;
+
+import com.ecp.les_constructions_dominic_cyr.LesConstructionsDominicCyrApplication;
+import com.ecp.les_constructions_dominic_cyr.backend.ReportSubdomain.DataAccessLayer.AnalyticsDailyRowRepository;
+import com.ecp.les_constructions_dominic_cyr.backend.ReportSubdomain.DataAccessLayer.AnalyticsDaySyncRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * End-to-end report throughput on synthetic analytics: generating and storing the days, aggregating
+ * them in the database and rendering both formats. Runs against in-memory H2, so figures are only
+ * comparable between runs on the same machine. Excluded from {@code test}; run with
+ * {@code ./gradlew benchmark}.
+ */
+@Tag("benchmark")
+@DataJpaTest(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false",
+        "reports.analytics.source=synthetic",
+        "reports.analytics.synthetic.rows-per-day=" + ReportRenderingBenchmark.ROWS_PER_DAY,
+        "reports.analytics.synthetic.pages=5000"
+})
+@ContextConfiguration(classes = LesConstructionsDominicCyrApplication.class)
+@Import({SyntheticAnalyticsDataSource.class, AnalyticsDayStore.class, AnalyticsQueryService.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ReportRenderingBenchmark {
+
+    static final int ROWS_PER_DAY = 3_000;
+
+    @Autowired
+    private AnalyticsQueryService analyticsQueryService;
+
+    @Autowired
+    private AnalyticsDailyRowRepository rowRepository;
+
+    @Autowired
+    private AnalyticsDaySyncRepository syncRepository;
+
+    @ParameterizedTest(name = "{0} days")
+    @ValueSource(ints = {30, 365})
+    void reportThroughput(int days) throws Exception {
+        syncRepository.deleteAllInBatch();
+        rowRepository.deleteAllInBatch();
+
+        LocalDateTime end = LocalDate.now().atStartOfDay();
+        LocalDateTime start = end.minusDays(days - 1);
+
+        long startedAt = System.nanoTime();
+        analyticsQueryService.fetchAnalyticsData(start, end, "benchmark");
+        long coldMillis = millisSince(startedAt);
+        long rows = rowRepository.count();
+
+        startedAt = System.nanoTime();
+        Map<String, Object> analyticsData = analyticsQueryService.fetchAnalyticsData(start, end, "benchmark");
+        long warmMillis = millisSince(startedAt);
+
+        startedAt = System.nanoTime();
+        new XLSXReportGenerator(true, 100).writeXLSXReport(analyticsData, start, end, OutputStream.nullOutputStream());
+        long xlsxMillis = millisSince(startedAt);
+
+        PDFReportGenerator pdfGenerator = new PDFReportGenerator(4);
+        byte[] pdf;
+        long pdfMillis;
+        try {
+            startedAt = System.nanoTime();
+            pdf = pdfGenerator.generatePDFReport(analyticsData, start, end);
+            pdfMillis = millisSince(startedAt);
+        } finally {
+            pdfGenerator.shutdown();
+        }
+
+        assertThat(rows).isPositive();
+        assertThat(pdf).isNotEmpty();
+        System.out.printf("%3d days, %,9d rows | store + aggregate %,7d ms (%,.0f rows/s) | aggregate %,6d ms"
+                        + " | XLSX %,6d ms | PDF %,6d ms%n",
+                days, rows, coldMillis, rows * 1000.0 / Math.max(coldMillis, 1), warmMillis, xlsxMillis, pdfMillis);
+    }
+
+    private static long millisSince(long startedAt) {
+        return (System.nanoTime() - startedAt) / 1_000_000;
+    }
+}
@@ -0,0 +1,75 @@
+package com.ecp.les_constructions_dominic_cyr.backend.ReportSubdomain.BusinessLayer;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Compares peak heap while rendering the analytics workbook in memory (XSSF) and streaming (SXSSF).
+ * Excluded from {@code test}; run with {@code ./gradlew benchmark}. Peak heap is sampled every few
+ * milliseconds above a post-GC baseline, so figures are approximate but comparable between modes.
+ */
+@Tag("benchmark")
+class XLSXReportGeneratorBenchmark {
+
+    private static final int ROW_WINDOW = 100;
+
+    // One day of synthetic rows over as many page paths; the skewed traffic leaves some paths unvisited
+    @ParameterizedTest(name = "{0} rows")
+    @ValueSource(ints = {10_000, 100_000, 1_000_000})
+    void peakHeapByMode(int rows) throws Exception {
+        LocalDateTime end = LocalDate.now().atStartOfDay();
+        LocalDateTime start = end;
+        Map<String, Object> analyticsData = SyntheticAnalyticsFixture.analyticsData(
+                start.toLocalDate(), end.toLocalDate(), rows, rows);
+        int pageRows = ((Map<?, ?>) analyticsData.get("pageViewsData")).size();
+
+        String xssf = measure(new XLSXReportGenerator(false, ROW_WINDOW), analyticsData, start, end);
+        String sxssf = measure(new XLSXReportGenerator(true, ROW_WINDOW), analyticsData, start, end);
+
+        System.out.printf("XLSX %,9d rows (%,9d page rows) | XSSF %s | SXSSF(window=%d) %s%n",
+                rows, pageRows, xssf, ROW_WINDOW, sxssf);
+    }
+
+    private String measure(XLSXReportGenerator generator, Map<String, Object> analyticsData,
+                           LocalDateTime start, LocalDateTime end) throws Exception {
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        long baseline = runtime.totalMemory() - runtime.freeMemory();
+
+        AtomicLong peak = new AtomicLong(baseline);
+        AtomicBoolean running = new AtomicBoolean(true);
+        Thread sampler = new Thread(() -> {
+            while (running.get()) {
+                peak.accumulateAndGet(runtime.totalMemory() - runtime.freeMemory(), Math::max);
+                try {
+                    Thread.sleep(2);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        });
+        sampler.setDaemon(true);
+        sampler.start();
+
+        long startedAt = System.nanoTime();
+        try {
+            generator.writeXLSXReport(analyticsData, start, end, OutputStream.nullOutputStream());
+        } catch (OutOfMemoryError e) {
+            return "out of memory";
+        } finally {
+            running.set(false);
+            sampler.join();
+        }
+        long millis = (System.nanoTime() - startedAt) / 1_000_000;
+
+        return String.format("peak %,6d MB, %,6d ms", (peak.get() - baseline) / (1024 * 1024), millis);
+    }
+}
@@ -0,0 +1,172 @@
+package com.ecp.les_constructions_dominic_cyr.backend.utils.translation.businesslayer;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Local stand-in for DeepL's document API (upload, status, result), for running the PDF translation
+ * pipeline without an API key. Point {@code deepl.api.url} at {@link #baseUrl()}.
+ *
+ * <p>Each document is queued for a tenth of {@code translationTime}, then translating with a
+ * {@code seconds_remaining} estimate, like DeepL. The "translation" is the uploaded file unchanged.
+ * More than {@code maxConcurrentStatus} status checks at once get a 429, as DeepL answers when it
+ * rate-limits; the counters show how hard a client polled.
+ */
+public class DeepLStandInServer implements AutoCloseable {
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newFixedThreadPool(64);
+    private final Duration translationTime;
+    private final int maxConcurrentStatus;
+    private final Map<String, Document> documents = new ConcurrentHashMap<>();
+
+    private final AtomicInteger uploads = new AtomicInteger();
+    private final AtomicInteger statusChecks = new AtomicInteger();
+    private final AtomicInteger rateLimited = new AtomicInteger();
+    private final AtomicInteger downloads = new AtomicInteger();
+    private final AtomicInteger concurrentStatus = new AtomicInteger();
+    private final AtomicInteger peakConcurrentStatus = new AtomicInteger();
+
+    private record Document(String key, byte[] content, long uploadedAt) {
+    }
+
+    public DeepLStandInServer(Duration translationTime, int maxConcurrentStatus) throws IOException {
+        this.translationTime = translationTime;
+        this.maxConcurrentStatus = maxConcurrentStatus;
+        this.server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/document", this::handle);
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    public String baseUrl() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    public int uploads() {
+        return uploads.get();
+    }
+
+    public int statusChecks() {
+        return statusChecks.get();
+    }
+
+    public int rateLimited() {
+        return rateLimited.get();
+    }
+
+    public int downloads() {
+        return downloads.get();
+    }
+
+    public int peakConcurrentStatus() {
+        return peakConcurrentStatus.get();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String[] path = exchange.getRequestURI().getPath().split("/");
+            if ("POST".equals(exchange.getRequestMethod()) && path.length == 2) {
+                upload(exchange);
+                return;
+            }
+            Document document = path.length >= 3 ? documents.get(path[2]) : null;
+            String query = exchange.getRequestURI().getQuery();
+            if (document == null || query == null || !query.contains("document_key=" + document.key())) {
+                send(exchange, 404, "{\"message\":\"Document not found\"}");
+            } else if (path.length == 3) {
+                status(exchange, path[2], document);
+            } else if (path.length == 4 && "result".equals(path[3])) {
+                result(exchange, path[2], document);
+            } else {
+                send(exchange, 404, "{}");
+            }
+        }
+    }
+
+    private void upload(HttpExchange exchange) throws IOException {
+        byte[] body = exchange.getRequestBody().readAllBytes();
+        String contentType = exchange.getRequestHeaders().getFirst("Content-Type");
+        String id = UUID.randomUUID().toString().replace("-", "").toUpperCase();
+        String key = UUID.randomUUID().toString();
+        documents.put(id, new Document(key, filePart(body, contentType), System.nanoTime()));
+        uploads.incrementAndGet();
+        send(exchange, 200, "{\"document_id\":\"" + id + "\",\"document_key\":\"" + key + "\"}");
+    }
+
+    private void status(HttpExchange exchange, String id, Document document) throws IOException {
+        statusChecks.incrementAndGet();
+        int concurrent = concurrentStatus.incrementAndGet();
+        peakConcurrentStatus.accumulateAndGet(concurrent, Math::max);
+        try {
+            if (concurrent > maxConcurrentStatus) {
+                rateLimited.incrementAndGet();
+                send(exchange, 429, "{\"message\":\"Too many requests\"}");
+                return;
+            }
+            long elapsed = System.nanoTime() - document.uploadedAt();
+            long total = translationTime.toNanos();
+            if (elapsed < total / 10) {
+                send(exchange, 200, "{\"document_id\":\"" + id + "\",\"status\":\"queued\"}");
+            } else if (elapsed < total) {
+                long secondsRemaining = Duration.ofNanos(total - elapsed).toSeconds() + 1;
+                send(exchange, 200, "{\"document_id\":\"" + id + "\",\"status\":\"translating\",\"seconds_remaining\":"
+                        + secondsRemaining + "}");
+            } else {
+                send(exchange, 200, "{\"document_id\":\"" + id + "\",\"status\":\"done\",\"billed_characters\":1000}");
+            }
+        } finally {
+            concurrentStatus.decrementAndGet();
+        }
+    }
+
+    private void result(HttpExchange exchange, String id, Document document) throws IOException {
+        if (System.nanoTime() - document.uploadedAt() < translationTime.toNanos()) {
+            send(exchange, 503, "{\"message\":\"Document is not translated yet\"}");
+            return;
+        }
+        // DeepL lets a result be downloaded once
+        documents.remove(id);
+        downloads.incrementAndGet();
+        exchange.getResponseHeaders().add("Content-Type", "application/pdf");
+        exchange.sendResponseHeaders(200, document.content().length);
+        exchange.getResponseBody().write(document.content());
+    }
+
+    private static void send(HttpExchange exchange, int status, String json) throws IOException {
+        byte[] body = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, body.length);
+        exchange.getResponseBody().write(body);
+    }
+
+    // Content of the "file" part of a multipart body; ISO-8859-1 maps every byte to one char and back
+    private static byte[] filePart(byte[] body, String contentType) {
+        String boundary = "--" + contentType.substring(contentType.indexOf("boundary=") + "boundary=".length());
+        String text = new String(body, StandardCharsets.ISO_8859_1);
+        int part = text.indexOf("name=\"file\"");
+        if (part < 0) {
+            return new byte[0];
+        }
+        int start = text.indexOf("\r\n\r\n", part) + 4;
+        int end = text.indexOf("\r\n" + boundary, start);
+        return text.substring(start, end).getBytes(StandardCharsets.ISO_8859_1);
+    }
+}
@@ -0,0 +1,86 @@
+package com.ecp.les_constructions_dominic_cyr.backend.utils.translation.businesslayer;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Status requests made while a burst of documents translates on {@link DeepLStandInServer}. The
+ * "fixed" row polls every 2 seconds with no cap, as each document used to; "adaptive" is the default
+ * configuration. Excluded from {@code test}; run with {@code ./gradlew benchmark}.
+ */
+@Tag("benchmark")
+class DeepLStatusSchedulerBenchmark {
+
+    private static final int DOCUMENTS = 50;
+    private static final Duration TRANSLATION_TIME = Duration.ofSeconds(30);
+    private static final int DEEPL_CONCURRENCY_LIMIT = 10;
+
+    @ParameterizedTest(name = "{0}")
+    @CsvSource({
+            "fixed,    2s, 2s,  1000",
+            "adaptive, 1s, 30s, 4"
+    })
+    void burstOfDocuments(String name, String initialDelay, String maxDelay, int maxConcurrent) throws Exception {
+        try (DeepLStandInServer deepL = new DeepLStandInServer(TRANSLATION_TIME, DEEPL_CONCURRENCY_LIMIT)) {
+            DeepLService deepLService = new DeepLService("benchmark", deepL.baseUrl(), true);
+            DeepLStatusScheduler scheduler = new DeepLStatusScheduler(deepLService, new SimpleMeterRegistry(),
+                    Duration.parse("PT" + initialDelay.toUpperCase()), Duration.parse("PT" + maxDelay.toUpperCase()),
+                    Duration.ofMinutes(5), maxConcurrent);
+            ScheduledExecutorService ticks = Executors.newSingleThreadScheduledExecutor();
+            ticks.scheduleWithFixedDelay(scheduler::checkDueDocuments, 500, 500, TimeUnit.MILLISECONDS);
+
+            try {
+                long startedAt = System.nanoTime();
+                List<Integer> sizes = Flux.range(0, DOCUMENTS)
+                        .flatMap(i -> deepLService.uploadDocument(pdf(i), null, "FR")
+                                .flatMap(document -> scheduler.awaitTranslation(document)
+                                        .thenMany(deepLService.downloadTranslatedDocument(document))
+                                        .map(buffer -> {
+                                            int size = buffer.readableByteCount();
+                                            DataBufferUtils.release(buffer);
+                                            return size;
+                                        })
+                                        .reduce(0, Integer::sum)))
+                        .collectList()
+                        .block(Duration.ofMinutes(5));
+                long seconds = (System.nanoTime() - startedAt) / 1_000_000_000;
+
+                assertThat(sizes).hasSize(DOCUMENTS).allMatch(size -> size > 0);
+                assertThat(deepL.uploads()).isEqualTo(DOCUMENTS);
+                assertThat(deepL.downloads()).isEqualTo(DOCUMENTS);
+                if (maxConcurrent <= DEEPL_CONCURRENCY_LIMIT) {
+                    assertThat(deepL.peakConcurrentStatus()).isLessThanOrEqualTo(maxConcurrent);
+                    assertThat(deepL.rateLimited()).isZero();
+                    assertThat(deepL.statusChecks()).isLessThan(DOCUMENTS * 6);
+                }
+                System.out.printf("%-8s | %d documents, %d s each | done in %3d s | %4d status requests"
+                                + " (%.1f per document) | peak %2d concurrent | %3d rate-limited%n",
+                        name, DOCUMENTS, TRANSLATION_TIME.toSeconds(), seconds, deepL.statusChecks(),
+                        deepL.statusChecks() / (double) DOCUMENTS, deepL.peakConcurrentStatus(), deepL.rateLimited());
+            } finally {
+                ticks.shutdownNow();
+            }
+        }
+    }
+
+    private static Flux<DataBuffer> pdf(int i) {
+        byte[] content = ("%PDF-1.4\n% benchmark document " + i + "\n%%EOF\n").getBytes(StandardCharsets.ISO_8859_1);
+        return Mono.<DataBuffer>fromSupplier(() -> DefaultDataBufferFactory.sharedInstance.wrap(content)).flux();
+    }
+}
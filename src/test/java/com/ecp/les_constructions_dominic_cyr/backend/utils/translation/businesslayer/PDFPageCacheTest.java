@@ -0,0 +1,60 @@
+package com.ecp.les_constructions_dominic_cyr.backend.utils.translation.businesslayer;
+
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.layout.Document;
+import com.itextpdf.layout.element.AreaBreak;
+import com.itextpdf.layout.element.Paragraph;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+class PDFPageCacheTest {
+
+    @TempDir
+    Path workDir;
+
+    @Test
+    void identicalPagesHashAlikeAcrossDocumentsAndPositions() throws IOException {
+        List<String> original = PDFPageCache.pageHashes(pdf("original.pdf",
+                "Foundation poured on lot 12.", "Framing starts next week.", "Roofing is scheduled for May."));
+        List<String> revised = PDFPageCache.pageHashes(pdf("revised.pdf",
+                "Site visit notes.", "Foundation poured on lot 12.", "Framing starts next week."));
+
+        assertEquals(3, original.size());
+        assertEquals(3, revised.size());
+        assertEquals(original.get(0), revised.get(1));
+        assertEquals(original.get(1), revised.get(2));
+    }
+
+    @Test
+    void editedPageHashesDifferently() throws IOException {
+        List<String> original = PDFPageCache.pageHashes(pdf("original.pdf",
+                "Foundation poured on lot 12.", "Framing starts next week."));
+        List<String> edited = PDFPageCache.pageHashes(pdf("edited.pdf",
+                "Foundation poured on lot 12.", "Framing starts in two weeks."));
+
+        assertEquals(original.get(0), edited.get(0));
+        assertNotEquals(original.get(1), edited.get(1));
+    }
+
+    // One paragraph per page
+    private Path pdf(String name, String... pages) throws IOException {
+        Path file = workDir.resolve(name);
+        try (Document document = new Document(new PdfDocument(new PdfWriter(file.toFile())))) {
+            for (int i = 0; i < pages.length; i++) {
+                if (i > 0) {
+                    document.add(new AreaBreak());
+                }
+                document.add(new Paragraph(pages[i]));
+            }
+        }
+        return file;
+    }
+}